@@ -0,0 +1,96 @@
+#!/usr/bin/env bash
+# 시작 시간 벤치마크
+# - time-to-ready: 프로세스 시작 ~ /actuator/health/readiness 가 UP
+# - time-to-first-fast-request: 프로세스 시작 ~ 요청 응답 시간이 처음으로 FAST_MS 이하가 된 시점
+#
+# 사용법 (backend 디렉토리에서):
+#   ./gradlew bootJar cdsArchive                # 기본/CDS 모드용 빌드
+#   ./gradlew bootJar cdsArchive -Paot          # AOT 모드용 빌드
+#   APP_ARGS="--spring.datasource.url=... --jwt.secret=..." ./scripts/startup-benchmark.sh default cds aot
+#
+# 환경 변수
+#   APP_ARGS   애플리케이션 인자 (DB, jwt.secret, OAuth2 등 실행에 필요한 설정)
+#   PORT       서버 포트 (기본 18080)
+#   RUNS       모드별 반복 횟수 (기본 3)
+#   FAST_MS    "빠른 요청" 기준 (기본 20ms)
+#   PROBE_PATH 응답 시간을 잴 경로 (기본 /api/auth/check-username?username=benchmark)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-18080}
+RUNS=${RUNS:-3}
+FAST_MS=${FAST_MS:-20}
+PROBE_PATH=${PROBE_PATH:-/api/auth/check-username?username=benchmark}
+APP_ARGS=${APP_ARGS:-}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-180}
+CDS_DIR=build/cds
+JAR=$(ls "$CDS_DIR"/*.jar 2>/dev/null | head -n 1 || true)
+
+if [ -z "$JAR" ]; then
+  echo "build/cds 에 jar가 없습니다. 먼저 ./gradlew bootJar cdsArchive 를 실행하세요." >&2
+  exit 1
+fi
+
+now_ms() { date +%s%3N; }
+
+jvm_opts_for() {
+  case "$1" in
+    default) echo "" ;;
+    cds)     echo "-XX:SharedArchiveFile=$CDS_DIR/application.jsa -Dspring.profiles.active=fast-startup" ;;
+    aot)     echo "-XX:SharedArchiveFile=$CDS_DIR/application.jsa -Dspring.profiles.active=fast-startup -Dspring.aot.enabled=true" ;;
+    *)       echo "알 수 없는 모드: $1 (default | cds | aot)" >&2; exit 1 ;;
+  esac
+}
+
+run_once() {
+  local mode=$1
+  local start ready fast pid status elapsed
+  # shellcheck disable=SC2046
+  java $(jvm_opts_for "$mode") -Xlog:cds=off -jar "$JAR" --server.port="$PORT" \
+      --management.endpoint.health.probes.enabled=true $APP_ARGS > "build/startup-benchmark-$mode.log" 2>&1 &
+  pid=$!
+  start=$(now_ms)
+  ready=""
+  fast=""
+
+  while [ -z "$fast" ]; do
+    elapsed=$(( $(now_ms) - start ))
+    if [ "$elapsed" -gt $((TIMEOUT_SECONDS * 1000)) ] || ! kill -0 "$pid" 2>/dev/null; then
+      echo "$mode: 시간 초과 또는 종료됨 (build/startup-benchmark-$mode.log 확인)" >&2
+      kill "$pid" 2>/dev/null || true
+      return 1
+    fi
+    if [ -z "$ready" ]; then
+      status=$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/actuator/health/readiness" || true)
+      if [ "$status" = "200" ]; then
+        ready=$(( $(now_ms) - start ))
+      else
+        sleep 0.05
+        continue
+      fi
+    fi
+    # 응답 시간(초, 소수) -> ms
+    local took
+    took=$(curl -s -o /dev/null -w '%{time_total}' "http://localhost:$PORT$PROBE_PATH" || echo 999)
+    if awk -v t="$took" -v f="$FAST_MS" 'BEGIN { exit !(t * 1000 <= f) }'; then
+      fast=$(( $(now_ms) - start ))
+    fi
+  done
+
+  kill "$pid" 2>/dev/null || true
+  wait "$pid" 2>/dev/null || true
+  printf '%-8s %10s %24s\n' "$mode" "${ready}ms" "${fast}ms"
+}
+
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+  MODES=(default cds)
+fi
+
+printf '%-8s %10s %24s\n' "mode" "ready" "first-fast-request(<=${FAST_MS}ms)"
+for mode in "${MODES[@]}"; do
+  for _ in $(seq 1 "$RUNS"); do
+    run_once "$mode"
+  done
+done
@@ -0,0 +1,88 @@
+package com.labnote.backend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 서버 성능에 맞춘 비용(cost)을 쓰는 BCrypt 인코더
+ * - 시작할 때 해시 1회가 목표 시간(target-hash-ms)을 넘지 않는 가장 큰 비용을 측정해서 사용합니다. (최소 10 = 기존 기본값)
+ * - 저장된 해시의 비용이 현재 비용보다 낮으면 upgradeEncoding이 true를 돌려주고,
+ *   로그인에 성공했을 때 DaoAuthenticationProvider가 UserDetailsServiceImpl.updatePassword로 새 비용의 해시를 저장합니다.
+ *   (더 느린 서버에서 측정한 비용이 낮아도 이미 저장된 높은 비용의 해시는 낮추지 않음)
+ */
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveBCryptPasswordEncoder.class);
+
+    static final int MIN_STRENGTH = 10;
+    static final int MAX_STRENGTH = 16;
+    static final int CALIBRATION_SAMPLES = 3; // 비용마다 측정 횟수 (중앙값 사용)
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private final int strength;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+
+    /**
+     * 해시 1회가 targetMillis 안에 끝나는 가장 큰 비용 (MIN_STRENGTH ~ MAX_STRENGTH)
+     * 비용이 1 오를 때마다 시간이 두 배가 되므로, 다음 비용의 예상 시간이 목표를 넘으면 멈춥니다.
+     */
+    static int calibrate(long targetMillis) {
+        new BCryptPasswordEncoder(4).encode("warmup"); // 클래스 로딩/JIT 영향 줄이기
+        return calibrate(targetMillis, AdaptiveBCryptPasswordEncoder::measure);
+    }
+
+    /**
+     * measure(비용)로 잰 해시 시간(ms)으로 비용 선택
+     * GC나 다른 시작 작업 때문에 한 번 느리게 측정되어도 흔들리지 않도록 CALIBRATION_SAMPLES번 재서 중앙값을 씁니다.
+     */
+    static int calibrate(long targetMillis, IntToLongFunction measure) {
+        int cost = MIN_STRENGTH;
+        long elapsed = median(cost, measure);
+        while (cost < MAX_STRENGTH && elapsed * 2 <= targetMillis) {
+            cost++;
+            elapsed = median(cost, measure);
+        }
+        log.info("BCrypt 비용 {} 선택 (해시 1회 {}ms, 목표 {}ms)", cost, elapsed, targetMillis);
+        return cost;
+    }
+
+    private static long median(int cost, IntToLongFunction measure) {
+        long[] samples = new long[CALIBRATION_SAMPLES];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = measure.applyAsLong(cost);
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    private static long measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        long startedAt = System.nanoTime();
+        encoder.encode("calibration-password");
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+}
@@ -1,15 +1,17 @@
 package com.labnote.backend;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class AppConfig {
 
+    // [수정] 비용을 고정하지 않고 시작할 때 서버 성능에 맞춰 측정 (security.password.bcrypt-strength로 고정 가능)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:0}") int strength,
+                                           @Value("${security.password.target-hash-ms:250}") long targetHashMillis) {
+        return new AdaptiveBCryptPasswordEncoder(strength > 0 ? strength : AdaptiveBCryptPasswordEncoder.calibrate(targetHashMillis));
     }
 }
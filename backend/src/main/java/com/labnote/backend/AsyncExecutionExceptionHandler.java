@@ -0,0 +1,33 @@
+package com.labnote.backend;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 전용 스레드 풀(HeavyTaskExecutors)이 가득 찼거나 제한 시간을 넘긴 요청을 503으로 응답
+ */
+@RestControllerAdvice
+public class AsyncExecutionExceptionHandler {
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> handleRejected(RejectedExecutionException e) {
+        return serviceUnavailable("서버가 바쁩니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<Map<String, String>> handleTimeout(TimeoutException e) {
+        return serviceUnavailable("요청 처리 시간이 초과되었습니다. 잠시 후 다시 시도해 주세요.");
+    }
+
+    private ResponseEntity<Map<String, String>> serviceUnavailable(String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(Map.of("message", message));
+    }
+}
@@ -1,15 +1,19 @@
 package com.labnote.backend;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map; // Map.of()를 사용하기 위한 import
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 로그인/회원가입 요청을 위한 간단한 DTO (Data Transfer Object) 클래스
@@ -40,15 +44,21 @@ public class AuthController {
     @Autowired
     private JwtTokenUtil jwtTokenUtil;
 
-    @Autowired
-    private UserDetailsServiceImpl userDetailsService;
-
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private HeavyTaskExecutors heavyTaskExecutors; // [추가] 비밀번호 해시 전용 스레드 풀
+
+    @Autowired
+    private UsernameIndex usernameIndex; // [추가] 사용 중인 사용자 이름 메모리 색인
+
     /**
      * [신규] 아이디 중복 체크 API (GET /api/auth/check-username)
      * @param username 쿼리 파라미터로 받을 아이디
@@ -61,10 +71,14 @@ public class AuthController {
             return ResponseEntity.ok(Map.of("available", false));
         }
 
-        // userRepository.existsByUsername()을 호출
-        // DB에 존재하면(true) -> 사용 불가(false)
-        // DB에 존재하지 않으면(false) -> 사용 가능(true)
-        boolean isAvailable = !userRepository.existsByUsername(username.trim());
+        // [수정] DB 대신 메모리 색인으로 확인 (입력할 때마다 호출되므로)
+        // 색인에 있으면(true) -> 사용 불가(false)
+        // 색인에 없으면(false) -> 사용 가능(true)
+        // (서버 시작 직후 색인을 읽는 중이면 DB로 확인)
+        String trimmed = username.trim();
+        boolean isAvailable = usernameIndex.isLoaded()
+                ? !usernameIndex.contains(trimmed)
+                : !userRepository.existsByUsername(trimmed);
 
         return ResponseEntity.ok(Map.of("available", isAvailable));
     }
@@ -75,23 +89,37 @@ public class AuthController {
      * @return 성공 또는 실패 메시지
      */
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@RequestBody AuthRequest authRequest) {
-        // [수정] existsByUsername으로 더 효율적인 중복 체크
-        if (userRepository.existsByUsername(authRequest.username)) {
-            return ResponseEntity
+    public CompletableFuture<ResponseEntity<?>> registerUser(@RequestBody AuthRequest authRequest) {
+        // [수정] 메모리 색인에 있는 이름만 DB로 확인 (색인에 없으면 DB를 읽지 않음, 동시에 가입한 경우는 아래 유니크 제약으로 막힘)
+        boolean maybeTaken = !usernameIndex.isLoaded() || usernameIndex.contains(authRequest.username);
+        if (maybeTaken && userRepository.existsByUsername(authRequest.username)) {
+            return CompletableFuture.completedFuture(ResponseEntity
                     .badRequest()
-                    .body(Map.of("message", "이미 존재하는 사용자 이름입니다."));
+                    .body(Map.of("message", "이미 존재하는 사용자 이름입니다.")));
         }
 
-        // 새 User 객체 생성
-        com.labnote.backend.User user = new com.labnote.backend.User();
-        user.setUsername(authRequest.username);
+        // [수정] BCrypt 계산만 요청 스레드 대신 해시 전용 스레드 풀에서 실행 (가득 차거나 제한 시간을 넘기면 503)
+        // 저장은 해시가 끝난 뒤에 하므로, 제한 시간이 지나 503을 받았는데 가입은 된 경우가 생기지 않음
         // [중요] 비밀번호는 반드시 BCrypt 등으로 해시(암호화)하여 저장
-        user.setPassword(passwordEncoder.encode(authRequest.password));
-
-        userRepository.save(user);
-
-        return ResponseEntity.ok(Map.of("message", "회원가입이 완료되었습니다."));
+        return heavyTaskExecutors.submit(HeavyTaskExecutors.HASH, () -> passwordEncoder.encode(authRequest.password))
+                .thenApply(encodedPassword -> {
+                    // 새 User 객체 생성
+                    com.labnote.backend.User user = new com.labnote.backend.User();
+                    user.setUsername(authRequest.username);
+                    user.setPassword(encodedPassword);
+
+                    try {
+                        userRepository.save(user);
+                    } catch (DataIntegrityViolationException e) {
+                        usernameIndex.add(authRequest.username); // 색인에 없던 이름 (다른 서버에서 가입 등)
+                        return ResponseEntity
+                                .badRequest()
+                                .body(Map.of("message", "이미 존재하는 사용자 이름입니다."));
+                    }
+                    usernameIndex.add(user.getUsername());
+
+                    return ResponseEntity.ok(Map.of("message", "회원가입이 완료되었습니다."));
+                });
     }
 
     /**
@@ -100,28 +128,42 @@ public class AuthController {
      * @return 성공 시 JWT 토큰, 실패 시 에러 메시지
      */
     @PostMapping("/login")
-    public ResponseEntity<?> createAuthenticationToken(@RequestBody AuthRequest authRequest) throws Exception {
-
-        // 1. Spring Security의 AuthenticationManager로 사용자 인증 시도
-        try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(authRequest.username, authRequest.password)
-            );
-        } catch (BadCredentialsException e) {
-            // 2. 인증 실패 (아이디 또는 비밀번호 틀림)
-            return ResponseEntity
-                    .status(401) // 401 Unauthorized
-                    .body(Map.of("message", "아이디 또는 비밀번호가 잘못되었습니다."));
-        }
-
-        // 3. 인증 성공
-        // 4. UserDetailsServiceImpl을 통해 DB에서 사용자 정보 로드
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(authRequest.username);
-
-        // 5. JwtTokenUtil을 사용해 JWT 토큰 생성
-        final String token = jwtTokenUtil.generateToken(userDetails);
+    public CompletableFuture<ResponseEntity<?>> createAuthenticationToken(@RequestBody AuthRequest authRequest) {
+
+        // [수정] 인증(BCrypt 비교, 필요하면 새 비용으로 재해시)은 해시 전용 스레드 풀에서 실행 (가득 차면 503)
+        return heavyTaskExecutors.submit(HeavyTaskExecutors.HASH, () -> {
+            // 1. Spring Security의 AuthenticationManager로 사용자 인증 시도
+            Authentication authentication;
+            try {
+                authentication = authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(authRequest.username, authRequest.password)
+                );
+            } catch (BadCredentialsException e) {
+                // 2. 인증 실패 (아이디 또는 비밀번호 틀림)
+                return ResponseEntity
+                        .status(401) // 401 Unauthorized
+                        .body(Map.of("message", "아이디 또는 비밀번호가 잘못되었습니다."));
+            }
+
+            // 3. 인증 성공
+            // 4. [수정] 인증 결과에 담긴 사용자 정보 사용 (DB를 다시 읽지 않음)
+            final UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+
+            // 5. JwtTokenUtil을 사용해 JWT 토큰 생성
+            final String token = jwtTokenUtil.generateToken(userDetails);
+
+            // 6. 생성된 토큰을 AuthResponse DTO에 담아 반환
+            return ResponseEntity.ok(new AuthResponse(token));
+        });
+    }
 
-        // 6. 생성된 토큰을 AuthResponse DTO에 담아 반환
-        return ResponseEntity.ok(new AuthResponse(token));
+    /**
+     * [추가] 로그아웃 API (POST /api/auth/logout)
+     * 요청의 토큰을 취소해서 만료 전이라도 다시 쓸 수 없게 합니다. (토큰이 없거나 이미 무효여도 성공으로 응답)
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        tokenRevocationService.revokeBearer(authorization);
+        return ResponseEntity.ok(Map.of("message", "로그아웃되었습니다."));
     }
 }
\ No newline at end of file
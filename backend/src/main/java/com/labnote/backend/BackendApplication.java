@@ -2,12 +2,25 @@ package com.labnote.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Map;
 
 @SpringBootApplication
+@EnableScheduling // [추가] 버전 압축 등 백그라운드 작업 실행
 public class BackendApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(BackendApplication.class, args);
+		SpringApplication application = new SpringApplication(BackendApplication.class);
+		// [추가] 응답은 트랜잭션 안에서 만든 DTO만 직렬화하므로 요청 전체 동안 DB 연결을 잡지 않음 (설정 파일로 덮어쓸 수 있음)
+		// [추가] 종료 시 처리 중인 요청을 마친 뒤 빈을 정리함 (조회 기록 등 메모리 버퍼를 마지막으로 저장하기 위해)
+		// [추가] 스키마는 Flyway 마이그레이션(db/migration)이 관리 (Flyway 이전에 만들어진 DB는 버전 0으로 기록한 뒤 V1부터 실행 - V1은 없는 테이블만 만들고, V4~V6이 컬럼 추가와 데이터 이동을 처리)
+		application.setDefaultProperties(Map.of(
+				"spring.jpa.open-in-view", "false",
+				"server.shutdown", "graceful",
+				"spring.flyway.baseline-on-migrate", "true",
+				"spring.flyway.baseline-version", "0"));
+		application.run(args);
 	}
 
 }
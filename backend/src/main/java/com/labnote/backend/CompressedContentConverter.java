@@ -0,0 +1,28 @@
+package com.labnote.backend;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * 본문 컬럼에 적용하는 JPA 컨버터
+ * API(엔티티 필드)에는 항상 원문이 보이고, DB에는 ContentCompressor 설정에 따라 압축된 값이 저장됩니다.
+ * (Hibernate가 Spring 빈 컨테이너를 통해 생성하므로 ContentCompressor가 주입됩니다)
+ */
+@Converter
+public class CompressedContentConverter implements AttributeConverter<String, String> {
+
+    @Autowired(required = false)
+    private ContentCompressor contentCompressor;
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        // 컴프레서가 없으면(스프링 컨텍스트 밖) 압축하지 않음
+        return contentCompressor == null ? attribute : contentCompressor.encode(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return ContentCompressor.decode(dbData);
+    }
+}
@@ -0,0 +1,111 @@
+package com.labnote.backend;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 노트/버전/템플릿 본문(HTML)을 DB에 저장할 때 압축하는 코덱
+ * - 압축된 값은 MARKER로 시작하므로, 기존에 압축 없이 저장된 행도 그대로 읽을 수 있습니다.
+ * - content.compression.enabled=true 일 때만 새로 저장되는 값을 압축합니다. (읽기는 항상 지원)
+ */
+@Component
+public class ContentCompressor {
+
+    // 압축 형식 표시 (Deflate + Base64, 형식 버전 1)
+    static final String MARKER = "{dfl1}";
+
+    @Value("${content.compression.enabled:false}")
+    private boolean enabled;
+
+    @Value("${content.compression.threshold-bytes:1024}")
+    private int thresholdBytes;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getThresholdBytes() {
+        return thresholdBytes;
+    }
+
+    public static boolean isCompressed(String stored) {
+        return stored != null && stored.startsWith(MARKER);
+    }
+
+    /**
+     * DB에 저장할 형태로 변환합니다. 임계값보다 작은 본문은 그대로 둡니다.
+     */
+    public String encode(String content) {
+        if (content == null) {
+            return null;
+        }
+        // 본문이 우연히 MARKER로 시작하면 읽을 때 오해하지 않도록 반드시 압축
+        boolean mustEncode = isCompressed(content);
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        if (!mustEncode && (!enabled || raw.length < thresholdBytes)) {
+            return content;
+        }
+
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            String encoded = MARKER + Base64.getEncoder().encodeToString(out.toByteArray());
+            // 압축 효과가 없으면 원문 그대로 저장 (MARKER로 시작하는 원문은 예외)
+            if (!mustEncode && encoded.length() >= content.length()) {
+                return content;
+            }
+            return encoded;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * DB에서 읽은 값을 원래 본문으로 되돌립니다. MARKER가 없으면 그대로 반환합니다.
+     * @throws IllegalStateException 압축된 값이 잘렸거나 손상된 경우 (일부만 해제된 본문이 다시 저장되지 않도록)
+     */
+    public static String decode(String stored) {
+        if (!isCompressed(stored)) {
+            return stored;
+        }
+        byte[] compressed;
+        try {
+            compressed = Base64.getDecoder().decode(stored.substring(MARKER.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("압축된 본문을 해제할 수 없습니다.", e);
+        }
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    // 끝 표시 전에 입력이 끝남 = 잘린 값
+                    throw new IllegalStateException("압축된 본문이 잘렸거나 손상되었습니다.");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축된 본문을 해제할 수 없습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
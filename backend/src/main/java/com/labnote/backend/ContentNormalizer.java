@@ -0,0 +1,161 @@
+package com.labnote.backend;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.safety.Cleaner;
+import org.jsoup.safety.Safelist;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 저장 시점의 본문 HTML 정규화
+ * - 에디터(Quill)가 쓰는 태그/속성만 남기고 정리(sanitize)한 HTML을 저장합니다. (script, on* 속성 등 제거)
+ * - 같은 파싱 결과로 순수 텍스트(entry_contents.plain_text), 단어 수, 정규화된 HTML의 해시(entries.content_hash)를 함께 만듭니다.
+ *   검색은 순수 텍스트를 읽고, 해시가 같으면 "바뀐 내용 없음"으로 보고 저장을 건너뜁니다.
+ * - 이 기능 이전에 저장된 노트는 백그라운드 작업(backfill)이 텍스트/해시만 채웁니다. (HTML은 다음 저장 때 정리됨)
+ */
+@Component
+public class ContentNormalizer {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentNormalizer.class);
+
+    // 상대 경로 링크(/entries/12 등)를 남기기 위한 기준 주소 (저장되는 HTML에는 들어가지 않음)
+    private static final String BASE_URI = "http://localhost/";
+
+    // Quill 에디터 서식(header, bold, list, indent, link, image, align, color, background)에 필요한 것만 허용
+    private static final Safelist SAFELIST = Safelist.relaxed()
+            .addTags("s")
+            .addAttributes(":all", "class")
+            .addAttributes("span", "style", "contenteditable")
+            .addAttributes("li", "data-list")
+            .addAttributes("a", "target", "rel")
+            .addProtocols("img", "src", "data") // 붙여넣은 이미지는 업로드 전까지 data URI
+            .preserveRelativeLinks(true);
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[\\s\\u00A0]+");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${entry.normalize.backfill-batch-size:100}")
+    private int backfillBatchSize;
+
+    @Value("${entry.normalize.backfill-pause-ms:200}")
+    private long backfillPauseMillis;
+
+    private volatile boolean backfillCompleted = false;
+
+    /**
+     * 정규화 결과
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class NormalizedContent {
+        private final String html;
+        private final String plainText;
+        private final int wordCount;
+        private final String hash;
+    }
+
+    /**
+     * HTML을 한 번 파싱해서 정리된 HTML, 순수 텍스트, 단어 수, 해시를 만듭니다. (html이 null이면 null)
+     */
+    public static NormalizedContent normalize(String html) {
+        if (html == null) {
+            return null;
+        }
+        Document clean = new Cleaner(SAFELIST).clean(Jsoup.parseBodyFragment(html, BASE_URI));
+        clean.outputSettings().prettyPrint(false); // 공백/줄바꿈을 바꾸지 않음
+        String normalizedHtml = clean.body().html();
+        String plainText = clean.body().text();
+        return new NormalizedContent(normalizedHtml, plainText, countWords(plainText), hash(normalizedHtml));
+    }
+
+    /**
+     * HTML의 순수 텍스트 (블록 사이는 공백 하나)
+     */
+    public static String toPlainText(String html) {
+        if (html == null || html.isBlank()) {
+            return "";
+        }
+        return Jsoup.parseBodyFragment(html).body().text();
+    }
+
+    static int countWords(String plainText) {
+        String trimmed = plainText.strip();
+        return trimmed.isEmpty() ? 0 : WORD_SEPARATOR.split(trimmed).length;
+    }
+
+    static String hash(String normalizedHtml) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalizedHtml.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // --- 백그라운드 채우기 ---
+
+    @Scheduled(initialDelayString = "${entry.normalize.backfill-initial-delay-ms:60000}",
+            fixedDelayString = "${entry.normalize.backfill-interval-ms:600000}")
+    public void backfill() {
+        if (backfillCompleted) {
+            return;
+        }
+        long filled = 0;
+        long lastId = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT e.id, e.content_id, c.content FROM entries e JOIN entry_contents c ON c.id = e.content_id" +
+                    " WHERE e.id > ? AND e.content_hash IS NULL ORDER BY e.id LIMIT ?", lastId, backfillBatchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (Map<String, Object> row : rows) {
+                lastId = ((Number) row.get("id")).longValue();
+                String stored = (String) row.get("content");
+                NormalizedContent normalized = normalize(ContentCompressor.decode(stored));
+                // 그 사이에 사용자가 수정했다면(content가 바뀌었다면) 건너뜀 (저장 경로가 직접 채움)
+                int updated = jdbcTemplate.update("UPDATE entry_contents SET plain_text = ? WHERE id = ? AND content = ?",
+                        normalized.getPlainText(), row.get("content_id"), stored);
+                if (updated > 0) {
+                    filled += jdbcTemplate.update(
+                            "UPDATE entries SET content_hash = ?, word_count = ? WHERE id = ? AND content_hash IS NULL",
+                            normalized.getHash(), normalized.getWordCount(), lastId);
+                }
+            }
+            pause();
+        }
+        log.info("본문 정규화 백필: {}개 노트", filled);
+        if (filled == 0) {
+            backfillCompleted = true;
+        }
+    }
+
+    private void pause() {
+        if (backfillPauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(backfillPauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
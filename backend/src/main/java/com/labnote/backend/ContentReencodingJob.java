@@ -0,0 +1,113 @@
+package com.labnote.backend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 압축 기능을 켜기 전에 저장된 본문을 백그라운드에서 압축 형식으로 다시 저장하는 작업
+ * - 엔티티를 거치지 않고 JDBC로 직접 갱신하므로 updatedAt이 바뀌지 않습니다.
+ * - 모든 테이블에 압축되지 않은 큰 본문이 하나도 남지 않으면 이후에는 실행하지 않습니다.
+ *   (plain_text가 아직 비어 있어 이번에 건너뛴 행도 남은 것으로 셉니다)
+ * - 노트 본문(entry_contents)은 검색용 순수 텍스트(plain_text)가 채워진 행만 압축합니다.
+ *   (압축된 본문은 LIKE 검색에 걸리지 않으므로, ContentNormalizer 백필이 채우기 전에는 원문으로 둠)
+ */
+@Component
+public class ContentReencodingJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentReencodingJob.class);
+
+    // 압축 대상 본문을 가진 테이블들
+    private static final List<String> TABLES = List.of("entry_contents", "entry_versions", "templates");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContentCompressor contentCompressor;
+
+    @Value("${content.compression.reencode-batch-size:100}")
+    private int batchSize;
+
+    @Value("${content.compression.reencode-pause-ms:200}")
+    private long batchPauseMillis;
+
+    private volatile boolean completed = false;
+
+    @Scheduled(initialDelayString = "${content.compression.reencode-initial-delay-ms:60000}",
+            fixedDelayString = "${content.compression.reencode-interval-ms:3600000}")
+    public void reencode() {
+        if (!contentCompressor.isEnabled() || completed) {
+            return;
+        }
+        long converted = 0;
+        for (String table : TABLES) {
+            converted += reencodeTable(table);
+        }
+        long remaining = remaining();
+        log.info("본문 압축 재인코딩: {}개 행 변환 (남은 행: {}개)", converted, remaining);
+        if (remaining == 0) {
+            completed = true;
+        }
+    }
+
+    // 아직 압축되지 않은 큰 본문 수 (백필을 기다리는 행, 압축해도 줄지 않아 원문으로 둔 행 포함)
+    private long remaining() {
+        long remaining = 0;
+        for (String table : TABLES) {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table +
+                    " WHERE content NOT LIKE '" + ContentCompressor.MARKER + "%' AND OCTET_LENGTH(content) >= ?",
+                    Long.class, contentCompressor.getThresholdBytes());
+            remaining += count == null ? 0 : count;
+        }
+        return remaining;
+    }
+
+    private long reencodeTable(String table) {
+        String selectSql = "SELECT id, content FROM " + table +
+                " WHERE id > ? AND content NOT LIKE '" + ContentCompressor.MARKER + "%'" +
+                " AND OCTET_LENGTH(content) >= ?" +
+                ("entry_contents".equals(table) ? " AND plain_text IS NOT NULL" : "") +
+                " ORDER BY id LIMIT ?";
+        String updateSql = "UPDATE " + table + " SET content = ? WHERE id = ? AND content = ?";
+
+        long converted = 0;
+        long lastId = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    selectSql, lastId, contentCompressor.getThresholdBytes(), batchSize);
+            if (rows.isEmpty()) {
+                break;
+            }
+            for (Map<String, Object> row : rows) {
+                lastId = ((Number) row.get("id")).longValue();
+                String content = (String) row.get("content");
+                String encoded = contentCompressor.encode(content);
+                if (!encoded.equals(content)) {
+                    // 그 사이에 사용자가 수정했다면(content가 바뀌었다면) 건너뜀
+                    converted += jdbcTemplate.update(updateSql, encoded, lastId, content);
+                }
+            }
+            pause();
+        }
+        return converted;
+    }
+
+    private void pause() {
+        if (batchPauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
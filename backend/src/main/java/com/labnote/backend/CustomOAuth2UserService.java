@@ -22,6 +22,9 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UsernameIndex usernameIndex;
+
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
         OAuth2User oAuth2User = super.loadUser(userRequest);
@@ -50,6 +53,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
             user.setPassword(passwordEncoder.encode(UUID.randomUUID().toString()));
         }
         userRepository.save(user);
+        usernameIndex.add(user.getUsername()); // [추가] 새로 만든 사용자면 아이디 중복 확인 색인에 반영
 
         return oAuth2User;
     }
@@ -0,0 +1,43 @@
+package com.labnote.backend;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * 사용자별 일일 활동 횟수 (활동 히트맵용)
+ * 노트 생성/수정/자동 저장/복원 1회마다 1씩 증가합니다.
+ */
+@Entity
+@Table(name = "user_daily_activity")
+@IdClass(DailyActivity.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class DailyActivity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "activity_date")
+    private LocalDate activityDate;
+
+    @Column(nullable = false)
+    private long activityCount;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate activityDate;
+    }
+}
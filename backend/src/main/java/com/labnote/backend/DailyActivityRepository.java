@@ -0,0 +1,20 @@
+package com.labnote.backend;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyActivityRepository extends JpaRepository<DailyActivity, DailyActivity.Key> {
+
+    List<DailyActivity> findByUserIdAndActivityDateGreaterThanEqualOrderByActivityDateAsc(Long userId, LocalDate from);
+
+    @Modifying
+    @Query("DELETE FROM DailyActivity a WHERE a.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+}
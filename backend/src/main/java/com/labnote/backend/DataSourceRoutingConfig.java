@@ -0,0 +1,73 @@
+package com.labnote.backend;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 읽기/쓰기 DataSource 라우팅 설정 (app.datasource.routing.enabled=true 일 때만 활성화)
+ * - primary: spring.datasource.* 설정
+ * - replica: app.datasource.routing.replicas[n].* 설정
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties primaryProperties,
+                                                             ReplicaDataSourceProperties routingProperties) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicaRoutingDataSource.PRIMARY,
+                primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build());
+
+        List<String> replicaKeys = new ArrayList<>();
+        for (int i = 0; i < routingProperties.getReplicas().size(); i++) {
+            ReplicaDataSourceProperties.Replica replica = routingProperties.getReplicas().get(i);
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + i);
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            if (replica.getDriverClassName() != null) {
+                dataSource.setDriverClassName(replica.getDriverClassName());
+            }
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+
+            String key = "replica-" + i;
+            targets.put(key, dataSource);
+            replicaKeys.add(key);
+        }
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(replicaKeys);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(targets.get(ReplicaRoutingDataSource.PRIMARY));
+        routingDataSource.afterPropertiesSet();
+        return routingDataSource;
+    }
+
+    // 트랜잭션의 readOnly 여부가 정해진 뒤 실제 커넥션을 얻도록 지연 프록시로 감쌈
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                               ReplicaDataSourceProperties routingProperties) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, routingProperties);
+    }
+}
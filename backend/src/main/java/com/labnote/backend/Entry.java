@@ -1,22 +1,30 @@
 package com.labnote.backend;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor; // 1. [수정] 기본 생성자 import
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Entity // 이 클래스가 데이터베이스 테이블과 매핑됨을 선언
-@Table(name = "entries") // 테이블 이름을 'entries'로 지정
+@Table(name = "entries", indexes = { // 테이블 이름을 'entries'로 지정
+        // [추가] 인덱스는 Flyway 마이그레이션(db/migration)이 만들고, 여기에는 같은 이름으로 표시만 함
+        @Index(name = "idx_entries_user_project", columnList = "user_id, project_id"),
+        @Index(name = "idx_entries_user_updated", columnList = "user_id, updated_at")
+})
 @Getter // 모든 필드의 Getter 메소드를 자동 생성
 @Setter // 모든 필드의 Setter 메소드를 자동 생성
 @NoArgsConstructor // 2. [수정] ObjectMapper가 JSON을 객체로 변환할 때 필요한 기본 생성자 추가
+@DynamicUpdate // [추가] 변경된 컬럼만 UPDATE (자동 저장 시 TEXT 컬럼을 매번 다시 쓰지 않도록)
 public class Entry {
 
     @Id // 이 필드가 Primary Key(기본키)임을 선언
@@ -26,9 +34,12 @@ public class Entry {
     @Column(nullable = false) // 'title' 컬럼, null을 허용하지 않음
     private String title; // 실험 제목
 
-    @Lob // 대용량 텍스트를 저장할 수 있도록 지정 (VARCHAR 대신 TEXT 타입 등)
-    @Column(nullable = false, columnDefinition = "TEXT") // 'content' 컬럼, null 불가, DB 타입을 TEXT로 명시
-    private String content; // 실험 내용 (본문)
+    // [수정] 본문은 별도 테이블(entry_contents)로 분리하고 필요할 때만 LAZY 로딩
+    // (API 응답에는 기존과 같이 "content" 필드로 노출됨 - getContent/setContent 참고)
+    @OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinColumn(name = "content_id")
+    @JsonIgnore
+    private EntryContent body; // 실험 내용 (본문)
 
     @Column(nullable = true) // 'researcher' 컬럼, null 허용
     private String researcher; // 실험자 이름
@@ -40,10 +51,36 @@ public class Entry {
     @UpdateTimestamp // 데이터가 수정될 때 현재 시간을 자동으로 저장
     private LocalDateTime updatedAt; // 수정 일시
 
-    @ElementCollection(fetch = FetchType.EAGER) // [추가]
-    @CollectionTable(name = "entry_tags", joinColumns = @JoinColumn(name = "entry_id")) // [추가]
-    @Column(name = "tag") // [추가]
-    private List<String> tags = new ArrayList<>(); // [추가] 태그 목록
+    // [수정] 태그 문자열 대신 사용자별 태그 사전(tags)의 ID를 참조 (입력 순서 유지)
+    // (API 응답에는 기존과 같이 "tags" 이름 목록으로 노출됨 - getTags/setTags 참고)
+    @ManyToMany(fetch = FetchType.EAGER)
+    @JoinTable(name = "entry_tag_links",
+            joinColumns = @JoinColumn(name = "entry_id"),
+            inverseJoinColumns = @JoinColumn(name = "tag_id"),
+            indexes = {@Index(name = "idx_entry_tag_links_tag", columnList = "tag_id"),
+                    @Index(name = "idx_entry_tag_links_entry", columnList = "entry_id, position")})
+    @OrderColumn(name = "position")
+    @JsonIgnore
+    private List<Tag> tagRefs = new ArrayList<>(); // 태그 목록
+
+    // [추가] JSON으로 받은 태그 이름 (저장 전에 TagService.replaceTags로 tagRefs에 반영)
+    @Transient
+    @JsonIgnore
+    private List<String> pendingTags;
+
+    // [추가] 본문의 노트 링크가 entry_links에 반영되었는지 여부 (null = 이전 노트, 백그라운드에서 반영)
+    @Column(name = "links_indexed")
+    @JsonIgnore
+    private Boolean linksIndexed;
+
+    // [추가] 정규화된 본문 HTML의 SHA-256 (같으면 저장 생략, null = 이전 노트)
+    @Column(name = "content_hash", length = 64)
+    @JsonIgnore
+    private String contentHash;
+
+    // [추가] 본문 단어 수 (저장 시 계산)
+    @Column(name = "word_count")
+    private Integer wordCount;
 
     @Column(nullable = true) // 파일은 선택 사항이므로 null 허용
     private String attachedFilePath; // 서버에 저장된 파일의 이름 (또는 경로)
@@ -62,4 +99,53 @@ public class Entry {
     @OneToMany(mappedBy = "entry", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonIgnore // Entry 조회 시 모든 버전을 가져오지 않도록 설정 (필요 시 별도 API로 조회)
     private List<EntryVersion> versions = new ArrayList<>();
-}
\ No newline at end of file
+
+    // --- [추가] 본문 접근자 (기존 JSON 형태 "content" 유지) ---
+    @JsonProperty("content")
+    public String getContent() {
+        return body == null ? null : body.getContent();
+    }
+
+    @JsonProperty("content")
+    public void setContent(String content) {
+        if (body == null) {
+            body = new EntryContent(content);
+        } else if (!Objects.equals(body.getContent(), content)) {
+            body.setContent(content);
+        } else {
+            return;
+        }
+        // 본문만 바뀌면 entries 행은 dirty가 아니므로 수정 일시를 직접 갱신
+        updatedAt = LocalDateTime.now();
+    }
+
+    // --- [추가] 정규화된 본문 반영 (HTML + 순수 텍스트 + 단어 수 + 해시) ---
+    public void applyNormalizedContent(ContentNormalizer.NormalizedContent normalized) {
+        if (normalized == null) {
+            return;
+        }
+        setContent(normalized.getHtml());
+        body.setPlainText(normalized.getPlainText());
+        contentHash = normalized.getHash();
+        wordCount = normalized.getWordCount();
+    }
+
+    @JsonIgnore
+    public String getPlainText() {
+        return body == null ? null : body.getPlainText();
+    }
+
+    // --- [추가] 태그 접근자 (기존 JSON 형태 "tags" 유지) ---
+    @JsonProperty("tags")
+    public List<String> getTags() {
+        if (pendingTags != null) {
+            return pendingTags;
+        }
+        return tagRefs.stream().map(Tag::getName).toList();
+    }
+
+    @JsonProperty("tags")
+    public void setTags(List<String> tags) {
+        this.pendingTags = tags == null ? new ArrayList<>() : new ArrayList<>(tags);
+    }
+}
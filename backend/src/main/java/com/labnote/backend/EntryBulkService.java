@@ -0,0 +1,196 @@
+package com.labnote.backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 노트 일괄 작업 (프로젝트 이동, 태그 추가/제거, 삭제)
+ * - 소유권은 쿼리 한 번으로 확인하고, 변경은 노트 ID 목록에 대한 집합 단위 SQL로 한 트랜잭션 안에서 처리합니다.
+ * - 엔티티를 읽지 않으므로 노트 수와 관계없이 SQL 문 수가 거의 일정합니다. (태그 작업은 태그 수만큼)
+ * - 삭제된 노트의 첨부파일은 업로드 GC(UploadGarbageCollector)가 정리합니다.
+ */
+@Service
+public class EntryBulkService {
+
+    public static final String MOVE = "move";
+    public static final String ADD_TAGS = "addTags";
+    public static final String REMOVE_TAGS = "removeTags";
+    public static final String DELETE = "delete";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private VersionSearchService versionSearchService;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private EntryShareService entryShareService;
+
+    @Autowired
+    private EntryViewTracker entryViewTracker;
+
+    @Value("${entry.bulk.max-ids:1000}")
+    private int maxIds;
+
+    /**
+     * @return 처리 결과 (affected: 대상 노트 수, versionsCreated: 만든 버전 수)
+     * @throws IllegalArgumentException 잘못된 요청
+     * @throws AccessDeniedException 소유하지 않았거나 존재하지 않는 노트/프로젝트가 있는 경우
+     */
+    @Transactional
+    public Map<String, Object> apply(User user, BulkRequest request) {
+        if (request.ids == null || request.ids.isEmpty()) {
+            throw new IllegalArgumentException("대상 노트 ID(ids)를 입력해 주세요.");
+        }
+        Set<Long> requestedIds = new LinkedHashSet<>(request.ids);
+        requestedIds.remove(null);
+        if (requestedIds.size() > maxIds) {
+            throw new IllegalArgumentException("한 번에 최대 " + maxIds + "개의 노트만 처리할 수 있습니다.");
+        }
+        String operation = request.operation == null ? "" : request.operation;
+        if (!List.of(MOVE, ADD_TAGS, REMOVE_TAGS, DELETE).contains(operation)) {
+            throw new IllegalArgumentException("지원하지 않는 작업입니다: " + operation);
+        }
+        if ((ADD_TAGS.equals(operation) || REMOVE_TAGS.equals(operation)) && (request.tags == null || request.tags.isEmpty())) {
+            throw new IllegalArgumentException("태그(tags)를 입력해 주세요.");
+        }
+
+        // 1. 소유권 확인 (쿼리 한 번) - 노트 ID -> 프로젝트 ID
+        String ids = joinIds(requestedIds);
+        Map<Long, Long> projectByEntry = new HashMap<>();
+        jdbcTemplate.query("SELECT id, project_id FROM entries WHERE user_id = ? AND id IN (" + ids + ")",
+                rs -> { projectByEntry.put(rs.getLong(1), (Long) rs.getObject(2, Long.class)); }, user.getId());
+        if (projectByEntry.size() != requestedIds.size()) {
+            throw new AccessDeniedException("접근 권한이 없거나 존재하지 않는 노트가 포함되어 있습니다.");
+        }
+
+        Project targetProject = null;
+        if (MOVE.equals(operation) && request.projectId != null) {
+            targetProject = projectRepository.findById(request.projectId)
+                    .filter(project -> project.getUser().getId().equals(user.getId()))
+                    .orElseThrow(() -> new AccessDeniedException("접근 권한이 없거나 존재하지 않는 프로젝트입니다."));
+        }
+
+        // 2. 변경 전 상태를 버전으로 저장 (선택, 삭제 시에는 버전도 함께 지워지므로 만들지 않음)
+        int versionsCreated = 0;
+        if (request.snapshot && !DELETE.equals(operation)) {
+            versionsCreated = snapshot(requestedIds, ids);
+        }
+
+        // 3. 작업 실행
+        LocalDateTime now = LocalDateTime.now();
+        switch (operation) {
+            case MOVE -> {
+                Long targetId = targetProject == null ? null : targetProject.getId();
+                Map<Long, Long> movedFrom = new HashMap<>();
+                projectByEntry.values().stream()
+                        .filter(projectId -> !Objects.equals(projectId, targetId))
+                        .forEach(projectId -> movedFrom.merge(projectId, 1L, Long::sum));
+                jdbcTemplate.update("UPDATE entries SET project_id = ?, updated_at = ? WHERE id IN (" + ids + ")",
+                        targetId, Timestamp.valueOf(now));
+                statsService.recordBulkMoved(user, movedFrom, targetProject);
+            }
+            case ADD_TAGS, REMOVE_TAGS -> {
+                if (ADD_TAGS.equals(operation)) {
+                    tagService.addTagsToEntries(user, requestedIds, request.tags);
+                } else {
+                    tagService.removeTagsFromEntries(user, requestedIds, request.tags);
+                }
+                jdbcTemplate.update("UPDATE entries SET updated_at = ? WHERE id IN (" + ids + ")", Timestamp.valueOf(now));
+                statsService.recordBulkEdited(user, countByProject(projectByEntry));
+            }
+            case DELETE -> delete(user, requestedIds, ids, projectByEntry);
+            default -> throw new IllegalStateException(operation);
+        }
+        searchResultCache.invalidate(user.getId()); // 검색 결과 캐시 무효화 (커밋 후)
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("operation", operation);
+        result.put("affected", requestedIds.size());
+        result.put("versionsCreated", versionsCreated);
+        return result;
+    }
+
+    // 대상 노트 전체의 현재 상태를 INSERT ... SELECT 로 버전 저장 (같은 세션 ID로 묶어서 태그 복사/검색 색인)
+    private int snapshot(Set<Long> entryIds, String ids) {
+        String sessionId = "bulk-" + UUID.randomUUID();
+        int created = jdbcTemplate.update(
+                "INSERT INTO entry_versions (entry_id, title, content, researcher, version_timestamp, edit_session_id, search_indexed)" +
+                " SELECT e.id, e.title, COALESCE(c.content, ''), e.researcher, ?, ?, FALSE" +
+                " FROM entries e LEFT JOIN entry_contents c ON c.id = e.content_id WHERE e.id IN (" + ids + ")",
+                Timestamp.valueOf(LocalDateTime.now()), sessionId);
+        jdbcTemplate.update(
+                "INSERT INTO entry_version_tags (version_id, tag)" +
+                " SELECT v.id, t.name FROM entry_versions v" +
+                " JOIN entry_tag_links l ON l.entry_id = v.entry_id JOIN tags t ON t.id = l.tag_id" +
+                " WHERE v.entry_id IN (" + ids + ") AND v.edit_session_id = ?", sessionId);
+        versionSearchService.indexSession(sessionId, entryIds);
+        return created;
+    }
+
+    private void delete(User user, Set<Long> entryIds, String ids, Map<Long, Long> projectByEntry) {
+        // 통계용 저장 용량 (본문은 압축되어 있을 수 있으므로 원문 크기로 계산)
+        long[] bytes = {0};
+        List<Long> contentIds = new ArrayList<>();
+        jdbcTemplate.query("SELECT e.content_id, e.attached_file_path, c.content FROM entries e" +
+                        " LEFT JOIN entry_contents c ON c.id = e.content_id WHERE e.id IN (" + ids + ")",
+                rs -> {
+                    Long contentId = rs.getObject(1, Long.class);
+                    if (contentId != null) {
+                        contentIds.add(contentId);
+                    }
+                    bytes[0] += StatsService.sizeOf(ContentCompressor.decode(rs.getString(3)));
+                    bytes[0] += fileStorageService.getFileSize(rs.getString(2));
+                });
+
+        tagService.releaseTagsOfEntries(user, entryIds);
+
+        // 자식 행부터 삭제 (entry_links, entry_signatures, entry_lsh_buckets, version_search_terms, entry_view_stats, entry_shares는 ON DELETE CASCADE)
+        jdbcTemplate.update("DELETE FROM entry_version_tags WHERE version_id IN (SELECT v.id FROM entry_versions v WHERE v.entry_id IN (" + ids + "))");
+        jdbcTemplate.update("DELETE FROM entry_versions WHERE entry_id IN (" + ids + ")");
+        jdbcTemplate.update("DELETE FROM entry_tag_links WHERE entry_id IN (" + ids + ")");
+        jdbcTemplate.update("DELETE FROM entries WHERE id IN (" + ids + ")");
+        entryShareService.entriesDeleted(entryIds); // 공유 링크 막기 (커밋 후 스냅샷 삭제)
+        entryViewTracker.entriesDeleted(user.getId(), entryIds); // 최근 본/많이 본 노트에서 제외 (커밋 후)
+        if (!contentIds.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM entry_contents WHERE id IN (" + joinIds(contentIds) + ")");
+        }
+
+        statsService.recordBulkDeleted(user, countByProject(projectByEntry), bytes[0]);
+    }
+
+    private static Map<Long, Long> countByProject(Map<Long, Long> projectByEntry) {
+        Map<Long, Long> counts = new HashMap<>();
+        projectByEntry.values().forEach(projectId -> counts.merge(projectId, 1L, Long::sum));
+        return counts;
+    }
+
+    // ID 목록은 Long 값이므로 IN 절에 직접 넣어도 안전
+    private static String joinIds(Collection<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,37 @@
+package com.labnote.backend;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 노트 본문(HTML)만 따로 저장하는 테이블
+ * entries 테이블의 행 크기를 줄여서 목록/소유권 확인 쿼리가 본문을 읽지 않도록 분리했습니다.
+ * (Entry.body에서 LAZY로 참조하며, 본문이 필요한 API에서만 로딩됨)
+ */
+@Entity
+@Table(name = "entry_contents")
+@Getter
+@Setter
+@NoArgsConstructor
+public class EntryContent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "TEXT")
+    @Convert(converter = CompressedContentConverter.class) // 설정 시 압축하여 저장
+    private String content;
+
+    // [추가] 본문의 순수 텍스트 (검색용, ContentNormalizer가 저장 시 생성. null = 이전 노트, 백그라운드에서 채움)
+    @Lob
+    @Column(name = "plain_text", columnDefinition = "TEXT")
+    private String plainText;
+
+    public EntryContent(String content) {
+        this.content = content;
+    }
+}
@@ -0,0 +1,151 @@
+package com.labnote.backend;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기존 entries.content 컬럼의 본문을 entry_contents 테이블로 옮기는 Flyway 마이그레이션 (V5)
+ * - V4가 content_id 컬럼을 추가한 뒤, entries 테이블에 content 컬럼이 남아 있을 때만 옮깁니다.
+ * - 본문은 저장된 형태(압축 여부 포함) 그대로 복사합니다.
+ * - 모든 행을 옮긴 뒤 entries.content 컬럼을 삭제하고, V1과 같은 content_id 제약 조건(UNIQUE, FK)을 추가합니다.
+ * (Spring Boot가 JavaMigration 빈을 Flyway에 등록하므로 DataSource/JdbcTemplate 빈 대신 Flyway의 연결을 사용)
+ */
+@Component
+public class EntryContentMigration implements JavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(EntryContentMigration.class);
+
+    @Value("${entry.content-migration.batch-size:200}")
+    private int batchSize;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("5");
+    }
+
+    @Override
+    public String getDescription() {
+        return "move entry content";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        if (!hasColumn(jdbcTemplate, "entries", "content")) {
+            return;
+        }
+
+        long migrated = 0;
+        int count;
+        while ((count = migrateBatch(jdbcTemplate)) > 0) {
+            migrated += count;
+        }
+
+        jdbcTemplate.execute("ALTER TABLE entries DROP COLUMN content");
+        if (!hasUniqueIndex(jdbcTemplate, "entries", "content_id")) {
+            jdbcTemplate.execute("ALTER TABLE entries ADD CONSTRAINT UKedj20nrvfkxjicl1lh1ck0uni UNIQUE (content_id)");
+        }
+        if (!hasForeignKey(jdbcTemplate, "entries", "content_id")) {
+            jdbcTemplate.execute("ALTER TABLE entries ADD CONSTRAINT FKnnha741sxc4onl2bktopeyftv " +
+                    "FOREIGN KEY (content_id) REFERENCES entry_contents (id)");
+        }
+        log.info("노트 본문 마이그레이션 완료: {}개 행을 entry_contents로 이동", migrated);
+    }
+
+    private int migrateBatch(JdbcTemplate jdbcTemplate) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, content FROM entries WHERE content_id IS NULL AND content IS NOT NULL ORDER BY id LIMIT ?",
+                batchSize);
+
+        for (Map<String, Object> row : rows) {
+            Object content = row.get("content");
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement ps = connection.prepareStatement(
+                        "INSERT INTO entry_contents (content) VALUES (?)", Statement.RETURN_GENERATED_KEYS);
+                ps.setObject(1, content);
+                return ps;
+            }, keyHolder);
+            jdbcTemplate.update("UPDATE entries SET content_id = ? WHERE id = ?",
+                    keyHolder.getKey().longValue(), row.get("id"));
+        }
+        return rows.size();
+    }
+
+    // DB마다 식별자 대소문자 처리가 달라서 둘 다 확인
+    private static boolean hasColumn(JdbcTemplate jdbcTemplate, String table, String column) {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String[] names : new String[][]{{table, column}, {table.toUpperCase(), column.toUpperCase()}}) {
+                try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null, names[0], names[1])) {
+                    if (columns.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private static boolean hasUniqueIndex(JdbcTemplate jdbcTemplate, String table, String column) {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String name : new String[]{table, table.toUpperCase()}) {
+                try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), null, name, true, false)) {
+                    while (indexes.next()) {
+                        if (column.equalsIgnoreCase(indexes.getString("COLUMN_NAME"))) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private static boolean hasForeignKey(JdbcTemplate jdbcTemplate, String table, String column) {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String name : new String[]{table, table.toUpperCase()}) {
+                try (ResultSet keys = metaData.getImportedKeys(connection.getCatalog(), null, name)) {
+                    while (keys.next()) {
+                        if (column.equalsIgnoreCase(keys.getString("FKCOLUMN_NAME"))) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+}
@@ -1,20 +1,53 @@
 package com.labnote.backend;
 
 import com.fasterxml.jackson.databind.ObjectMapper; // JSON 문자열을 객체로 변환하기 위해
-import com.vladsch.flexmark.html2md.converter.FlexmarkHtmlConverter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile; // 파일 수신을 위해
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException; // IOException 처리
 import java.security.Principal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 자동 저장(autosave) 요청 DTO
+ * 변경된 필드만 담아서 보내며, null인 필드는 기존 값을 유지합니다.
+ */
+class AutosaveRequest {
+    public String title;
+    public String content;
+    public String researcher;
+    public List<String> tags;
+    public LocalDateTime baseUpdatedAt; // 클라이언트가 마지막으로 받은 updatedAt (충돌 감지용)
+    public String sessionId;            // 에디터 세션 ID (같은 세션의 버전은 하나로 합침)
+}
+
+/**
+ * [추가] 노트 일괄 작업 요청 DTO (POST /api/entries/bulk)
+ */
+class BulkRequest {
+    public List<Long> ids;
+    public String operation;   // move | addTags | removeTags | delete
+    public Long projectId;     // move 대상 프로젝트 (null이면 미분류)
+    public List<String> tags;  // addTags / removeTags 대상 태그
+    public boolean snapshot;   // true면 변경 전 상태를 버전으로 저장
+}
 
 @RestController
 @RequestMapping("/api/entries")
@@ -37,9 +70,55 @@ public class EntryController {
     
         @Autowired
         private EntryVersionRepository entryVersionRepository; // [추가]
+
+        @Autowired
+        private TagService tagService; // [추가] 태그 사전 연결
+
+        @Autowired
+        private StatsService statsService; // [추가] 대시보드 통계 카운터
+
+        @Autowired
+        private VersionSearchService versionSearchService; // [추가] 버전 기록 검색 색인
+
+        @Autowired
+        private HeavyTaskExecutors heavyTaskExecutors; // [추가] 검색/내보내기/업로드 전용 스레드 풀
+
+        @Autowired
+        private EntryStreamingService entryStreamingService; // [추가] 목록 스트리밍 응답
+
+        @Autowired
+        private EntrySearchService entrySearchService; // [추가] 검색 (결과 캐시 사용)
+
+        @Autowired
+        private SearchResultCache searchResultCache; // [추가] 노트가 바뀌면 검색 결과 캐시 무효화
+
+        @Autowired
+        private EntryLinkService entryLinkService; // [추가] 노트 간 링크(백링크) 색인
+
+        @Autowired
+        private NearDuplicateService nearDuplicateService; // [추가] 유사 노트 탐지
+
+        @Autowired
+        private EntryBulkService entryBulkService; // [추가] 일괄 작업
+
+        @Autowired
+        private MarkdownConverter markdownConverter; // [추가] 공유 Markdown 변환기
+
+        @Autowired
+        private EntryViewTracker entryViewTracker; // [추가] 최근 본 노트 / 많이 본 노트
+
+        @Autowired
+        private EntryShareService entryShareService; // [추가] 공유 링크 스냅샷
     
         // [추가] JSON 문자열 <-> Java 객체 변환기
         private final ObjectMapper objectMapper = new ObjectMapper();
+
+        // [추가] 최근 본 노트 / 많이 본 노트 목록의 최대 개수
+        private static final int MAX_VIEW_LIST_SIZE = 50;
+
+        // [추가] 자동 저장 시 같은 세션/시간 창 안의 버전을 하나로 합치는 기준 (분)
+        @Value("${entry.autosave.coalesce-window-minutes:10}")
+        private long autosaveCoalesceWindowMinutes;
     
         // --- [추가] 현재 로그인한 User 객체를 가져오는 헬퍼 메소드 ---
         private com.labnote.backend.User getAuthenticatedUser(Principal principal) {
@@ -50,7 +129,8 @@ public class EntryController {
     
         // 1. (C) 생성 [수정]
         @PostMapping
-        public Entry createEntry(@RequestParam("entry") String entryJson,
+        @Transactional
+        public EntryResponse createEntry(@RequestParam("entry") String entryJson,
                                  @RequestParam(value = "projectId", required = false) Long projectId,
                                  @RequestParam(value = "file", required = false) MultipartFile file,
                                  Principal principal) throws IOException, AccessDeniedException { // [수정]
@@ -74,60 +154,118 @@ public class EntryController {
                 String storedFileName = fileStorageService.storeFile(file);
                 entry.setAttachedFilePath(storedFileName);
             }
-    
-            return entryRepository.save(entry);
+
+            // [추가] 태그 이름을 태그 사전과 연결
+            tagService.replaceTags(entry, user, entry.getTags());
+
+            // [추가] 본문 HTML 정리 + 순수 텍스트/단어 수/해시 생성
+            entry.applyNormalizedContent(ContentNormalizer.normalize(entry.getContent()));
+
+            entry.setLinksIndexed(true);
+            Entry savedEntry = entryRepository.save(entry);
+            entryLinkService.updateLinks(savedEntry); // [추가] 노트 링크 색인
+            nearDuplicateService.updateSignature(savedEntry); // [추가] 유사 노트 서명
+            statsService.recordCreated(user, savedEntry.getProject(), statsService.storageOf(savedEntry)); // [추가] 통계 카운터
+            searchResultCache.invalidate(user.getId()); // [추가] 검색 결과 캐시 무효화
+            return EntryResponse.from(savedEntry); // [수정] 트랜잭션 안에서 응답 DTO로 변환
         }
     
         // 2. (R) 전체/필터/검색 조회 [핵심 수정]
         @GetMapping
-        public List<Entry> getAllEntries(
+        @Transactional(readOnly = true) // [추가] 읽기 전용 -> 복제본 DB 사용 가능
+        public CompletableFuture<ResponseEntity<StreamingResponseBody>> getAllEntries(
                 // [수정] 2개의 옵셔널 파라미터를 받도록 변경
                 @RequestParam(value = "projectId", defaultValue = "all") String projectId,
                 @RequestParam(value = "search", required = false) String search,
+                @RequestParam(value = "tags", required = false) List<String> tags, // [추가] 태그 필터 (모두 포함)
                 Principal principal) {
     
             com.labnote.backend.User user = getAuthenticatedUser(principal);
     
             // 1순위: 검색어(search)가 있으면, 검색을 최우선으로 실행
+            // [수정] LIKE 검색은 무거우므로 검색 전용 스레드 풀에서 실행 (가득 차면 503)
             if (search != null && !search.trim().isEmpty()) {
-                return entryRepository.searchByUser(user, search.trim());
+                String query = search.trim();
+                return heavyTaskExecutors.submitReadOnly(HeavyTaskExecutors.SEARCH,
+                        () -> entrySearchService.search(user, query))
+                        .thenApply(entries -> jsonResponse(entryStreamingService.write(entries)));
             }
-    
-            // 2순위: 검색어가 없고, projectId로 필터링
-            // '미분류'
-            if ("uncategorized".equals(projectId)) {
-                return entryRepository.findByProjectIsNullAndUser(user);
+
+            // [추가] 태그 필터가 있으면 태그 사전 ID로 JOIN 하여 조회
+            if (tags != null && !tags.isEmpty()) {
+                List<Long> tagIds = tagService.resolveTagIds(user, tags);
+                List<EntryResponse> entries = tagIds.isEmpty() ? List.of()
+                        : EntryResponse.fromAll(entryRepository.findByUserAndAllTagIds(user, tagIds, tagIds.size()));
+                return CompletableFuture.completedFuture(jsonResponse(entryStreamingService.write(entries)));
             }
-    
-            // '특정 프로젝트 ID'
-            if (!"all".equals(projectId)) {
-                try {
-                    Long pid = Long.parseLong(projectId);
-                    return entryRepository.findByProjectIdAndUser(pid, user);
-                } catch (NumberFormatException e) {
-                    // projectId가 숫자가 아니면 '전체'로 간주
-                    return entryRepository.findByUser(user);
+
+            // [수정] 프로젝트별/전체 목록은 노트 수에 비례해 커지므로 DB 커서로 읽으며 스트리밍
+            return CompletableFuture.completedFuture(jsonResponse(entryStreamingService.stream(repository -> {
+                // 2순위: 검색어가 없고, projectId로 필터링
+                // '미분류'
+                if ("uncategorized".equals(projectId)) {
+                    return repository.streamByProjectIsNullAndUser(user);
                 }
-            }
-    
-            // 3순위: '전체' (search 없고, projectId == 'all')
-            return entryRepository.findByUser(user);
+
+                // '특정 프로젝트 ID'
+                if (!"all".equals(projectId)) {
+                    try {
+                        Long pid = Long.parseLong(projectId);
+                        return repository.streamByProjectIdAndUser(pid, user);
+                    } catch (NumberFormatException e) {
+                        // projectId가 숫자가 아니면 '전체'로 간주
+                        return repository.streamByUser(user);
+                    }
+                }
+
+                // 3순위: '전체' (search 없고, projectId == 'all')
+                return repository.streamByUser(user);
+            })));
+        }
+
+        private ResponseEntity<StreamingResponseBody> jsonResponse(StreamingResponseBody body) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
         }
     
         // 3. (R) 단일 조회 [수정]
         @GetMapping("/{id}")
-        public ResponseEntity<Entry> getEntryById(@PathVariable Long id, Principal principal) throws AccessDeniedException { // [수정]
+        @Transactional(readOnly = true) // [추가] 읽기 전용 -> 복제본 DB 사용 가능
+        public ResponseEntity<EntryResponse> getEntryById(@PathVariable Long id, Principal principal) throws AccessDeniedException { // [수정]
             com.labnote.backend.User user = getAuthenticatedUser(principal);
             // [수정] ID와 User로 노트 소유권 확인
             Entry entry = entryRepository.findByIdAndUser(id, user)
                     .orElseThrow(() -> new AccessDeniedException("접근 권TOC한이 없거나 존재하지 않는 노트입니다."));
     
-            return ResponseEntity.ok(entry);
+            entryViewTracker.recordView(user.getId(), entry.getId()); // [추가] 조회 기록 (DB에는 몇 초마다 모아서 반영)
+            return ResponseEntity.ok(EntryResponse.from(entry));
+        }
+
+        // [추가] 최근 본 노트 (메모리의 조회 기록에서 바로 응답)
+        @GetMapping("/recent")
+        @Transactional(readOnly = true)
+        public ResponseEntity<?> getRecentlyViewed(@RequestParam(value = "limit", defaultValue = "10") int limit, Principal principal) {
+            if (limit < 1 || limit > MAX_VIEW_LIST_SIZE) {
+                return ResponseEntity.badRequest().body(Map.of("message", "limit은 1 이상 " + MAX_VIEW_LIST_SIZE + " 이하여야 합니다."));
+            }
+            com.labnote.backend.User user = getAuthenticatedUser(principal);
+            return ResponseEntity.ok(entryViewTracker.recent(user, limit));
+        }
+
+        // [추가] 많이 본 노트 (조회 수 순)
+        @GetMapping("/most-viewed")
+        @Transactional(readOnly = true)
+        public ResponseEntity<?> getMostViewed(@RequestParam(value = "limit", defaultValue = "10") int limit, Principal principal) {
+            if (limit < 1 || limit > MAX_VIEW_LIST_SIZE) {
+                return ResponseEntity.badRequest().body(Map.of("message", "limit은 1 이상 " + MAX_VIEW_LIST_SIZE + " 이하여야 합니다."));
+            }
+            com.labnote.backend.User user = getAuthenticatedUser(principal);
+            return ResponseEntity.ok(entryViewTracker.mostViewed(user, limit));
         }
     
         // 4. (U) 수정 [수정]
         @PutMapping("/{id}")
-        public ResponseEntity<Entry> updateEntry(@PathVariable Long id,
+        @Transactional
+        public ResponseEntity<EntryResponse> updateEntry(@PathVariable Long id,
                                                  @RequestParam("entry") String entryJson,
                                                  @RequestParam(value = "projectId", required = false) Long projectId,
                                                  @RequestParam(value = "file", required = false) MultipartFile file,
@@ -138,24 +276,33 @@ public class EntryController {
             // [수정] ID와 User로 기존 노트 소유권 확인
             Entry existingEntry = entryRepository.findByIdAndUser(id, user)
                     .orElseThrow(() -> new AccessDeniedException("접근 권한이 없거나 존재하지 않는 노트입니다."));
+
+            Entry entryDetails = objectMapper.readValue(entryJson, Entry.class);
+            ContentNormalizer.NormalizedContent normalized = ContentNormalizer.normalize(entryDetails.getContent());
+
+            // [추가] 바뀐 내용이 없으면 버전도 만들지 않고 DB에 아무것도 쓰지 않음
+            if ((file == null || file.isEmpty())
+                    && Objects.equals(existingEntry.getTitle(), entryDetails.getTitle())
+                    && Objects.equals(existingEntry.getResearcher(), entryDetails.getResearcher())
+                    && Objects.equals(existingEntry.getTags(), entryDetails.getTags())
+                    && Objects.equals(projectIdOf(existingEntry), projectId)
+                    && isSameContent(existingEntry, normalized)) {
+                return ResponseEntity.ok(EntryResponse.from(existingEntry));
+            }
     
             // --- [추가] 버전 기록 생성 ---
-            EntryVersion newVersion = new EntryVersion();
-            newVersion.setEntry(existingEntry);
-            newVersion.setTitle(existingEntry.getTitle());
-            newVersion.setContent(existingEntry.getContent());
-            newVersion.setResearcher(existingEntry.getResearcher());
-            newVersion.setTags(new ArrayList<>(existingEntry.getTags())); // 현재 태그 복사
-            existingEntry.getVersions().add(newVersion);
+            recordVersion(existingEntry, null);
             // --- 버전 기록 끝 ---
-    
-            Entry entryDetails = objectMapper.readValue(entryJson, Entry.class);
+
+            // [추가] 통계 카운터용 변경 전 상태
+            Project previousProject = existingEntry.getProject();
+            long previousStorage = statsService.storageOf(existingEntry);
     
             // 필드 업데이트
             existingEntry.setTitle(entryDetails.getTitle());
-            existingEntry.setContent(entryDetails.getContent());
+            existingEntry.applyNormalizedContent(normalized); // [수정] 정리된 HTML + 순수 텍스트/해시
             existingEntry.setResearcher(entryDetails.getResearcher());
-            existingEntry.setTags(entryDetails.getTags());
+            tagService.replaceTags(existingEntry, user, entryDetails.getTags());
     
             // 프로젝트 업데이트 (소유권 확인 포함)
             if (projectId != null) {
@@ -172,11 +319,18 @@ public class EntryController {
             }
     
             Entry updatedEntry = entryRepository.save(existingEntry);
-            return ResponseEntity.ok(updatedEntry);
+            entryLinkService.updateLinks(updatedEntry); // [추가] 노트 링크 색인
+            nearDuplicateService.updateSignature(updatedEntry); // [추가] 유사 노트 서명
+            statsService.recordMoved(user, previousProject, updatedEntry.getProject());
+            statsService.recordEdited(user, updatedEntry.getProject(), statsService.storageOf(updatedEntry) - previousStorage);
+            searchResultCache.invalidate(user.getId()); // [추가] 검색 결과 캐시 무효화
+            entryShareService.refresh(updatedEntry); // [추가] 공유 중이면 스냅샷 다시 만들기 (커밋 후)
+            return ResponseEntity.ok(EntryResponse.from(updatedEntry));
         }
 
     // 5. (D) 삭제 [수정]
     @DeleteMapping("/{id}")
+    @Transactional
     public ResponseEntity<Void> deleteEntry(@PathVariable Long id, Principal principal) throws AccessDeniedException { // [수정]
         com.labnote.backend.User user = getAuthenticatedUser(principal);
 
@@ -184,61 +338,160 @@ public class EntryController {
         Entry entry = entryRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new AccessDeniedException("접근 권한이 없거나 존재하지 않는 노트입니다."));
 
+        tagService.releaseTags(entry, user); // [추가] 태그 사용 횟수 감소
+        statsService.recordDeleted(user, entry.getProject(), statsService.storageOf(entry)); // [추가] 통계 카운터
+        searchResultCache.invalidate(user.getId()); // [추가] 검색 결과 캐시 무효화
+        entryShareService.entriesDeleted(List.of(entry.getId())); // [추가] 공유 링크 막기
+        entryViewTracker.entriesDeleted(user.getId(), List.of(entry.getId())); // [추가] 조회 기록에서 제외 (커밋 후)
         entryRepository.delete(entry);
         return ResponseEntity.noContent().build();
     }
 
+    // [추가] 일괄 작업 (이동, 태그 추가/제거, 삭제) - 한 번의 요청, 한 트랜잭션
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulkUpdate(@RequestBody BulkRequest request, Principal principal) {
+        com.labnote.backend.User user = getAuthenticatedUser(principal);
+        try {
+            return ResponseEntity.ok(entryBulkService.apply(user, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
     // 6. [추가] 텍스트 에디터에서 이미지 업로드 처리
     @PostMapping("/images")
-    public ResponseEntity<ImageUploadResponse> uploadImage(@RequestParam("image") MultipartFile image, Principal principal) {
+    public CompletableFuture<ResponseEntity<ImageUploadResponse>> uploadImage(@RequestParam("image") MultipartFile image, Principal principal) {
         // 인증된 사용자인지 확인 (업로드 권한 체크)
         getAuthenticatedUser(principal);
 
-        // 파일을 저장하고 저장된 파일명을 받음
-        String storedFileName = fileStorageService.storeFile(image);
+        // [수정] 파일 저장은 업로드 전용 스레드 풀에서 실행 (가득 차면 503)
+        return heavyTaskExecutors.submit(HeavyTaskExecutors.UPLOAD, () -> {
+            // 파일을 저장하고 저장된 파일명을 받음
+            String storedFileName = fileStorageService.storeFile(image);
 
-        // 클라이언트에게 반환할 전체 URL 구성
-        // (주의: 실제 프로덕션에서는 request에서 호스트명을 동적으로 가져오는 것이 좋음)
-        String imageUrl = "http://localhost:8080/uploads/" + storedFileName;
+            // 클라이언트에게 반환할 전체 URL 구성
+            // (주의: 실제 프로덕션에서는 request에서 호스트명을 동적으로 가져오는 것이 좋음)
+            String imageUrl = "http://localhost:8080/uploads/" + storedFileName;
 
-        // URL을 담은 응답 객체 반환
-        return ResponseEntity.ok(new ImageUploadResponse(imageUrl));
+            // URL을 담은 응답 객체 반환
+            return ResponseEntity.ok(new ImageUploadResponse(imageUrl));
+        });
     }
 
     // 7. [추가] 마크다운으로 내보내기
     @GetMapping("/{id}/export/markdown")
-    public ResponseEntity<String> exportToMarkdown(@PathVariable Long id, Principal principal) throws AccessDeniedException {
+    @Transactional(readOnly = true) // [추가] 읽기 전용 -> 복제본 DB 사용 가능
+    public CompletableFuture<ResponseEntity<String>> exportToMarkdown(@PathVariable Long id, Principal principal) throws AccessDeniedException {
         com.labnote.backend.User user = getAuthenticatedUser(principal);
         Entry entry = entryRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new AccessDeniedException("접근 권한이 없거나 존재하지 않는 노트입니다."));
 
-        // HTML을 Markdown으로 변환
         String htmlContent = entry.getContent();
-        String markdownContent = FlexmarkHtmlConverter.builder().build().convert(htmlContent);
 
         // 파일 이름으로 사용할 수 있도록 제목을 slugify
         String fileName = entry.getTitle().replaceAll("[^a-zA-Z0-9가-힣]", "-") + ".md";
 
-        return ResponseEntity.ok()
+        // [수정] HTML -> Markdown 변환은 내보내기 전용 스레드 풀에서 실행 (가득 차면 503)
+        return heavyTaskExecutors.submit(HeavyTaskExecutors.EXPORT, () -> ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
                 .header(HttpHeaders.CONTENT_TYPE, "text/markdown; charset=UTF-8")
-                .body(markdownContent);
+                .body(markdownConverter.toMarkdown(htmlContent)));
     }
 
     // 8. [추가] 버전 기록 조회
     @GetMapping("/{id}/versions")
-    public ResponseEntity<List<EntryVersion>> getVersions(@PathVariable Long id, Principal principal) throws AccessDeniedException {
+    @Transactional(readOnly = true) // [추가] 읽기 전용 -> 복제본 DB 사용 가능
+    public ResponseEntity<List<EntryVersionResponse>> getVersions(@PathVariable Long id, Principal principal) throws AccessDeniedException {
         com.labnote.backend.User user = getAuthenticatedUser(principal);
         Entry entry = entryRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new AccessDeniedException("접근 권한이 없거나 존재하지 않는 노트입니다."));
 
         List<EntryVersion> versions = entryVersionRepository.findByEntryOrderByVersionTimestampDesc(entry);
-        return ResponseEntity.ok(versions);
+        return ResponseEntity.ok(versions.stream().map(EntryVersionResponse::from).toList());
+    }
+
+    // [추가] 버전 기록 검색 (과거 버전의 제목/본문/태그에서 검색)
+    @GetMapping("/versions/search")
+    @Transactional(readOnly = true)
+    public CompletableFuture<ResponseEntity<?>> searchVersions(@RequestParam("query") String query, Principal principal) {
+        com.labnote.backend.User user = getAuthenticatedUser(principal);
+        if (query.trim().isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of("message", "검색어를 입력해 주세요.")));
+        }
+        // [수정] 검색 전용 스레드 풀에서 실행 (가득 차면 503)
+        return heavyTaskExecutors.submitReadOnly(HeavyTaskExecutors.SEARCH,
+                () -> ResponseEntity.ok(versionSearchService.search(user, query)));
+    }
+
+    // [추가] 이 노트를 링크하는 노트 목록 (백링크)
+    @GetMapping("/{id}/backlinks")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<EntryLinkNode>> getBacklinks(@PathVariable Long id, Principal principal) throws AccessDeniedException {
+        com.labnote.backend.User user = getAuthenticatedUser(principal);
+        Entry entry = entryRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new AccessDeniedException("접근 권한이 없거나 존재하지 않는 노트입니다."));
+
+        return ResponseEntity.ok(entryLinkService.getBacklinks(entry));
+    }
+
+    // [추가] 링크 그래프에서 이 노트 주변(depth 단계 이내)의 노트와 링크
+    @GetMapping("/{id}/graph")
+    @Transactional(readOnly = true)
+    public ResponseEntity<EntryGraph> getGraph(@PathVariable Long id,
+                                               @RequestParam(value = "depth", defaultValue = "1") int depth,
+                                               Principal principal) throws AccessDeniedException {
+        com.labnote.backend.User user = getAuthenticatedUser(principal);
+        Entry entry = entryRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new AccessDeniedException("접근 권한이 없거나 존재하지 않는 노트입니다."));
+
+        return ResponseEntity.ok(entryLinkService.getNeighborhood(entry, depth));
+    }
+
+    // [추가] 내용이 거의 같은 노트 목록 (MinHash 유사도 threshold 이상)
+    @GetMapping("/{id}/near-duplicates")
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getNearDuplicates(@PathVariable Long id,
+                                               @RequestParam(value = "threshold", required = false) Double threshold,
+                                               Principal principal) throws AccessDeniedException {
+        com.labnote.backend.User user = getAuthenticatedUser(principal);
+        Entry entry = entryRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new AccessDeniedException("접근 권한이 없거나 존재하지 않는 노트입니다."));
+        // [수정] LSH 후보가 신뢰할 만한 유사도(MIN_THRESHOLD)보다 낮은 값은 거부
+        if (threshold != null && (threshold < NearDuplicateService.MIN_THRESHOLD || threshold > 1)) {
+            return ResponseEntity.badRequest().body(Map.of("message",
+                    "threshold는 " + NearDuplicateService.MIN_THRESHOLD + " 이상 1 이하여야 합니다."));
+        }
+
+        return ResponseEntity.ok(nearDuplicateService.findNearDuplicates(entry, threshold));
+    }
+
+    // [추가] 읽기 전용 공유 링크 만들기 (이미 있으면 그 링크를 반환)
+    @PostMapping("/{id}/share")
+    @Transactional
+    public ResponseEntity<ShareResponse> shareEntry(@PathVariable Long id, Principal principal) throws AccessDeniedException {
+        com.labnote.backend.User user = getAuthenticatedUser(principal);
+        Entry entry = entryRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new AccessDeniedException("접근 권한이 없거나 존재하지 않는 노트입니다."));
+
+        return ResponseEntity.ok(ShareResponse.from(entryShareService.share(entry)));
+    }
+
+    // [추가] 공유 링크 취소
+    @DeleteMapping("/{id}/share")
+    @Transactional
+    public ResponseEntity<Void> revokeShare(@PathVariable Long id, Principal principal) throws AccessDeniedException {
+        com.labnote.backend.User user = getAuthenticatedUser(principal);
+        Entry entry = entryRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new AccessDeniedException("접근 권한이 없거나 존재하지 않는 노트입니다."));
+
+        entryShareService.revoke(entry);
+        return ResponseEntity.noContent().build();
     }
 
     // 9. [추가] 특정 버전으로 복원
     @PostMapping("/{id}/versions/{versionId}/restore")
-    public ResponseEntity<Entry> restoreVersion(@PathVariable Long id, @PathVariable Long versionId, Principal principal) throws AccessDeniedException {
+    @Transactional
+    public ResponseEntity<EntryResponse> restoreVersion(@PathVariable Long id, @PathVariable Long versionId, Principal principal) throws AccessDeniedException {
         com.labnote.backend.User user = getAuthenticatedUser(principal);
         Entry entry = entryRepository.findByIdAndUser(id, user)
                 .orElseThrow(() -> new AccessDeniedException("접근 권한이 없거나 존재하지 않는 노트입니다."));
@@ -251,23 +504,146 @@ public class EntryController {
             throw new AccessDeniedException("해당 노트의 버전이 아닙니다.");
         }
 
+        // [추가] 현재 내용과 같은 버전이면 아무것도 쓰지 않음
+        ContentNormalizer.NormalizedContent normalized = ContentNormalizer.normalize(versionToRestore.getContent());
+        if (Objects.equals(entry.getTitle(), versionToRestore.getTitle())
+                && Objects.equals(entry.getResearcher(), versionToRestore.getResearcher())
+                && Objects.equals(entry.getTags(), versionToRestore.getTags())
+                && isSameContent(entry, normalized)) {
+            return ResponseEntity.ok(EntryResponse.from(entry));
+        }
+
         // 복원 직전의 상태를 또 다른 버전으로 저장 (안전장치)
-        EntryVersion preRestoreVersion = new EntryVersion();
-        preRestoreVersion.setEntry(entry);
-        preRestoreVersion.setTitle(entry.getTitle());
-        preRestoreVersion.setContent(entry.getContent());
-        preRestoreVersion.setResearcher(entry.getResearcher());
-        preRestoreVersion.setTags(new ArrayList<>(entry.getTags()));
-        entry.getVersions().add(preRestoreVersion);
+        recordVersion(entry, null);
+
+        long previousStorage = statsService.storageOf(entry); // [추가] 통계 카운터용
 
         // 선택한 버전의 내용으로 현재 엔트리를 덮어쓰기
         entry.setTitle(versionToRestore.getTitle());
-        entry.setContent(versionToRestore.getContent());
+        entry.applyNormalizedContent(normalized); // [수정] 정리된 HTML + 순수 텍스트/해시
         entry.setResearcher(versionToRestore.getResearcher());
-        entry.setTags(new ArrayList<>(versionToRestore.getTags()));
+        tagService.replaceTags(entry, user, versionToRestore.getTags());
 
         Entry updatedEntry = entryRepository.save(entry);
-        return ResponseEntity.ok(updatedEntry);
+        entryLinkService.updateLinks(updatedEntry); // [추가] 노트 링크 색인
+        nearDuplicateService.updateSignature(updatedEntry); // [추가] 유사 노트 서명
+        statsService.recordEdited(user, updatedEntry.getProject(), statsService.storageOf(updatedEntry) - previousStorage);
+        searchResultCache.invalidate(user.getId()); // [추가] 검색 결과 캐시 무효화
+        entryShareService.refresh(updatedEntry); // [추가] 공유 중이면 스냅샷 다시 만들기 (커밋 후)
+        return ResponseEntity.ok(EntryResponse.from(updatedEntry));
+    }
+
+    // 10. [추가] 자동 저장 (변경된 필드만 JSON으로 받음)
+    @PatchMapping("/{id}/autosave")
+    @Transactional
+    public ResponseEntity<?> autosaveEntry(@PathVariable Long id, @RequestBody AutosaveRequest request, Principal principal) throws AccessDeniedException {
+        com.labnote.backend.User user = getAuthenticatedUser(principal);
+        Entry entry = entryRepository.findByIdAndUser(id, user)
+                .orElseThrow(() -> new AccessDeniedException("접근 권한이 없거나 존재하지 않는 노트입니다."));
+
+        // 클라이언트가 보고 있던 버전 이후에 다른 곳에서 수정되었다면 덮어쓰지 않음
+        if (request.baseUpdatedAt != null && !isSameTimestamp(entry.getUpdatedAt(), request.baseUpdatedAt)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", "다른 곳에서 노트가 수정되었습니다. 최신 내용을 다시 불러와 주세요.",
+                            "updatedAt", entry.getUpdatedAt()));
+        }
+
+        boolean titleChanged = request.title != null && !request.title.equals(entry.getTitle());
+        // [수정] 본문은 정규화된 HTML의 해시로 비교
+        ContentNormalizer.NormalizedContent normalized = ContentNormalizer.normalize(request.content);
+        boolean contentChanged = normalized != null && !isSameContent(entry, normalized);
+        boolean researcherChanged = request.researcher != null && !request.researcher.equals(entry.getResearcher());
+        boolean tagsChanged = request.tags != null && !request.tags.equals(entry.getTags());
+
+        // 바뀐 내용이 없으면 DB에 아무것도 쓰지 않음
+        if (!titleChanged && !contentChanged && !researcherChanged && !tagsChanged) {
+            return ResponseEntity.ok(Map.of("id", entry.getId(), "updatedAt", entry.getUpdatedAt(), "versionCreated", false));
+        }
+
+        // 같은 편집 세션(또는 시간 창) 안에서는 첫 번째 자동 저장 때만 버전을 남김
+        boolean versionCreated = !isCoalescible(entry, request.sessionId);
+        if (versionCreated) {
+            recordVersion(entry, request.sessionId);
+        }
+
+        long bytesDelta = contentChanged ? StatsService.sizeOf(normalized.getHtml()) - StatsService.sizeOf(entry.getContent()) : 0;
+
+        // 변경된 필드만 반영 (Entry는 @DynamicUpdate이므로 바뀐 컬럼만 UPDATE 됨)
+        if (titleChanged) entry.setTitle(request.title);
+        if (contentChanged) {
+            entry.applyNormalizedContent(normalized);
+            entryLinkService.updateLinks(entry); // [추가] 노트 링크 색인
+            nearDuplicateService.updateSignature(entry); // [추가] 유사 노트 서명
+        }
+        if (researcherChanged) entry.setResearcher(request.researcher);
+        if (tagsChanged) tagService.replaceTags(entry, user, request.tags);
+
+        Entry savedEntry = entryRepository.saveAndFlush(entry);
+        statsService.recordEdited(user, savedEntry.getProject(), bytesDelta); // [추가] 통계 카운터
+        searchResultCache.invalidate(user.getId()); // [추가] 검색 결과 캐시 무효화
+        entryShareService.refresh(savedEntry); // [추가] 공유 중이면 스냅샷 다시 만들기 (커밋 후)
+        return ResponseEntity.ok(Map.of("id", savedEntry.getId(), "updatedAt", savedEntry.getUpdatedAt(), "versionCreated", versionCreated));
+    }
+
+    // --- [추가] 현재 노트 상태로 버전을 저장하고 버전 검색 색인에 반영 ---
+    private void recordVersion(Entry entry, String editSessionId) {
+        EntryVersion version = createVersionSnapshot(entry, editSessionId);
+        entry.getVersions().add(version);
+        entryVersionRepository.save(version); // ID 생성(IDENTITY)을 위해 바로 INSERT
+        versionSearchService.index(version);
+    }
+
+    // --- [추가] 현재 노트 상태로 버전 스냅샷 생성 ---
+    private EntryVersion createVersionSnapshot(Entry entry, String editSessionId) {
+        EntryVersion version = new EntryVersion();
+        version.setEntry(entry);
+        version.setTitle(entry.getTitle());
+        version.setContent(entry.getContent());
+        version.setResearcher(entry.getResearcher());
+        version.setTags(new ArrayList<>(entry.getTags())); // 현재 태그 복사
+        version.setEditSessionId(editSessionId);
+        version.setSearchIndexed(true);
+        return version;
+    }
+
+    // --- [추가] 정규화된 본문이 현재 본문과 같은지 (해시가 없는 이전 노트는 현재 본문을 정규화해서 비교) ---
+    private boolean isSameContent(Entry entry, ContentNormalizer.NormalizedContent normalized) {
+        if (normalized == null) {
+            return entry.getContent() == null;
+        }
+        String currentHash = entry.getContentHash();
+        if (currentHash == null) {
+            ContentNormalizer.NormalizedContent current = ContentNormalizer.normalize(entry.getContent());
+            currentHash = current == null ? null : current.getHash();
+        }
+        return normalized.getHash().equals(currentHash);
+    }
+
+    private Long projectIdOf(Entry entry) {
+        return entry.getProject() == null ? null : entry.getProject().getId();
+    }
+
+    // --- [추가] 마지막 버전이 같은 세션/시간 창 안에서 만들어졌다면 새 버전을 만들지 않음 ---
+    private boolean isCoalescible(Entry entry, String sessionId) {
+        Optional<EntryVersion> latest = entryVersionRepository.findFirstByEntryOrderByVersionTimestampDesc(entry);
+        if (latest.isEmpty()) {
+            return false;
+        }
+        EntryVersion latestVersion = latest.get();
+        LocalDateTime windowStart = LocalDateTime.now().minusMinutes(autosaveCoalesceWindowMinutes);
+        if (latestVersion.getVersionTimestamp().isBefore(windowStart)) {
+            return false;
+        }
+        // 세션 ID가 있으면 같은 세션일 때만 합침
+        return sessionId == null || sessionId.equals(latestVersion.getEditSessionId());
+    }
+
+    // DB 컬럼 정밀도(마이크로초) 차이를 무시하기 위해 밀리초 단위로 비교
+    private boolean isSameTimestamp(LocalDateTime a, LocalDateTime b) {
+        if (a == null || b == null) {
+            return Objects.equals(a, b);
+        }
+        return a.truncatedTo(ChronoUnit.MILLIS).equals(b.truncatedTo(ChronoUnit.MILLIS));
     }
 }
 
@@ -0,0 +1,25 @@
+package com.labnote.backend;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 노트 링크 그래프의 이웃 (시작 노트에서 depth 단계 이내)
+ */
+@Getter
+@AllArgsConstructor
+public class EntryGraph {
+
+    private List<EntryLinkNode> nodes;
+    private List<Edge> edges;
+    private boolean truncated; // 노드 수 제한으로 일부만 반환했는지 여부
+
+    @Getter
+    @AllArgsConstructor
+    public static class Edge {
+        private Long sourceId;
+        private Long targetId;
+    }
+}
@@ -0,0 +1,39 @@
+package com.labnote.backend;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * 노트 간 링크 (인접 리스트)
+ * 노트 본문(HTML)의 다른 노트 링크를 저장 시점에 EntryLinkService가 추출해서 채웁니다.
+ * 어느 쪽 노트가 삭제되어도 DB의 ON DELETE CASCADE로 함께 삭제됩니다.
+ */
+@Entity
+@Table(name = "entry_links",
+        uniqueConstraints = @UniqueConstraint(name = "uk_entry_links_source_target", columnNames = {"source_id", "target_id"}),
+        indexes = @Index(name = "idx_entry_links_target", columnList = "target_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class EntryLink {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 링크를 포함한 노트
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "source_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Entry source;
+
+    // 링크가 가리키는 노트
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "target_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Entry target;
+}
@@ -0,0 +1,25 @@
+package com.labnote.backend;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 백링크/그래프 응답용 노트 요약 (본문 없이 제목만)
+ */
+@Getter
+@Setter
+public class EntryLinkNode {
+
+    private Long id;
+    private String title;
+    private LocalDateTime updatedAt;
+    private Integer depth; // 그래프 조회 시 시작 노트로부터의 거리 (백링크 조회 시 null)
+
+    public EntryLinkNode(Long id, String title, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,232 @@
+package com.labnote.backend;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 노트 간 링크(백링크) 색인
+ * - 노트를 저장할 때 본문 HTML의 <a href>에서 다른 노트 링크를 추출해 entry_links와 비교하여 바뀐 부분만 반영합니다.
+ * - 백링크/그래프 조회는 entry_links와 노트 제목만 읽으며 본문은 읽지 않습니다.
+ * - 같은 사용자의 존재하는 노트를 가리키는 링크만 저장합니다.
+ */
+@Service
+public class EntryLinkService {
+
+    private static final Logger log = LoggerFactory.getLogger(EntryLinkService.class);
+
+    // 노트 링크 형식: .../entries/{id} 또는 ...?entryId={id} (예: http://localhost:3000/entries/12, /api/entries/12)
+    private static final Pattern ENTRY_LINK = Pattern.compile("(?:/entries/|[?&#]entry(?:Id)?=)(\\d{1,18})(?![\\d])");
+
+    public static final int MAX_DEPTH = 3;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${entry.links.max-graph-nodes:200}")
+    private int maxGraphNodes;
+
+    @Value("${entry.links.backfill-batch-size:100}")
+    private int backfillBatchSize;
+
+    @Value("${entry.links.backfill-pause-ms:200}")
+    private long backfillPauseMillis;
+
+    private volatile boolean backfillCompleted = false;
+
+    public EntryLinkService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 저장된 노트의 링크를 색인에 반영합니다. (노트 ID가 있어야 하므로 저장 후, 같은 트랜잭션 안에서 호출)
+     */
+    public void updateLinks(Entry entry) {
+        syncLinks(entry.getId(), entry.getUser().getId(), entry.getContent());
+        entry.setLinksIndexed(true);
+    }
+
+    /**
+     * 이 노트를 링크하는 노트 목록 (최근 수정순)
+     */
+    public List<EntryLinkNode> getBacklinks(Entry entry) {
+        return entryRepository.findBacklinkNodes(entry.getId());
+    }
+
+    /**
+     * 시작 노트에서 링크(양방향)를 따라 depth 단계 이내의 노트와 링크를 반환합니다.
+     */
+    public EntryGraph getNeighborhood(Entry root, int depth) {
+        int maxDepth = Math.max(1, Math.min(depth, MAX_DEPTH));
+        Map<Long, Integer> depths = new LinkedHashMap<>();
+        depths.put(root.getId(), 0);
+        Set<List<Long>> edges = new LinkedHashSet<>();
+        boolean truncated = false;
+
+        // 단계별 BFS - 한 단계에 쿼리 한 번
+        Set<Long> frontier = Set.of(root.getId());
+        for (int level = 1; level <= maxDepth && !frontier.isEmpty() && !truncated; level++) {
+            Set<Long> next = new LinkedHashSet<>();
+            for (long[] edge : findEdges(frontier)) {
+                for (long nodeId : edge) {
+                    if (!depths.containsKey(nodeId)) {
+                        if (depths.size() >= maxGraphNodes) {
+                            truncated = true;
+                            continue;
+                        }
+                        depths.put(nodeId, level);
+                        next.add(nodeId);
+                    }
+                }
+                if (depths.containsKey(edge[0]) && depths.containsKey(edge[1])) {
+                    edges.add(List.of(edge[0], edge[1]));
+                }
+            }
+            frontier = next;
+        }
+
+        // 마지막 단계 노드끼리의 링크는 위에서 조회되지 않으므로 따로 채움
+        if (!frontier.isEmpty()) {
+            for (long[] edge : findEdges(frontier)) {
+                if (depths.containsKey(edge[0]) && depths.containsKey(edge[1])) {
+                    edges.add(List.of(edge[0], edge[1]));
+                }
+            }
+        }
+
+        List<EntryLinkNode> nodes = new ArrayList<>(entryRepository.findLinkNodes(root.getUser(), depths.keySet()));
+        nodes.forEach(node -> node.setDepth(depths.get(node.getId())));
+        nodes.sort(Comparator.comparing(EntryLinkNode::getDepth).thenComparing(EntryLinkNode::getId));
+        List<EntryGraph.Edge> edgeList = edges.stream()
+                .map(edge -> new EntryGraph.Edge(edge.get(0), edge.get(1)))
+                .toList();
+        return new EntryGraph(nodes, edgeList, truncated);
+    }
+
+    /**
+     * 링크가 색인되지 않은 기존 노트를 조금씩 반영합니다. 더 이상 대상이 없으면 멈춥니다.
+     */
+    @Scheduled(initialDelayString = "${entry.links.backfill-initial-delay-ms:60000}",
+            fixedDelayString = "${entry.links.backfill-interval-ms:600000}")
+    public void backfill() {
+        if (backfillCompleted) {
+            return;
+        }
+        long indexed = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> backfillBatch());
+            if (count == null || count == 0) {
+                break;
+            }
+            indexed += count;
+            pause();
+        }
+        if (indexed > 0) {
+            log.info("노트 링크 색인: 기존 노트 {}개 반영", indexed);
+        }
+        backfillCompleted = true;
+    }
+
+    private int backfillBatch() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT e.id, e.user_id, c.content FROM entries e LEFT JOIN entry_contents c ON c.id = e.content_id" +
+                " WHERE e.links_indexed IS NULL OR e.links_indexed = FALSE ORDER BY e.id LIMIT ?", backfillBatchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        for (Map<String, Object> row : rows) {
+            syncLinks(((Number) row.get("id")).longValue(), ((Number) row.get("user_id")).longValue(),
+                    ContentCompressor.decode((String) row.get("content")));
+        }
+        String ids = rows.stream().map(row -> String.valueOf(row.get("id"))).collect(Collectors.joining(","));
+        jdbcTemplate.update("UPDATE entries SET links_indexed = TRUE WHERE id IN (" + ids + ")");
+        return rows.size();
+    }
+
+    // 본문의 링크와 저장된 링크를 비교해서 추가/삭제된 링크만 반영
+    private void syncLinks(long sourceId, long userId, String html) {
+        Set<Long> targets = extractTargetIds(html);
+        targets.remove(sourceId);
+        if (!targets.isEmpty()) {
+            // 같은 사용자의 존재하는 노트만
+            targets = new HashSet<>(jdbcTemplate.queryForList(
+                    "SELECT id FROM entries WHERE user_id = ? AND id IN (" + joinIds(targets) + ")", Long.class, userId));
+        }
+
+        Set<Long> current = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT target_id FROM entry_links WHERE source_id = ?", Long.class, sourceId));
+
+        Set<Long> removed = new HashSet<>(current);
+        removed.removeAll(targets);
+        if (!removed.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM entry_links WHERE source_id = ? AND target_id IN (" + joinIds(removed) + ")", sourceId);
+        }
+
+        List<Long> added = targets.stream().filter(id -> !current.contains(id)).toList();
+        if (!added.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO entry_links (source_id, target_id) VALUES (?, ?)", added, added.size(),
+                    (ps, targetId) -> {
+                        ps.setLong(1, sourceId);
+                        ps.setLong(2, targetId);
+                    });
+        }
+    }
+
+    private List<long[]> findEdges(Set<Long> nodeIds) {
+        String ids = joinIds(nodeIds);
+        return jdbcTemplate.query(
+                "SELECT source_id, target_id FROM entry_links WHERE source_id IN (" + ids + ") OR target_id IN (" + ids + ")",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+    }
+
+    /**
+     * HTML 본문의 링크(<a href>)에서 노트 ID를 추출합니다.
+     */
+    static Set<Long> extractTargetIds(String html) {
+        Set<Long> ids = new LinkedHashSet<>();
+        if (html == null || !html.contains("href")) {
+            return ids;
+        }
+        for (Element link : Jsoup.parse(html).select("a[href]")) {
+            Matcher matcher = ENTRY_LINK.matcher(link.attr("href"));
+            if (matcher.find()) {
+                ids.add(Long.parseLong(matcher.group(1)));
+            }
+        }
+        return ids;
+    }
+
+    // ID 목록은 Long 값이므로 IN 절에 직접 넣어도 안전
+    private static String joinIds(Collection<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private void pause() {
+        if (backfillPauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(backfillPauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
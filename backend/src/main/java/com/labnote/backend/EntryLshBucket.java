@@ -0,0 +1,40 @@
+package com.labnote.backend;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * MinHash 서명의 LSH 버킷 (밴드마다 한 행)
+ * 같은 (user_id, band, bucket_hash)를 가진 노트가 유사 노트 후보가 됩니다.
+ */
+@Entity
+@Table(name = "entry_lsh_buckets", indexes = {
+        @Index(name = "idx_entry_lsh_buckets_bucket", columnList = "user_id, band, bucket_hash")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class EntryLshBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "entry_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Entry entry;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private int band;
+
+    @Column(name = "bucket_hash", nullable = false)
+    private long bucketHash;
+}
@@ -1,25 +1,75 @@
 package com.labnote.backend;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional; // Optional 임포트 확인 (findByIdAndUser 때문에)
+import java.util.stream.Stream;
 
 public interface EntryRepository extends JpaRepository<Entry, Long> {
 
     // (기존 메소드들 - findByProjectIdAndUser, findByProjectIsNullAndUser, findByUser, findByIdAndUser)
+    // [수정] 목록 조회는 미리보기에 본문이 필요하므로 본문(body)을 한 번에 JOIN 해서 가져옴 (N+1 방지)
+    @EntityGraph(attributePaths = {"body"})
     List<Entry> findByProjectIdAndUser(Long projectId, User user);
+    @EntityGraph(attributePaths = {"body"})
     List<Entry> findByProjectIsNullAndUser(User user);
+    @EntityGraph(attributePaths = {"body"})
     List<Entry> findByUser(User user);
+
+    // [추가] 스트리밍 목록 조회 (EntryStreamingService) - 커서로 조금씩 읽어서 한 건씩 직렬화
+    // (읽기 전용 트랜잭션 안에서만 사용 가능, 사용 후 Stream을 닫아야 함)
+    @EntityGraph(attributePaths = {"body"})
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Entry> streamByProjectIdAndUser(Long projectId, User user);
+    @EntityGraph(attributePaths = {"body"})
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Entry> streamByProjectIsNullAndUser(User user);
+    @EntityGraph(attributePaths = {"body"})
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Entry> streamByUser(User user);
+
+    String STREAM_FETCH_SIZE = "100";
+    // [추가] 검색 결과 캐시의 ID 목록으로 노트 조회 (본문 포함)
+    @EntityGraph(attributePaths = {"body"})
+    List<Entry> findByUserAndIdIn(User user, Collection<Long> ids);
+    // 소유권 확인용 - 본문은 읽지 않음 (필요할 때 LAZY 로딩)
     Optional<Entry> findByIdAndUser(Long id, User user);
 
     // [수정] 검색 쿼리에 태그 검색 추가 및 content의 LOWER 제거
-    @Query("SELECT DISTINCT e FROM Entry e LEFT JOIN e.tags t WHERE e.user = :user AND " +
+    // [수정] 본문은 HTML 대신 순수 텍스트(plainText)에서 검색 (태그 이름/스타일 속성이 검색되지 않음)
+    // (주의) 아직 순수 텍스트가 없는 이전 노트는 HTML에서 검색함
+    // (새로 압축하는 본문은 순수 텍스트가 있는 경우뿐이고, 그 전에 압축된 본문은 ContentNormalizer 백필이 순수 텍스트를 채운 뒤 검색됨)
+    @Query("SELECT DISTINCT e FROM Entry e LEFT JOIN FETCH e.body b LEFT JOIN e.tagRefs t WHERE e.user = :user AND " +
             "(LOWER(e.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "e.content LIKE CONCAT('%', :query, '%') OR " +
-            "LOWER(t) LIKE LOWER(CONCAT('%', :query, '%')))")
+            "b.plainText LIKE CONCAT('%', :query, '%') OR " +
+            "(b.plainText IS NULL AND b.content LIKE CONCAT('%', :query, '%')) OR " +
+            "t.nameKey LIKE LOWER(CONCAT('%', :query, '%')))")
     List<Entry> searchByUser(@Param("user") User user, @Param("query") String query);
 
+    // [추가] 주어진 태그를 모두 가진 노트 조회 (태그 사전 ID로 인덱스 JOIN)
+    @EntityGraph(attributePaths = {"body"})
+    @Query("SELECT e FROM Entry e WHERE e.user = :user AND e.id IN (" +
+            "SELECT l.id FROM Entry l JOIN l.tagRefs t WHERE l.user = :user AND t.id IN :tagIds " +
+            "GROUP BY l.id HAVING COUNT(DISTINCT t.id) = :tagCount)")
+    List<Entry> findByUserAndAllTagIds(@Param("user") User user, @Param("tagIds") List<Long> tagIds, @Param("tagCount") long tagCount);
+
     void deleteAllByUser(User user);
-}
\ No newline at end of file
+
+    // [추가] 노트 링크 그래프용 - 본문 없이 제목만 조회
+    @Query("SELECT new com.labnote.backend.EntryLinkNode(e.id, e.title, e.updatedAt) FROM Entry e WHERE e.user = :user AND e.id IN :ids")
+    List<EntryLinkNode> findLinkNodes(@Param("user") User user, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.labnote.backend.EntryLinkNode(e.id, e.title, e.updatedAt) FROM EntryLink l JOIN l.source e " +
+            "WHERE l.target.id = :targetId ORDER BY e.updatedAt DESC")
+    List<EntryLinkNode> findBacklinkNodes(@Param("targetId") Long targetId);
+}
@@ -0,0 +1,36 @@
+package com.labnote.backend;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 노트 응답 DTO (기존 Entry JSON과 같은 필드)
+ * 트랜잭션 안에서 엔티티로부터 만들어 두므로 직렬화 중에 LAZY 로딩(DB 연결)이 일어나지 않습니다.
+ */
+@Getter
+@AllArgsConstructor
+public class EntryResponse {
+    private final Long id;
+    private final String title;
+    private final String content;
+    private final String researcher;
+    private final List<String> tags;
+    private final Integer wordCount;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final ProjectResponse project;
+    private final String attachedFilePath;
+
+    public static EntryResponse from(Entry entry) {
+        return new EntryResponse(entry.getId(), entry.getTitle(), entry.getContent(), entry.getResearcher(),
+                List.copyOf(entry.getTags()), entry.getWordCount(), entry.getCreatedAt(), entry.getUpdatedAt(),
+                ProjectResponse.from(entry.getProject()), entry.getAttachedFilePath());
+    }
+
+    public static List<EntryResponse> fromAll(List<Entry> entries) {
+        return entries.stream().map(EntryResponse::from).toList();
+    }
+}
@@ -0,0 +1,108 @@
+package com.labnote.backend;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 노트 검색 (GET /api/entries?search=) - 검색 결과 캐시(SearchResultCache)를 거쳐 실행
+ * - 같은 검색어: 캐시된 ID 목록의 노트만 기본 키로 읽음 (LIKE 검색 없음)
+ * - 캐시된 검색어로 시작하는 검색어("buf" -> "buff"): 그 결과 노트만 읽어서 메모리에서 다시 걸러냄
+ *   (LIKE '%buff%'를 만족하는 노트는 반드시 '%buf%'도 만족하므로 결과가 같음)
+ * - 그 외: searchByUser로 검색하고 결과 ID를 캐시
+ * 지표: labnote.search.cache.requests{result=hit|prefix|miss}
+ * 호출하는 쪽에서 읽기 전용 트랜잭션을 열어야 합니다. (HeavyTaskExecutors.submitReadOnly)
+ */
+@Service
+public class EntrySearchService {
+
+    private final EntryRepository entryRepository;
+    private final SearchResultCache searchResultCache;
+    private final Counter hits;
+    private final Counter prefixHits;
+    private final Counter misses;
+
+    public EntrySearchService(EntryRepository entryRepository, SearchResultCache searchResultCache, MeterRegistry meterRegistry) {
+        this.entryRepository = entryRepository;
+        this.searchResultCache = searchResultCache;
+        this.hits = meterRegistry.counter("labnote.search.cache.requests", "result", "hit");
+        this.prefixHits = meterRegistry.counter("labnote.search.cache.requests", "result", "prefix");
+        this.misses = meterRegistry.counter("labnote.search.cache.requests", "result", "miss");
+    }
+
+    public List<EntryResponse> search(User user, String rawQuery) {
+        String query = SearchResultCache.normalize(rawQuery);
+        if (!searchResultCache.isEnabled()) {
+            return EntryResponse.fromAll(entryRepository.searchByUser(user, query));
+        }
+
+        long generation = searchResultCache.generation(user.getId());
+
+        // 1. 같은 검색어
+        long[] cached = searchResultCache.get(user.getId(), query, generation);
+        if (cached != null) {
+            hits.increment();
+            return EntryResponse.fromAll(loadInOrder(user, cached));
+        }
+
+        // 2. 접두어 결과 안에서 좁히기 (LIKE 와일드카드(%, _)가 들어간 검색어는 메모리 판정과 다르므로 제외)
+        SearchResultCache.PrefixHit prefixHit = hasLikeWildcard(query) ? null
+                : searchResultCache.findPrefix(user.getId(), query, generation);
+        if (prefixHit != null) {
+            prefixHits.increment();
+            List<Entry> narrowed = loadInOrder(user, prefixHit.getEntryIds()).stream()
+                    .filter(entry -> matches(entry, query))
+                    .toList();
+            searchResultCache.put(user.getId(), query, generation, idsOf(narrowed));
+            return EntryResponse.fromAll(narrowed);
+        }
+
+        // 3. DB 검색
+        misses.increment();
+        List<Entry> entries = entryRepository.searchByUser(user, query);
+        searchResultCache.put(user.getId(), query, generation, idsOf(entries));
+        return EntryResponse.fromAll(entries);
+    }
+
+    private List<Entry> loadInOrder(User user, long[] entryIds) {
+        if (entryIds.length == 0) {
+            return List.of();
+        }
+        Map<Long, Entry> byId = entryRepository.findByUserAndIdIn(user, Arrays.stream(entryIds).boxed().toList()).stream()
+                .collect(Collectors.toMap(Entry::getId, Function.identity()));
+        return Arrays.stream(entryIds).mapToObj(byId::get).filter(entry -> entry != null).toList();
+    }
+
+    private static long[] idsOf(List<Entry> entries) {
+        return entries.stream().mapToLong(Entry::getId).toArray();
+    }
+
+    /**
+     * searchByUser 조건과 같은 판정 (제목, 본문 순수 텍스트(없으면 HTML), 태그 이름에 검색어 포함, 대소문자 무시)
+     */
+    static boolean matches(Entry entry, String query) {
+        if (containsIgnoreCase(entry.getTitle(), query)) {
+            return true;
+        }
+        String text = entry.getPlainText() != null ? entry.getPlainText() : entry.getContent();
+        if (containsIgnoreCase(text, query)) {
+            return true;
+        }
+        return entry.getTagRefs().stream().anyMatch(tag -> tag.getNameKey().contains(query));
+    }
+
+    private static boolean hasLikeWildcard(String query) {
+        return query.indexOf('%') >= 0 || query.indexOf('_') >= 0;
+    }
+
+    private static boolean containsIgnoreCase(String text, String query) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(query);
+    }
+}
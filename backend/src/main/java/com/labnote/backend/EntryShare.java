@@ -0,0 +1,44 @@
+package com.labnote.backend;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * 노트 공유 링크 (계정 없는 사람에게 읽기 전용으로 공개)
+ * 링크를 취소하면 revokedAt이 채워지고, 노트가 삭제되면 DB의 ON DELETE CASCADE로 함께 삭제됩니다.
+ */
+@Entity
+@Table(name = "entry_shares", indexes = @Index(name = "idx_entry_shares_entry", columnList = "entry_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class EntryShare {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = EntryShareService.TOKEN_LENGTH)
+    private String token;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "entry_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Entry entry;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime revokedAt; // 취소 시각 (null이면 유효)
+}
@@ -0,0 +1,10 @@
+package com.labnote.backend;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface EntryShareRepository extends JpaRepository<EntryShare, Long> {
+
+    List<EntryShare> findByEntryAndRevokedAtIsNull(Entry entry);
+}
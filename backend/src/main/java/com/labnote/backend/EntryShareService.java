@@ -0,0 +1,327 @@
+package com.labnote.backend;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.jsoup.nodes.Entities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 노트 공유 링크와 공개용 스냅샷
+ * - 공유 링크마다 정리(sanitize)된 HTML 페이지를 미리 만들어 share.snapshot-dir/{token}.html에 저장하고,
+ *   노트의 updatedAt이 바뀌는 저장이 커밋되면 다시 만듭니다.
+ * - 공개 경로(/share/{token})는 DB를 읽지 않습니다. 메모리의 취소 목록을 확인한 뒤 메모리 캐시나 디스크의 스냅샷을 그대로 보냅니다.
+ * - 시작할 때 DB에서 유효한 링크(노트 -> 토큰)와 취소된 토큰 목록을 읽어 둡니다.
+ */
+@Component
+public class EntryShareService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(EntryShareService.class);
+
+    public static final String PUBLIC_PATH = "/share/";
+
+    // 32바이트 난수의 Base64 URL-safe 인코딩 (패딩 없음)
+    static final int TOKEN_LENGTH = 43;
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("[A-Za-z0-9_-]{" + TOKEN_LENGTH + "}");
+
+    private final SecureRandom random = new SecureRandom();
+    private final Path snapshotLocation;
+
+    @Autowired
+    private EntryShareRepository entryShareRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${share.cache-max-entries:1000}")
+    private int cacheMaxEntries;
+
+    private final Map<Long, SharedEntry> sharedEntries = new ConcurrentHashMap<>(); // 노트 ID -> 유효한 링크
+    private final Set<String> revokedTokens = ConcurrentHashMap.newKeySet();
+    private final Map<String, Snapshot> snapshots = new LinkedHashMap<>(64, 0.75f, true); // 접근 순서 = LRU
+
+    private static class SharedEntry {
+        private final String token;
+        private final Long userId;
+        private volatile LocalDateTime renderedUpdatedAt; // 스냅샷을 만든 시점의 노트 updatedAt
+
+        private SharedEntry(String token, Long userId) {
+            this.token = token;
+            this.userId = userId;
+        }
+    }
+
+    /**
+     * 공개용 스냅샷 (HTML 바이트와 ETag)
+     */
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Snapshot {
+        private final byte[] html;
+        private final String etag;
+    }
+
+    public EntryShareService(@Value("${share.snapshot-dir:./share-snapshots/}") String snapshotDir) {
+        this.snapshotLocation = Paths.get(snapshotDir).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(snapshotLocation);
+        } catch (IOException ex) {
+            throw new RuntimeException("공유 스냅샷 디렉토리를 생성할 수 없습니다.", ex);
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.query("SELECT token, entry_id, user_id, revoked_at FROM entry_shares", rs -> {
+            String token = rs.getString("token");
+            if (rs.getTimestamp("revoked_at") != null) {
+                revokedTokens.add(token);
+            } else {
+                sharedEntries.put(rs.getLong("entry_id"), new SharedEntry(token, rs.getLong("user_id")));
+            }
+        });
+        log.info("공유 링크 로드: 유효 {}개, 취소 {}개", sharedEntries.size(), revokedTokens.size());
+    }
+
+    // --- 링크 관리 (트랜잭션 안에서 호출) ---
+
+    /**
+     * 노트의 공유 링크를 만듭니다. 이미 유효한 링크가 있으면 그 링크를 돌려줍니다.
+     */
+    public EntryShare share(Entry entry) {
+        List<EntryShare> active = entryShareRepository.findByEntryAndRevokedAtIsNull(entry);
+        if (!active.isEmpty()) {
+            return active.get(0);
+        }
+        EntryShare share = new EntryShare();
+        share.setToken(newToken());
+        share.setEntry(entry);
+        share.setUserId(entry.getUser().getId());
+        entryShareRepository.save(share);
+
+        SharedEntry shared = new SharedEntry(share.getToken(), share.getUserId());
+        String title = entry.getTitle();
+        String content = entry.getContent();
+        afterCommit(() -> {
+            sharedEntries.put(entry.getId(), shared);
+            render(shared, title, content, entry.getUpdatedAt());
+        });
+        return share;
+    }
+
+    /**
+     * 노트의 공유 링크를 취소합니다. 커밋된 뒤 공개 경로에서 막고 스냅샷 파일을 삭제합니다. (롤백되면 링크 유지)
+     * @return 취소한 링크가 있으면 true
+     */
+    public boolean revoke(Entry entry) {
+        List<EntryShare> active = entryShareRepository.findByEntryAndRevokedAtIsNull(entry);
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> tokens = new HashSet<>();
+        for (EntryShare share : active) {
+            share.setRevokedAt(now);
+            tokens.add(share.getToken());
+        }
+        Long entryId = entry.getId();
+        afterCommit(() -> {
+            revokedTokens.addAll(tokens);
+            sharedEntries.computeIfPresent(entryId, (id, shared) -> tokens.contains(shared.token) ? null : shared);
+            tokens.forEach(this::deleteSnapshot);
+        });
+        return !active.isEmpty();
+    }
+
+    /**
+     * 저장된 노트의 스냅샷을 커밋 후 다시 만듭니다. (공유 중이고 updatedAt이 바뀐 경우만)
+     */
+    public void refresh(Entry entry) {
+        SharedEntry shared = sharedEntries.get(entry.getId());
+        if (shared == null) {
+            return;
+        }
+        String title = entry.getTitle();
+        String content = entry.getContent();
+        afterCommit(() -> {
+            LocalDateTime updatedAt = entry.getUpdatedAt(); // @UpdateTimestamp는 flush 때 채워짐
+            if (!Objects.equals(updatedAt, shared.renderedUpdatedAt) && sharedEntries.get(entry.getId()) == shared) {
+                render(shared, title, content, updatedAt);
+            }
+        });
+    }
+
+    /**
+     * 삭제가 커밋된 뒤 삭제된 노트의 링크를 막습니다. (DB 행은 ON DELETE CASCADE로 삭제됨)
+     */
+    public void entriesDeleted(Collection<Long> entryIds) {
+        List<Long> ids = List.copyOf(entryIds);
+        afterCommit(() -> ids.forEach(entryId -> {
+            SharedEntry shared = sharedEntries.remove(entryId);
+            if (shared != null) {
+                revokedTokens.add(shared.token);
+                deleteSnapshot(shared.token);
+            }
+        }));
+    }
+
+    /**
+     * 탈퇴가 커밋된 뒤 사용자의 링크를 모두 막습니다.
+     */
+    public void userDeleted(Long userId) {
+        afterCommit(() -> sharedEntries.entrySet().removeIf(entry -> {
+            SharedEntry shared = entry.getValue();
+            if (!shared.userId.equals(userId)) {
+                return false;
+            }
+            revokedTokens.add(shared.token);
+            deleteSnapshot(shared.token);
+            return true;
+        }));
+    }
+
+    // --- 공개 경로 (DB 사용 안 함) ---
+
+    /**
+     * 토큰의 스냅샷 (형식이 틀렸거나, 취소되었거나, 없으면 null)
+     */
+    public Snapshot snapshot(String token) {
+        if (!TOKEN_PATTERN.matcher(token).matches() || revokedTokens.contains(token)) {
+            return null;
+        }
+        synchronized (snapshots) {
+            Snapshot cached = snapshots.get(token);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        byte[] html;
+        try {
+            html = Files.readAllBytes(snapshotPath(token));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Snapshot snapshot = new Snapshot(html, etag(html));
+        synchronized (snapshots) {
+            // 읽는 사이 다시 만들어졌다면 새 스냅샷을 유지
+            Snapshot existing = snapshots.putIfAbsent(token, snapshot);
+            trimCache();
+            if (existing != null) {
+                snapshot = existing;
+            }
+        }
+        return revokedTokens.contains(token) ? null : snapshot;
+    }
+
+    /**
+     * 공개용 HTML 페이지 (본문은 저장 시와 같은 규칙으로 다시 정리)
+     */
+    static String renderPage(String title, String content) {
+        String body = content == null ? "" : ContentNormalizer.normalize(content).getHtml();
+        String escapedTitle = Entities.escape(title == null ? "" : title);
+        return "<!DOCTYPE html><html><head><meta charset=\"utf-8\">" +
+                "<meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">" +
+                "<meta name=\"robots\" content=\"noindex\">" +
+                "<title>" + escapedTitle + "</title></head>" +
+                "<body><article><h1>" + escapedTitle + "</h1>" + body + "</article></body></html>";
+    }
+
+    private void render(SharedEntry shared, String title, String content, LocalDateTime updatedAt) {
+        byte[] html = renderPage(title, content).getBytes(StandardCharsets.UTF_8);
+        Path target = snapshotPath(shared.token);
+        Path temp = snapshotLocation.resolve(shared.token + ".tmp");
+        try {
+            // 읽는 쪽이 쓰다 만 파일을 보지 않도록 임시 파일에 쓴 뒤 교체
+            Files.write(temp, html);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("공유 스냅샷 저장 실패 ({}): {}", target.getFileName(), e.getMessage());
+            return;
+        }
+        shared.renderedUpdatedAt = updatedAt;
+        synchronized (snapshots) {
+            snapshots.put(shared.token, new Snapshot(html, etag(html)));
+            trimCache();
+        }
+        if (revokedTokens.contains(shared.token)) {
+            deleteSnapshot(shared.token); // 만드는 사이 취소됨
+        }
+    }
+
+    private void deleteSnapshot(String token) {
+        synchronized (snapshots) {
+            snapshots.remove(token);
+        }
+        try {
+            Files.deleteIfExists(snapshotPath(token));
+        } catch (IOException e) {
+            log.warn("공유 스냅샷 삭제 실패 ({}): {}", token, e.getMessage());
+        }
+    }
+
+    private void trimCache() {
+        Iterator<Snapshot> eldest = snapshots.values().iterator();
+        while (snapshots.size() > cacheMaxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private Path snapshotPath(String token) {
+        return snapshotLocation.resolve(token + ".html");
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String etag(byte[] html) {
+        return "\"" + ContentNormalizer.hash(new String(html, StandardCharsets.UTF_8)).substring(0, 32) + "\"";
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에, 아니면 바로 실행
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
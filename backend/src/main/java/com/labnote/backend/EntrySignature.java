@@ -0,0 +1,37 @@
+package com.labnote.backend;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * 노트 본문의 MinHash 서명 (유사 노트 탐지용)
+ * 노트 목록 조회 시 함께 읽히지 않도록 entries가 아닌 별도 테이블에 노트 ID를 키로 저장합니다.
+ * 본문이 비어 있으면 signature는 null 입니다.
+ */
+@Entity
+@Table(name = "entry_signatures")
+@Getter
+@Setter
+@NoArgsConstructor
+public class EntrySignature {
+
+    @Id
+    @Column(name = "entry_id")
+    private Long entryId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "entry_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Entry entry;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(length = NearDuplicateService.SIGNATURE_BYTES)
+    private byte[] signature;
+}
@@ -0,0 +1,106 @@
+package com.labnote.backend;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 노트 목록을 JSON 배열로 한 건씩 써 내려가는 스트리밍 응답
+ * - 전체 List<Entry>를 만들지 않고 DB 커서(fetch size)로 읽은 노트를 바로 직렬화한 뒤 영속성 컨텍스트에서 분리(detach)합니다.
+ *   노트 수와 관계없이 요청당 메모리 사용량이 일정합니다.
+ * - 노트마다 트랜잭션 안에서 EntryResponse로 변환해서 씁니다. (Spring의 ObjectMapper 사용)
+ * - 응답 쓰기는 요청 스레드가 아닌 MVC 비동기 스레드에서 실행되므로 별도의 읽기 전용 트랜잭션을 엽니다.
+ */
+@Service
+public class EntryStreamingService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${entry.stream.flush-every:100}")
+    private int flushEvery;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    public EntryStreamingService(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 쿼리 결과(Stream)를 JSON 배열로 스트리밍합니다.
+     * @param query EntryRepository의 stream* 메소드 (예: repo -> repo.streamByUser(user))
+     */
+    public StreamingResponseBody stream(Function<EntryRepository, Stream<Entry>> query) {
+        // 요청 스레드의 복제본 DB 허용 여부를 응답 스레드로 전달
+        boolean replicaAllowed = ReplicaRoutingContext.isReplicaAllowed();
+        return out -> {
+            if (replicaAllowed) {
+                ReplicaRoutingContext.allowReplica();
+            }
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<Entry> entries = query.apply(entryRepository)) {
+                        writeArray(out, entries);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                ReplicaRoutingContext.clear();
+            }
+        };
+    }
+
+    /**
+     * 이미 읽어 둔 목록(검색/태그 필터 결과)을 그대로 씁니다. (응답 형식을 맞추기 위함)
+     */
+    public StreamingResponseBody write(List<EntryResponse> entries) {
+        return out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                objectMapper.writeValue(generator, entries);
+            }
+        };
+    }
+
+    private void writeArray(OutputStream out, Stream<Entry> entries) throws IOException {
+        // 노트마다 flush 하지 않고 flushEvery건마다 내보냄
+        ObjectWriter writer = objectMapper.writerFor(EntryResponse.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            int written = 0;
+            for (Entry entry : (Iterable<Entry>) entries::iterator) {
+                writer.writeValue(generator, EntryResponse.from(entry));
+                entityManager.detach(entry); // 본문(body)도 cascade로 함께 분리됨
+                if (++written % flushEvery == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.labnote.backend;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -11,7 +12,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "entry_versions")
+@Table(name = "entry_versions", indexes = {
+        @Index(name = "idx_entry_versions_entry_timestamp", columnList = "entry_id, version_timestamp"),
+        @Index(name = "idx_entry_versions_timestamp", columnList = "version_timestamp, entry_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,16 +34,28 @@ public class EntryVersion {
 
     @Lob
     @Column(nullable = false, columnDefinition = "TEXT")
+    @Convert(converter = CompressedContentConverter.class) // [추가] 설정 시 압축하여 저장
     private String content;
 
     private String researcher;
 
     @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "entry_version_tags", joinColumns = @JoinColumn(name = "version_id"))
+    @CollectionTable(name = "entry_version_tags", joinColumns = @JoinColumn(name = "version_id"),
+            indexes = @Index(name = "idx_entry_version_tags_version", columnList = "version_id"))
     @Column(name = "tag")
     private List<String> tags = new ArrayList<>();
 
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime versionTimestamp;
+
+    // [추가] 자동 저장 세션 ID (같은 세션의 자동 저장은 하나의 버전으로 합쳐짐)
+    @Column(length = 64)
+    @JsonIgnore
+    private String editSessionId;
+
+    // [추가] 버전 검색 색인(version_search_terms)에 반영되었는지 여부 (null = 이전 버전, 백그라운드에서 색인)
+    @Column(name = "search_indexed")
+    @JsonIgnore
+    private Boolean searchIndexed;
 }
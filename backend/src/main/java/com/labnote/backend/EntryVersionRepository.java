@@ -1,8 +1,45 @@
 package com.labnote.backend;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface EntryVersionRepository extends JpaRepository<EntryVersion, Long> {
     List<EntryVersion> findByEntryOrderByVersionTimestampDesc(Entry entry);
+
+    // [추가] 가장 최근 버전 1개 (자동 저장 시 버전 합치기 판단용)
+    Optional<EntryVersion> findFirstByEntryOrderByVersionTimestampDesc(Entry entry);
+
+    // --- [추가] 버전 보존 정책(압축 작업)용 쿼리 ---
+
+    // 특정 시점 이전의 버전을 가진 노트 ID 목록
+    @Query("SELECT DISTINCT v.entry.id FROM EntryVersion v WHERE v.versionTimestamp < :cutoff")
+    List<Long> findEntryIdsWithVersionsBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // 본문을 읽지 않고 버전의 ID, 시각, 저장 크기(바이트)만 조회 (최신순)
+    @Query(value = "SELECT v.id AS id, v.version_timestamp AS versionTimestamp, " +
+            "COALESCE(OCTET_LENGTH(v.title), 0) + COALESCE(OCTET_LENGTH(v.content), 0) AS storedBytes " +
+            "FROM entry_versions v WHERE v.entry_id = :entryId AND v.version_timestamp < :cutoff " +
+            "ORDER BY v.version_timestamp DESC", nativeQuery = true)
+    List<VersionMetadata> findMetadataByEntryIdBefore(@Param("entryId") Long entryId, @Param("cutoff") LocalDateTime cutoff);
+
+    // 버전 태그(element collection)는 벌크 삭제 시 자동으로 지워지지 않으므로 먼저 삭제
+    @Modifying
+    @Query(value = "DELETE FROM entry_version_tags WHERE version_id IN (:ids)", nativeQuery = true)
+    int deleteTagsByVersionIds(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM entry_versions WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    interface VersionMetadata {
+        Long getId();
+        LocalDateTime getVersionTimestamp();
+        Long getStoredBytes();
+    }
 }
@@ -0,0 +1,26 @@
+package com.labnote.backend;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 버전 기록 응답 DTO
+ */
+@Getter
+@AllArgsConstructor
+public class EntryVersionResponse {
+    private final Long id;
+    private final String title;
+    private final String content;
+    private final String researcher;
+    private final List<String> tags;
+    private final LocalDateTime versionTimestamp;
+
+    public static EntryVersionResponse from(EntryVersion version) {
+        return new EntryVersionResponse(version.getId(), version.getTitle(), version.getContent(),
+                version.getResearcher(), List.copyOf(version.getTags()), version.getVersionTimestamp());
+    }
+}
@@ -0,0 +1,20 @@
+package com.labnote.backend;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 최근 본 노트 / 많이 본 노트 응답 (본문 없이 제목과 조회 정보만)
+ */
+@Getter
+@AllArgsConstructor
+public class EntryViewResponse {
+
+    private final Long id;
+    private final String title;
+    private final LocalDateTime updatedAt;
+    private final long viewCount;
+    private final LocalDateTime lastViewedAt;
+}
@@ -0,0 +1,41 @@
+package com.labnote.backend;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * 노트별 조회 수와 마지막 조회 시각 ("최근 본 노트", "많이 본 노트"용)
+ * 조회할 때마다 쓰지 않고 EntryViewTracker가 몇 초마다 모아서 더합니다.
+ */
+@Entity
+@Table(name = "entry_view_stats", indexes = @Index(name = "idx_entry_view_stats_user", columnList = "user_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class EntryViewStat {
+
+    @Id
+    @Column(name = "entry_id")
+    private Long entryId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "entry_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Entry entry;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+
+    @Column(name = "last_viewed_at", nullable = false)
+    private LocalDateTime lastViewedAt;
+}
@@ -0,0 +1,358 @@
+package com.labnote.backend;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * 노트 조회 기록 ("최근 본 노트", "많이 본 노트")
+ * - 조회는 메모리에만 기록합니다. 노트별 카운터는 LongAdder(스트라이프 카운터)이고, 사용자별 최근 조회는 고정 크기 링 버퍼라서 잠금 없이 기록됩니다.
+ * - 아직 DB에 쓰지 않은 증가분은 flush-interval-ms마다 모아서 한 번의 일괄 upsert로 entry_view_stats에 더하고, 종료될 때도 남은 증가분을 씁니다.
+ * - 사용자의 기록은 처음 필요할 때 DB에서 읽어 오고, idle-evict-ms 동안 쓰지 않은 사용자는 메모리에서 내립니다.
+ * - 삭제된 노트는 삭제가 커밋된 뒤 기록에서 지웁니다. (다른 서버에서 삭제되어 아직 남아 있는 노트는 목록을 만들 때 건너뛰고 더 골라서 채움)
+ */
+@Component
+public class EntryViewTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(EntryViewTracker.class);
+
+    // 그 사이 삭제된 노트는 SELECT 결과가 없으므로 건너뜀
+    private static final String UPSERT_SQL =
+            "INSERT INTO entry_view_stats (entry_id, user_id, view_count, last_viewed_at)" +
+            " SELECT id, user_id, ?, ? FROM entries WHERE id = ?" +
+            " ON DUPLICATE KEY UPDATE view_count = view_count + VALUES(view_count)," +
+            " last_viewed_at = GREATEST(last_viewed_at, VALUES(last_viewed_at))";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    @Value("${entry.views.recent-size:50}")
+    private int recentSize;
+
+    @Value("${entry.views.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${entry.views.idle-evict-ms:3600000}")
+    private long idleEvictMillis;
+
+    private final Map<Long, UserViews> users = new ConcurrentHashMap<>();
+    private final TransactionTemplate writeTransaction;
+
+    public EntryViewTracker(PlatformTransactionManager transactionManager) {
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    private static class ViewCounter {
+        private final LongAdder total = new LongAdder();     // 보여 주는 조회 수 (DB 값 + 증가분)
+        private final LongAdder unflushed = new LongAdder(); // 아직 DB에 쓰지 않은 증가분
+        private final AtomicLong lastViewedAt = new AtomicLong(); // epoch millis
+    }
+
+    private static class UserViews {
+        private final Map<Long, ViewCounter> counters = new ConcurrentHashMap<>();
+        private final AtomicLongArray recent; // 최근 조회한 노트 ID 링 버퍼 (0 = 빈 칸)
+        private final AtomicLong cursor = new AtomicLong();
+        private volatile long lastAccessNanos = System.nanoTime();
+        private volatile boolean evicted;
+
+        private UserViews(int recentSize) {
+            this.recent = new AtomicLongArray(recentSize);
+        }
+
+        private void push(long entryId) {
+            long last = cursor.get() - 1;
+            if (last >= 0 && recent.get(slot(last)) == entryId) {
+                return; // 같은 노트를 연달아 열면 한 칸만 사용
+            }
+            recent.set(slot(cursor.getAndIncrement()), entryId);
+        }
+
+        // 최근 조회 순서대로 중복 없이 최대 limit개
+        private List<Long> recentIds(int limit) {
+            long end = cursor.get();
+            long start = Math.max(0, end - recent.length());
+            Set<Long> ids = new LinkedHashSet<>();
+            for (long i = end - 1; i >= start && ids.size() < limit; i--) {
+                long entryId = recent.get(slot(i));
+                if (entryId != 0 && counters.containsKey(entryId)) { // 삭제된 노트는 카운터가 없음
+                    ids.add(entryId);
+                }
+            }
+            return new ArrayList<>(ids);
+        }
+
+        private int slot(long position) {
+            return (int) (position % recent.length());
+        }
+    }
+
+    // 정렬하는 동안 값이 바뀌지 않도록 읽어 둔 값
+    private static class Snapshot {
+        private final long entryId;
+        private final long viewCount;
+        private final long lastViewedAt;
+
+        private Snapshot(long entryId, ViewCounter counter) {
+            this.entryId = entryId;
+            this.viewCount = counter.total.sum();
+            this.lastViewedAt = counter.lastViewedAt.get();
+        }
+    }
+
+    private static class PendingRow {
+        private final Long userId;
+        private final Long entryId;
+        private final UserViews views;
+        private final ViewCounter counter;
+        private final long count;
+        private final long lastViewedAt;
+
+        private PendingRow(Long userId, Long entryId, UserViews views, ViewCounter counter, long count) {
+            this.userId = userId;
+            this.entryId = entryId;
+            this.views = views;
+            this.counter = counter;
+            this.count = count;
+            this.lastViewedAt = counter.lastViewedAt.get();
+        }
+    }
+
+    /**
+     * 노트 조회 한 번을 기록합니다. (DB에는 다음 flush 때 반영)
+     */
+    public void recordView(Long userId, Long entryId) {
+        long now = System.currentTimeMillis();
+        UserViews views = viewsOf(userId);
+        ViewCounter counter = add(views, entryId, 1, now);
+        views.push(entryId);
+        if (views.evicted) {
+            // 메모리에서 내려가는 중인 기록에 더했다면 새로 읽은 기록으로 옮김 (flush가 이미 가져갔으면 0)
+            long late = counter.unflushed.sumThenReset();
+            UserViews current = viewsOf(userId);
+            if (late > 0) {
+                add(current, entryId, late, now);
+            }
+            current.push(entryId);
+        }
+    }
+
+    /**
+     * 최근 본 노트 (최근 조회 순)
+     */
+    public List<EntryViewResponse> recent(User user, int limit) {
+        UserViews views = viewsOf(user.getId());
+        return describe(user, views, limit, count -> {
+            List<Long> ids = views.recentIds(count);
+            if (ids.size() < count && views.counters.size() > ids.size()) {
+                // 링 버퍼가 몇 개의 노트로만 채워져 있으면 전체 기록에서 마지막 조회 시각 순으로 고름
+                ids = top(views, Comparator.comparingLong((Snapshot s) -> s.lastViewedAt), count);
+            }
+            return ids;
+        });
+    }
+
+    /**
+     * 많이 본 노트 (조회 수 순, 같으면 최근에 본 순)
+     */
+    public List<EntryViewResponse> mostViewed(User user, int limit) {
+        UserViews views = viewsOf(user.getId());
+        Comparator<Snapshot> order = Comparator.comparingLong((Snapshot s) -> s.viewCount)
+                .thenComparingLong(s -> s.lastViewedAt);
+        return describe(user, views, limit, count -> top(views, order, count));
+    }
+
+    /**
+     * 삭제된 노트의 기록을 메모리에서 지웁니다. (삭제가 커밋된 뒤, DB 행은 ON DELETE CASCADE로 삭제됨)
+     */
+    public void entriesDeleted(Long userId, Collection<Long> entryIds) {
+        List<Long> ids = List.copyOf(entryIds);
+        afterCommit(() -> {
+            UserViews views = users.get(userId);
+            if (views != null) {
+                ids.forEach(views.counters::remove);
+            }
+        });
+    }
+
+    /**
+     * 탈퇴한 사용자의 기록을 메모리에서 지웁니다. (DB 행은 노트와 함께 삭제됨)
+     */
+    public void evict(Long userId) {
+        UserViews views = users.remove(userId);
+        if (views != null) {
+            views.evicted = true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${entry.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        long idleBefore = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(idleEvictMillis);
+        List<PendingRow> rows = new ArrayList<>();
+        for (Map.Entry<Long, UserViews> user : users.entrySet()) {
+            UserViews views = user.getValue();
+            if (views.lastAccessNanos - idleBefore < 0 && users.remove(user.getKey(), views)) {
+                views.evicted = true; // 이후의 증가분은 recordView가 새 기록으로 옮김
+            }
+            for (Map.Entry<Long, ViewCounter> entry : views.counters.entrySet()) {
+                long count = entry.getValue().unflushed.sumThenReset();
+                if (count > 0) {
+                    rows.add(new PendingRow(user.getKey(), entry.getKey(), views, entry.getValue(), count));
+                }
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            writeTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SQL, rows, flushBatchSize, (ps, row) -> {
+                ps.setLong(1, row.count);
+                ps.setTimestamp(2, new Timestamp(row.lastViewedAt));
+                ps.setLong(3, row.entryId);
+            }));
+        } catch (DataAccessException e) {
+            log.warn("노트 조회 기록 저장 실패 ({}건, 다음 주기에 다시 시도): {}", rows.size(), e.getMessage());
+            rows.forEach(this::restore);
+        }
+    }
+
+    // 종료 시 남은 증가분 저장 (스케줄러가 멈춘 뒤, DataSource가 닫히기 전에 호출됨)
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void restore(PendingRow row) {
+        if (!row.views.evicted) {
+            row.counter.unflushed.add(row.count);
+            return;
+        }
+        // 이번 주기에 메모리에서 내린 사용자면 다시 올려 둠 (이미 새로 읽었다면 그쪽에 더함)
+        UserViews current = users.putIfAbsent(row.userId, row.views);
+        if (current == null) {
+            row.views.evicted = false;
+            row.counter.unflushed.add(row.count);
+        } else {
+            add(current, row.entryId, row.count, row.lastViewedAt);
+        }
+    }
+
+    private UserViews viewsOf(Long userId) {
+        UserViews views = users.get(userId);
+        if (views == null) {
+            UserViews loaded = load(userId);
+            UserViews existing = users.putIfAbsent(userId, loaded);
+            views = existing != null ? existing : loaded;
+        }
+        views.lastAccessNanos = System.nanoTime();
+        return views;
+    }
+
+    private UserViews load(Long userId) {
+        UserViews views = new UserViews(recentSize);
+        jdbcTemplate.query("SELECT entry_id, view_count, last_viewed_at FROM entry_view_stats WHERE user_id = ? ORDER BY last_viewed_at",
+                rs -> {
+                    long entryId = rs.getLong("entry_id");
+                    ViewCounter counter = views.counters.computeIfAbsent(entryId, id -> new ViewCounter());
+                    counter.total.add(rs.getLong("view_count"));
+                    counter.lastViewedAt.set(rs.getTimestamp("last_viewed_at").getTime());
+                    views.push(entryId); // 오래된 것부터 넣으므로 링 버퍼에는 최근 것이 남음
+                }, userId);
+        return views;
+    }
+
+    private static ViewCounter add(UserViews views, Long entryId, long count, long viewedAt) {
+        ViewCounter counter = views.counters.computeIfAbsent(entryId, id -> new ViewCounter());
+        counter.total.add(count);
+        counter.unflushed.add(count);
+        counter.lastViewedAt.accumulateAndGet(viewedAt, Math::max);
+        return counter;
+    }
+
+    private static List<Long> top(UserViews views, Comparator<Snapshot> order, int limit) {
+        return views.counters.entrySet().stream()
+                .map(entry -> new Snapshot(entry.getKey(), entry.getValue()))
+                .sorted(order.reversed())
+                .limit(limit)
+                .map(snapshot -> snapshot.entryId)
+                .collect(Collectors.toList());
+    }
+
+    // 삭제된 노트가 빠져도 limit개를 채우도록, 모자라면 후보를 두 배씩 늘려 다시 고른 뒤 자름
+    private List<EntryViewResponse> describe(User user, UserViews views, int limit, IntFunction<List<Long>> candidates) {
+        int count = limit;
+        while (true) {
+            List<Long> ids = candidates.apply(count);
+            List<EntryViewResponse> result = describe(user, views, ids);
+            if (result.size() >= limit || ids.size() < count) {
+                return result.size() > limit ? result.subList(0, limit) : result;
+            }
+            count *= 2;
+        }
+    }
+
+    // 제목은 DB에서 읽음 (그 사이 삭제된 노트는 빠짐)
+    private List<EntryViewResponse> describe(User user, UserViews views, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, EntryLinkNode> nodes = entryRepository.findLinkNodes(user, ids).stream()
+                .collect(Collectors.toMap(EntryLinkNode::getId, Function.identity()));
+        List<EntryViewResponse> result = new ArrayList<>();
+        for (Long id : ids) {
+            EntryLinkNode node = nodes.get(id);
+            ViewCounter counter = views.counters.get(id);
+            if (node == null || counter == null) {
+                continue;
+            }
+            LocalDateTime lastViewedAt = new Timestamp(counter.lastViewedAt.get()).toLocalDateTime();
+            result.add(new EntryViewResponse(id, node.getTitle(), node.getUpdatedAt(), counter.total.sum(), lastViewedAt));
+        }
+        return result;
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에, 아니면 바로 실행
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
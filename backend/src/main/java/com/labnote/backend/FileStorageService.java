@@ -10,13 +10,20 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID; // 고유한 파일명 생성을 위해
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 @Service
 public class FileStorageService {
 
     private final Path fileStorageLocation; // 파일이 저장될 디렉토리 경로
 
+    // [추가] 현재 디스크에 쓰는 중인 파일명 (업로드 GC가 지우지 않도록)
+    private final Set<String> inProgressFiles = ConcurrentHashMap.newKeySet();
+
     // application.properties의 'file.upload-dir' 값을 주입받음
     public FileStorageService(@Value("${file.upload-dir}") String uploadDir) {
         // Path 객체로 변환
@@ -53,7 +60,12 @@ public class FileStorageService {
             Path targetLocation = this.fileStorageLocation.resolve(storedFileName);
 
             // 5. 파일 시스템에 파일 저장 (이미 존재하면 덮어쓰기)
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            inProgressFiles.add(storedFileName);
+            try {
+                Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                inProgressFiles.remove(storedFileName);
+            }
 
             // 6. 저장된 파일명 반환
             return storedFileName;
@@ -62,4 +74,47 @@ public class FileStorageService {
             throw new RuntimeException(storedFileName + " 파일을 저장할 수 없습니다. 다시 시도해 주세요.", ex);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 저장된 파일의 크기를 반환합니다. (파일이 없거나 이름이 비어 있으면 0)
+     * @param storedFileName storeFile()이 반환한 파일명
+     */
+    public long getFileSize(String storedFileName) {
+        if (storedFileName == null || storedFileName.isEmpty()) {
+            return 0;
+        }
+        try {
+            Path path = this.fileStorageLocation.resolve(storedFileName).normalize();
+            return Files.isRegularFile(path) ? Files.size(path) : 0;
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+
+    // --- [추가] 업로드 GC용 ---
+
+    public Set<String> getInProgressFiles() {
+        return Set.copyOf(inProgressFiles);
+    }
+
+    /**
+     * 업로드 디렉토리에 저장된 파일 목록 (하위 디렉토리 제외)
+     */
+    public List<Path> listStoredFiles() throws IOException {
+        try (Stream<Path> files = Files.list(fileStorageLocation)) {
+            return files.filter(Files::isRegularFile).toList();
+        }
+    }
+
+    /**
+     * 저장된 파일을 삭제합니다. 업로드 디렉토리 밖의 경로는 무시합니다.
+     * @return 삭제되었으면 true
+     */
+    public boolean deleteFile(String storedFileName) throws IOException {
+        Path path = this.fileStorageLocation.resolve(storedFileName).normalize();
+        if (!path.startsWith(fileStorageLocation) || inProgressFiles.contains(storedFileName)) {
+            return false;
+        }
+        return Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,110 @@
+package com.labnote.backend;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * CPU를 많이 쓰는 요청(Markdown 내보내기, 검색, 이미지 업로드, 비밀번호 해시)을 Tomcat 요청 스레드 대신 실행하는 전용 스레드 풀
+ * - 풀마다 스레드 수와 대기열 길이가 제한되어 있어, 가득 차면 대기하지 않고 RejectedExecutionException(-> 503)
+ * - 제한 시간을 넘기면 작업을 취소하고 TimeoutException(-> 503)
+ * - 대기열 길이/활성 스레드(executor.*), 대기/실행 시간(labnote.executor.*) 지표를 Micrometer로 노출
+ * 작업 스레드에는 요청의 트랜잭션/영속성 컨텍스트가 없으므로 DB 조회가 필요하면 submitReadOnly를 사용합니다.
+ */
+@Component
+public class HeavyTaskExecutors {
+
+    public static final String EXPORT = "export";
+    public static final String SEARCH = "search";
+    public static final String UPLOAD = "upload";
+    public static final String HASH = "hash"; // [추가] 로그인/회원가입의 BCrypt 계산
+
+    private final Map<String, ThreadPoolExecutor> executors = new HashMap<>();
+    private final Map<String, Long> timeouts = new HashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public HeavyTaskExecutors(TaskExecutorProperties properties, MeterRegistry meterRegistry,
+                              PlatformTransactionManager transactionManager) {
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        for (String name : List.of(EXPORT, SEARCH, UPLOAD, HASH)) {
+            TaskExecutorProperties.Pool pool = properties.getPools().get(name);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(pool.getThreads(), pool.getThreads(),
+                    0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(pool.getQueueCapacity()),
+                    new CustomizableThreadFactory(name + "-worker-"), new ThreadPoolExecutor.AbortPolicy());
+            executors.put(name, executor);
+            timeouts.put(name, pool.getTimeoutMs());
+            new ExecutorServiceMetrics(executor, name, List.of()).bindTo(meterRegistry);
+        }
+    }
+
+    /**
+     * 전용 풀에서 작업을 실행합니다.
+     * @throws RejectedExecutionException 풀과 대기열이 가득 찬 경우 (즉시)
+     */
+    public <T> CompletableFuture<T> submit(String name, Supplier<T> task) {
+        ThreadPoolExecutor executor = executors.get(name);
+        Timer waitTimer = meterRegistry.timer("labnote.executor.wait", "executor", name);
+        Timer executionTimer = meterRegistry.timer("labnote.executor.execution", "executor", name);
+
+        // 요청 스레드의 복제본 DB 허용 여부를 작업 스레드로 전달
+        boolean replicaAllowed = ReplicaRoutingContext.isReplicaAllowed();
+        long submittedAt = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> running;
+        try {
+            running = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                if (replicaAllowed) {
+                    ReplicaRoutingContext.allowReplica();
+                }
+                try {
+                    result.complete(task.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    ReplicaRoutingContext.clear();
+                    executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("labnote.executor.rejected", "executor", name, "reason", "saturated").increment();
+            throw e;
+        }
+
+        result.orTimeout(timeouts.get(name), TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            if (error instanceof TimeoutException) {
+                running.cancel(true); // 대기 중이면 실행하지 않고, 실행 중이면 인터럽트
+                meterRegistry.counter("labnote.executor.rejected", "executor", name, "reason", "timeout").increment();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 읽기 전용 트랜잭션 안에서 작업을 실행합니다. (검색 등 DB 조회가 포함된 작업)
+     */
+    public <T> CompletableFuture<T> submitReadOnly(String name, Supplier<T> task) {
+        return submit(name, () -> readOnlyTransaction.execute(status -> task.get()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executors.values().forEach(ExecutorService::shutdown);
+    }
+}
@@ -1,5 +1,6 @@
 package com.labnote.backend;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -24,6 +25,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtTokenUtil jwtTokenUtil;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
@@ -38,7 +42,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
             jwtToken = requestTokenHeader.substring(7); // "Bearer " 이후의 토큰 값
             try {
-                username = jwtTokenUtil.getUsernameFromToken(jwtToken);
+                Claims claims = jwtTokenUtil.getClaimFromToken(jwtToken, c -> c);
+                username = claims.getSubject();
+                // [추가] 취소된 토큰(로그아웃, 이름 변경/탈퇴한 이름으로 그 전에 발급된 토큰)은 인증하지 않음 (메모리에서만 확인)
+                if (tokenRevocationService.isRevoked(claims)) {
+                    logger.warn("취소된 JWT 토큰입니다.");
+                    username = null;
+                }
             } catch (IllegalArgumentException e) {
                 logger.warn("JWT 토큰을 가져올 수 없습니다.");
             } catch (ExpiredJwtException e) {
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
@@ -59,6 +60,7 @@ public class JwtTokenUtil {
     public String generateToken(UserDetails userDetails) {
         return Jwts.builder()
                 .setSubject(userDetails.getUsername()) // 토큰 제목 (사용자 이름)
+                .setId(UUID.randomUUID().toString()) // [추가] 토큰 ID (취소용)
                 .setIssuedAt(new Date(System.currentTimeMillis())) // 발급 시간
                 .setExpiration(new Date(System.currentTimeMillis() + JWT_TOKEN_VALIDITY)) // 만료 시간
                 .signWith(getKey(), SignatureAlgorithm.HS512) // 서명 (알고리즘 + 키)
@@ -75,6 +77,7 @@ public class JwtTokenUtil {
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString()) // [추가] 토큰 ID (취소용)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + JWT_TOKEN_VALIDITY))
                 .signWith(getKey(), SignatureAlgorithm.HS512)
@@ -0,0 +1,17 @@
+package com.labnote.backend;
+
+import com.vladsch.flexmark.html2md.converter.FlexmarkHtmlConverter;
+import org.springframework.stereotype.Component;
+
+/**
+ * HTML 본문 -> Markdown 변환기 (요청마다 새로 만들지 않고 하나를 공유)
+ */
+@Component
+public class MarkdownConverter {
+
+    private final FlexmarkHtmlConverter converter = FlexmarkHtmlConverter.builder().build();
+
+    public String toMarkdown(String html) {
+        return converter.convert(html == null ? "" : html);
+    }
+}
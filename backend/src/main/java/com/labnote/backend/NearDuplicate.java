@@ -0,0 +1,19 @@
+package com.labnote.backend;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 유사 노트 조회 결과 (similarity: 추정 Jaccard 유사도 0~1)
+ */
+@Getter
+@AllArgsConstructor
+public class NearDuplicate {
+
+    private Long id;
+    private String title;
+    private LocalDateTime updatedAt;
+    private double similarity;
+}
@@ -0,0 +1,323 @@
+package com.labnote.backend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * MinHash/LSH 기반 유사 노트(복사된 프로토콜 등) 탐지
+ * - 저장 시 본문 텍스트의 3단어 묶음(shingle)으로 MinHash 서명(128개 해시)을 만들어 entry_signatures에 저장
+ * - 서명을 16개 밴드(밴드당 8행)로 나눠 entry_lsh_buckets에 색인 -> 버킷이 하나라도 같은 노트만 후보로 비교
+ * - 유사도 s인 두 노트가 후보가 될 확률은 1 - (1 - s^8)^16 입니다. (s=0.7: 약 61%, s=0.75: 약 82%, s=0.8: 약 95%)
+ *   그보다 낮은 유사도는 후보에서 자주 빠지므로, threshold는 MIN_THRESHOLD(0.8) 이상만 받습니다.
+ */
+@Service
+public class NearDuplicateService {
+
+    private static final Logger log = LoggerFactory.getLogger(NearDuplicateService.class);
+
+    private static final int NUM_HASHES = 128;
+    private static final int BANDS = 16;
+    private static final int ROWS_PER_BAND = NUM_HASHES / BANDS;
+    private static final int SHINGLE_SIZE = 3;
+    static final int SIGNATURE_BYTES = NUM_HASHES * Integer.BYTES;
+
+    // 이 유사도 이상인 노트는 약 95% 확률로 후보에 포함됨 (밴드/행 수를 바꾸면 함께 조정)
+    public static final double MIN_THRESHOLD = 0.8;
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // 해시 함수 계수 - 서명이 재시작 후에도 같도록 고정 시드 사용 (바꾸면 모든 서명을 다시 만들어야 함)
+    private static final long[] HASH_A = new long[NUM_HASHES];
+    private static final long[] HASH_B = new long[NUM_HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EEDL);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            HASH_A[i] = random.nextLong() | 1L; // 홀수
+            HASH_B[i] = random.nextLong();
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${entry.near-duplicates.default-threshold:0.8}")
+    private double defaultThreshold;
+
+    @Value("${entry.near-duplicates.backfill-batch-size:100}")
+    private int backfillBatchSize;
+
+    @Value("${entry.near-duplicates.backfill-pause-ms:200}")
+    private long backfillPauseMillis;
+
+    private volatile boolean backfillCompleted = false;
+
+    public NearDuplicateService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 저장된 노트의 서명과 LSH 버킷을 갱신합니다. (노트 ID가 있어야 하므로 저장 후, 같은 트랜잭션 안에서 호출)
+     */
+    public void updateSignature(Entry entry) {
+        // [수정] 저장 시 만든 순수 텍스트가 있으면 HTML을 다시 파싱하지 않음
+        String plainText = entry.getPlainText();
+        storeSignature(entry.getId(), entry.getUser().getId(),
+                plainText != null ? signatureOfText(plainText) : signatureOf(entry.getContent()));
+    }
+
+    /**
+     * 유사도가 threshold 이상인 같은 사용자의 노트 목록 (유사도 높은 순)
+     * threshold가 MIN_THRESHOLD보다 낮으면 MIN_THRESHOLD로 올립니다. (그 아래는 LSH 후보에서 누락되는 비율이 커서 결과를 믿을 수 없음)
+     */
+    public List<NearDuplicate> findNearDuplicates(Entry entry, Double threshold) {
+        double minSimilarity = Math.max(MIN_THRESHOLD, threshold != null ? threshold : defaultThreshold);
+        int[] signature = loadSignature(entry.getId());
+        if (signature == null) {
+            return List.of();
+        }
+
+        // 1. 같은 버킷을 공유하는 후보만 조회 (인덱스 사용, 전체 비교 없음)
+        List<Map<String, Object>> candidates = jdbcTemplate.queryForList(
+                "SELECT s.entry_id, s.signature FROM entry_signatures s WHERE s.entry_id IN (" +
+                " SELECT DISTINCT b2.entry_id FROM entry_lsh_buckets b1 JOIN entry_lsh_buckets b2" +
+                " ON b2.user_id = b1.user_id AND b2.band = b1.band AND b2.bucket_hash = b1.bucket_hash" +
+                " WHERE b1.entry_id = ? AND b2.entry_id <> ?)", entry.getId(), entry.getId());
+
+        // 2. 후보와 서명 비교로 유사도 추정
+        Map<Long, Double> similarities = new HashMap<>();
+        for (Map<String, Object> candidate : candidates) {
+            int[] other = decode((byte[]) candidate.get("signature"));
+            double similarity = estimateSimilarity(signature, other);
+            if (similarity >= minSimilarity) {
+                similarities.put(((Number) candidate.get("entry_id")).longValue(), similarity);
+            }
+        }
+        if (similarities.isEmpty()) {
+            return List.of();
+        }
+
+        return entryRepository.findLinkNodes(entry.getUser(), similarities.keySet()).stream()
+                .map(node -> new NearDuplicate(node.getId(), node.getTitle(), node.getUpdatedAt(), similarities.get(node.getId())))
+                .sorted(Comparator.comparingDouble(NearDuplicate::getSimilarity).reversed())
+                .toList();
+    }
+
+    /**
+     * 서명이 없는 기존 노트의 서명을 조금씩 만듭니다. 더 이상 대상이 없으면 멈춥니다.
+     */
+    @Scheduled(initialDelayString = "${entry.near-duplicates.backfill-initial-delay-ms:60000}",
+            fixedDelayString = "${entry.near-duplicates.backfill-interval-ms:600000}")
+    public void backfill() {
+        if (backfillCompleted) {
+            return;
+        }
+        long signed = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> backfillBatch());
+            if (count == null || count == 0) {
+                break;
+            }
+            signed += count;
+            pause();
+        }
+        if (signed > 0) {
+            log.info("유사 노트 서명: 기존 노트 {}개 처리", signed);
+        }
+        backfillCompleted = true;
+    }
+
+    private int backfillBatch() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT e.id, e.user_id, c.content FROM entries e" +
+                " LEFT JOIN entry_contents c ON c.id = e.content_id" +
+                " LEFT JOIN entry_signatures s ON s.entry_id = e.id" +
+                " WHERE s.entry_id IS NULL ORDER BY e.id LIMIT ?", backfillBatchSize);
+        for (Map<String, Object> row : rows) {
+            storeSignature(((Number) row.get("id")).longValue(), ((Number) row.get("user_id")).longValue(),
+                    signatureOf(ContentCompressor.decode((String) row.get("content"))));
+        }
+        return rows.size();
+    }
+
+    private void storeSignature(long entryId, long userId, int[] signature) {
+        byte[] encoded = signature != null ? encode(signature) : null;
+        List<byte[]> existing = jdbcTemplate.query("SELECT signature FROM entry_signatures WHERE entry_id = ?",
+                (rs, rowNum) -> rs.getBytes(1), entryId);
+        if (!existing.isEmpty() && Arrays.equals(existing.get(0), encoded)) {
+            return; // 본문 텍스트가 그대로면 버킷도 그대로
+        }
+
+        if (existing.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO entry_signatures (entry_id, user_id, signature) VALUES (?, ?, ?)",
+                    entryId, userId, encoded);
+        } else {
+            jdbcTemplate.update("UPDATE entry_signatures SET signature = ? WHERE entry_id = ?", encoded, entryId);
+        }
+
+        jdbcTemplate.update("DELETE FROM entry_lsh_buckets WHERE entry_id = ?", entryId);
+        if (signature != null) {
+            long[] buckets = bandHashes(signature);
+            jdbcTemplate.batchUpdate("INSERT INTO entry_lsh_buckets (entry_id, user_id, band, bucket_hash) VALUES (?, ?, ?, ?)",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int band) throws SQLException {
+                            ps.setLong(1, entryId);
+                            ps.setLong(2, userId);
+                            ps.setInt(3, band);
+                            ps.setLong(4, buckets[band]);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return BANDS;
+                        }
+                    });
+        }
+    }
+
+    private int[] loadSignature(long entryId) {
+        List<byte[]> rows = jdbcTemplate.query("SELECT signature FROM entry_signatures WHERE entry_id = ?",
+                (rs, rowNum) -> rs.getBytes(1), entryId);
+        return rows.isEmpty() || rows.get(0) == null ? null : decode(rows.get(0));
+    }
+
+    // --- MinHash ---
+
+    /**
+     * HTML 본문의 MinHash 서명. 텍스트가 없으면 null
+     */
+    static int[] signatureOf(String html) {
+        if (html == null || html.isBlank()) {
+            return null;
+        }
+        return signatureOfText(ContentNormalizer.toPlainText(html));
+    }
+
+    /**
+     * 순수 텍스트의 MinHash 서명. 단어가 없으면 null
+     */
+    static int[] signatureOfText(String text) {
+        Set<Long> shingles = shingles(text);
+        if (shingles.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < NUM_HASHES; i++) {
+                // multiply-shift 해시의 상위 31비트 (부호 없는 비교를 피하기 위해 양수로)
+                int hash = (int) ((HASH_A[i] * shingle + HASH_B[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    // 소문자 단어 3개씩 묶은 shingle의 64비트 해시 (단어가 3개 미만이면 전체를 하나로)
+    private static Set<Long> shingles(String text) {
+        String[] tokens = Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toArray(String[]::new);
+        Set<Long> shingles = new HashSet<>();
+        if (tokens.length == 0) {
+            return shingles;
+        }
+        if (tokens.length < SHINGLE_SIZE) {
+            shingles.add(hash64(String.join(" ", tokens)));
+            return shingles;
+        }
+        for (int i = 0; i + SHINGLE_SIZE <= tokens.length; i++) {
+            shingles.add(hash64(String.join(" ", Arrays.copyOfRange(tokens, i, i + SHINGLE_SIZE))));
+        }
+        return shingles;
+    }
+
+    static double estimateSimilarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / NUM_HASHES;
+    }
+
+    /**
+     * 유사도 similarity인 두 노트가 밴드 하나 이상을 공유해서 후보가 될 확률
+     */
+    static double candidateProbability(double similarity) {
+        return 1 - Math.pow(1 - Math.pow(similarity, ROWS_PER_BAND), BANDS);
+    }
+
+    private static long[] bandHashes(int[] signature) {
+        long[] hashes = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long hash = 0xcbf29ce484222325L;
+            for (int row = 0; row < ROWS_PER_BAND; row++) {
+                hash = (hash ^ signature[band * ROWS_PER_BAND + row]) * 0x100000001b3L;
+            }
+            hashes[band] = hash;
+        }
+        return hashes;
+    }
+
+    // FNV-1a 64비트 + 비트 섞기
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        hash ^= (hash >>> 33);
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= (hash >>> 33);
+        return hash;
+    }
+
+    private static byte[] encode(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(SIGNATURE_BYTES);
+        for (int value : signature) {
+            buffer.putInt(value);
+        }
+        return buffer.array();
+    }
+
+    private static int[] decode(byte[] bytes) {
+        int[] signature = new int[NUM_HASHES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    private void pause() {
+        if (backfillPauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(backfillPauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
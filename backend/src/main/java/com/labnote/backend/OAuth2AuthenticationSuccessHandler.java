@@ -19,11 +19,13 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
     private final JwtTokenUtil jwtTokenUtil;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UsernameIndex usernameIndex;
 
-    public OAuth2AuthenticationSuccessHandler(JwtTokenUtil jwtTokenUtil, UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public OAuth2AuthenticationSuccessHandler(JwtTokenUtil jwtTokenUtil, UserRepository userRepository, PasswordEncoder passwordEncoder, UsernameIndex usernameIndex) {
         this.jwtTokenUtil = jwtTokenUtil;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.usernameIndex = usernameIndex;
     }
 
 
@@ -42,7 +44,9 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
                     newUser.setProvider(provider);
                     String pictureUrl = oAuth2User.getAttribute("picture");
                     newUser.setPicture(pictureUrl);
-                    return userRepository.save(newUser);
+                    User saved = userRepository.save(newUser);
+                    usernameIndex.add(saved.getUsername()); // [추가] 아이디 중복 확인 색인에 반영
+                    return saved;
                 });
 
         String token = jwtTokenUtil.generateToken(user);
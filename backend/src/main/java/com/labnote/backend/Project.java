@@ -13,7 +13,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = @Index(name = "idx_projects_user", columnList = "user_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -55,4 +55,4 @@ public class Project {
     @JoinColumn(name = "user_id", nullable = false) // 'user_id' 외래 키, null 불가
     @JsonIgnore // Entry -> Project -> User 무한 루프 방지
     private User user; // 이 프로젝트의 소유자
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package com.labnote.backend;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.Authentication; // [추가]
 import org.springframework.security.core.userdetails.UsernameNotFoundException; // [추가]
@@ -9,6 +10,7 @@ import java.security.Principal; // [추가]
 import java.nio.file.AccessDeniedException; // [추가]
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -24,6 +26,12 @@ public class ProjectController {
     @Autowired
     private UserRepository userRepository; // [추가]
 
+    @Autowired
+    private StatsService statsService; // [추가] 프로젝트별 노트 수/최근 활동 카운터
+
+    @Autowired
+    private SearchResultCache searchResultCache; // [추가] 검색 결과 캐시
+
     // --- [추가] 현재 로그인한 User 객체를 가져오는 헬퍼 메소드 ---
     private com.labnote.backend.User getAuthenticatedUser(Principal principal) {
         String username = principal.getName();
@@ -33,25 +41,35 @@ public class ProjectController {
 
     // 1. (R) 모든 프로젝트 조회 [수정]
     @GetMapping
-    public List<Project> getAllProjects(Principal principal) { // [수정] Principal 추가
+    @Transactional(readOnly = true) // [추가] 읽기 전용 -> 복제본 DB 사용 가능
+    public List<ProjectResponse> getAllProjects(@RequestParam(value = "includeStats", defaultValue = "false") boolean includeStats, // [추가]
+                                        Principal principal) { // [수정] Principal 추가
         // [수정] DB의 모든 Project가 아닌, "로그인한 유저"의 Project만 반환
         com.labnote.backend.User user = getAuthenticatedUser(principal);
-        return projectRepository.findByUser(user);
+        List<Project> projects = projectRepository.findByUser(user);
+
+        // [추가] 요청 시 통계 카운터에서 노트 수와 마지막 활동 일시를 채워 줌
+        if (includeStats) {
+            Map<Long, ProjectStats> stats = statsService.getProjectStats(user);
+            return projects.stream().map(project -> ProjectResponse.withStats(project, stats.get(project.getId()))).toList();
+        }
+        return projects.stream().map(ProjectResponse::from).toList(); // [수정] 응답 DTO로 변환
     }
 
     // 2. (C) 새 프로젝트 생성 [수정]
     @PostMapping
-    public Project createProject(@RequestBody Project project, Principal principal) { // [수정]
+    public ProjectResponse createProject(@RequestBody Project project, Principal principal) { // [수정]
         com.labnote.backend.User user = getAuthenticatedUser(principal);
 
         // [수정] 프로젝트에 소유자(User) 설정
         project.setUser(user);
 
-        return projectRepository.save(project);
+        return ProjectResponse.from(projectRepository.save(project));
     }
 
     // 3. (D) 프로젝트 삭제 [수정]
     @DeleteMapping("/{id}")
+    @Transactional
     public ResponseEntity<Void> deleteProject(@PathVariable Long id, Principal principal) throws AccessDeniedException { // [수정]
         com.labnote.backend.User user = getAuthenticatedUser(principal);
 
@@ -71,6 +89,8 @@ public class ProjectController {
             entryRepository.save(entry);
         }
 
+        statsService.recordProjectDeleted(user, id, entriesToUpdate.size()); // [추가] 통계 카운터
+        searchResultCache.invalidate(user.getId()); // [추가] 검색 결과 캐시 무효화
         projectRepository.delete(project);
 
         return ResponseEntity.noContent().build();
@@ -0,0 +1,44 @@
+package com.labnote.backend;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 프로젝트 응답 DTO (트랜잭션 안에서 엔티티로부터 만들어서 직렬화 중에 DB를 읽지 않음)
+ * entryCount, lastActivityAt은 GET /api/projects?includeStats=true 일 때만 포함됩니다.
+ */
+@Getter
+@AllArgsConstructor
+public class ProjectResponse {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Long entryCount;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final LocalDateTime lastActivityAt;
+
+    public static ProjectResponse from(Project project) {
+        if (project == null) {
+            return null;
+        }
+        return new ProjectResponse(project.getId(), project.getName(), project.getDescription(),
+                project.getCreatedAt(), project.getUpdatedAt(), null, null);
+    }
+
+    /**
+     * 통계 카운터 값을 포함한 응답 (카운터가 없으면 노트 0개)
+     */
+    public static ProjectResponse withStats(Project project, ProjectStats stats) {
+        return new ProjectResponse(project.getId(), project.getName(), project.getDescription(),
+                project.getCreatedAt(), project.getUpdatedAt(),
+                stats == null ? 0L : stats.getEntryCount(), stats == null ? null : stats.getLastActivityAt());
+    }
+}
@@ -0,0 +1,30 @@
+package com.labnote.backend;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 프로젝트별 노트 수 / 마지막 활동 일시 카운터
+ */
+@Entity
+@Table(name = "project_stats", indexes = @Index(name = "idx_project_stats_user", columnList = "user_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProjectStats {
+
+    @Id
+    private Long projectId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private long entryCount;
+
+    private LocalDateTime lastActivityAt;
+}
@@ -0,0 +1,19 @@
+package com.labnote.backend;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProjectStatsRepository extends JpaRepository<ProjectStats, Long> {
+
+    List<ProjectStats> findByUserId(Long userId);
+
+    @Modifying
+    @Query("DELETE FROM ProjectStats s WHERE s.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,174 @@
+package com.labnote.backend;
+
+import com.labnote.backend.RateLimitProperties.EndpointClass;
+import com.labnote.backend.RateLimitProperties.Limit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별 토큰 버킷 요청 제한 + 비싼 엔드포인트(검색/내보내기/업로드) 동시 처리 수 제한(bulkhead)
+ * - JWT 인증 필터 다음에 실행되어 인증된 사용자 이름을 키로 사용 (인증 전 요청은 IP 기준)
+ * - 요청 한도 초과: 429 + Retry-After
+ * - 동시 처리 한도 초과: 503 + Retry-After (대기하지 않고 즉시 거절해서 다른 사용자의 지연 시간을 보호)
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    // "사용자|엔드포인트 구분" -> 버킷
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<EndpointClass, Semaphore> bulkheads = new EnumMap<>(EndpointClass.class);
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            int maxConcurrent = properties.limitFor(endpointClass).getMaxConcurrent();
+            if (maxConcurrent > 0) {
+                Semaphore semaphore = new Semaphore(maxConcurrent);
+                bulkheads.put(endpointClass, semaphore);
+                meterRegistry.gauge("labnote.bulkhead.in_flight",
+                        Tags.of("endpoint", tag(endpointClass)),
+                        semaphore, s -> maxConcurrent - s.availablePermits());
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        EndpointClass endpointClass = classify(request);
+        Limit limit = properties.limitFor(endpointClass);
+
+        // 1. 사용자별 요청 속도 제한
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(clientKey(request) + "|" + endpointClass,
+                key -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond(), now));
+        long waitNanos = bucket.tryConsume(now);
+        if (waitNanos > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, endpointClass, "rate",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)),
+                    "요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+            return;
+        }
+
+        // 2. 전체 동시 처리 수 제한
+        Semaphore bulkhead = bulkheads.get(endpointClass);
+        if (bulkhead == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!bulkhead.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, endpointClass, "bulkhead", 1,
+                    "서버가 바쁩니다. 잠시 후 다시 시도해 주세요.");
+            return;
+        }
+        boolean asyncStarted = false;
+        try {
+            chain.doFilter(request, response);
+            asyncStarted = request.isAsyncStarted();
+        } finally {
+            if (asyncStarted) {
+                // [추가] 비동기 처리(전용 스레드 풀)로 넘어간 요청은 응답이 끝날 때 반납
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        bulkhead.release();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        // 비동기 처리가 이어지면(예: 결과를 스트리밍 응답으로 쓰기) 리스너가 초기화되므로 다시 등록
+                        event.getAsyncContext().addListener(this);
+                    }
+                });
+            } else {
+                bulkhead.release();
+            }
+        }
+    }
+
+    static EndpointClass classify(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String method = request.getMethod();
+        if ("POST".equals(method) && uri.equals("/api/entries/images")) {
+            return EndpointClass.UPLOAD;
+        }
+        if ("GET".equals(method) && uri.startsWith("/api/entries/") && uri.endsWith("/export/markdown")) {
+            return EndpointClass.EXPORT;
+        }
+        if ("GET".equals(method) && uri.equals("/api/entries/versions/search")) {
+            return EndpointClass.SEARCH;
+        }
+        if ("GET".equals(method) && uri.equals("/api/entries") && request.getParameter("search") != null) {
+            return EndpointClass.SEARCH;
+        }
+        return EndpointClass.DEFAULT;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && authentication.getName() != null) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, EndpointClass endpointClass,
+                        String reason, long retryAfterSeconds, String message) throws IOException {
+        meterRegistry.counter("labnote.ratelimit.rejected",
+                "endpoint", tag(endpointClass), "reason", reason).increment();
+        response.setStatus(status.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+
+    private static String tag(EndpointClass endpointClass) {
+        return endpointClass.name().toLowerCase();
+    }
+
+    // 오래 쓰지 않아 가득 찬 버킷은 새로 만든 것과 같으므로 제거
+    @Scheduled(fixedDelayString = "${app.rate-limit.idle-evict-ms:600000}")
+    public void evictIdleBuckets() {
+        long idleBefore = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(properties.getIdleEvictMs());
+        buckets.values().removeIf(bucket -> bucket.isIdle(idleBefore));
+    }
+}
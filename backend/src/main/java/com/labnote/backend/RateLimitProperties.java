@@ -0,0 +1,100 @@
+package com.labnote.backend;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * 사용자별 요청 제한 설정 (app.rate-limit.*)
+ * 예)
+ *   app.rate-limit.enabled=true
+ *   app.rate-limit.limits.search.capacity=10             (버스트 허용 개수)
+ *   app.rate-limit.limits.search.refill-per-second=2     (초당 충전 개수)
+ *   app.rate-limit.limits.search.max-concurrent=16       (전체 사용자 합산 동시 처리 수, 0이면 제한 없음)
+ * 엔드포인트 구분: search, export, upload, default
+ * 엔드포인트마다 기본값이 있는 객체에 바인딩하므로 일부 항목만 설정해도 나머지는 기본값을 유지하고,
+ * 잘못된 값(0 이하의 용량/충전 속도 등)은 시작할 때 거부합니다.
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // 이 시간(ms) 동안 쓰이지 않은 사용자 버킷은 메모리에서 정리
+    @Min(1)
+    private long idleEvictMs = 600_000;
+
+    @Valid
+    private Limits limits = new Limits();
+
+    public Limit limitFor(EndpointClass endpointClass) {
+        return switch (endpointClass) {
+            case SEARCH -> limits.getSearch();
+            case EXPORT -> limits.getExport();
+            case UPLOAD -> limits.getUpload();
+            case DEFAULT -> limits.getDefault();
+        };
+    }
+
+    public enum EndpointClass {
+        SEARCH, EXPORT, UPLOAD, DEFAULT
+    }
+
+    public static class Limits {
+        @Valid
+        @Getter
+        @Setter
+        private Limit search = new Limit(20, 5, 16);
+
+        @Valid
+        @Getter
+        @Setter
+        private Limit export = new Limit(10, 1, 8);
+
+        @Valid
+        @Getter
+        @Setter
+        private Limit upload = new Limit(10, 1, 8);
+
+        @Valid
+        private Limit defaultLimit = new Limit(100, 20, 0); // 'default'는 예약어라서 필드 이름만 다름 (설정 키는 limits.default.*)
+
+        public Limit getDefault() {
+            return defaultLimit;
+        }
+
+        public void setDefault(Limit defaultLimit) {
+            this.defaultLimit = defaultLimit;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+        @Min(1)
+        private long capacity;
+
+        @Positive
+        private double refillPerSecond;
+
+        @PositiveOrZero
+        private int maxConcurrent;
+
+        public Limit() {
+        }
+
+        public Limit(long capacity, double refillPerSecond, int maxConcurrent) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+            this.maxConcurrent = maxConcurrent;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.labnote.backend;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 복제본 설정 (app.datasource.routing.*)
+ * 예)
+ *   app.datasource.routing.enabled=true
+ *   app.datasource.routing.replicas[0].url=jdbc:mariadb://replica1:3306/labnote
+ *   app.datasource.routing.replicas[0].username=...
+ *   app.datasource.routing.replicas[0].password=...
+ *   app.datasource.routing.health-check-interval-ms=5000   (복제 지연 확인 주기)
+ *   app.datasource.routing.sticky-primary-ms=5000          (쓰기 후 같은 사용자의 읽기를 primary로 보내는 시간)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.datasource.routing")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // 이 값(초)보다 복제 지연이 크면 복제본을 라우팅에서 제외
+    private long maxLagSeconds = 10;
+
+    // 복제 지연 조회 쿼리와 결과 컬럼 (비워 두면 연결 가능 여부만 확인)
+    private String lagQuery = "SHOW SLAVE STATUS";
+    private String lagColumn = "Seconds_Behind_Master";
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -0,0 +1,58 @@
+package com.labnote.backend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * 복제본의 복제 지연(lag)을 주기적으로 확인해서, 지연이 크거나 연결이 안 되는 복제본을 라우팅에서 제외합니다.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final ReplicaDataSourceProperties properties;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, ReplicaDataSourceProperties properties) {
+        this.routingDataSource = routingDataSource;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (String key : routingDataSource.getReplicaKeys()) {
+            DataSource dataSource = routingDataSource.getResolvedDataSources().get(key);
+            boolean healthy = isHealthy(dataSource);
+            if (healthy != routingDataSource.isReplicaHealthy(key)) {
+                log.warn("복제본 {} 상태 변경: {}", key, healthy ? "사용 가능" : "라우팅에서 제외");
+            }
+            routingDataSource.setReplicaHealthy(key, healthy);
+        }
+    }
+
+    private boolean isHealthy(DataSource dataSource) {
+        String lagQuery = properties.getLagQuery();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                return connection.isValid(2);
+            }
+            try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                if (!rs.next()) {
+                    return false; // 복제 상태를 알 수 없음
+                }
+                Object lag = rs.getObject(properties.getLagColumn());
+                // null이면 복제가 멈춘 상태
+                return lag != null && Long.parseLong(lag.toString()) <= properties.getMaxLagSeconds();
+            }
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
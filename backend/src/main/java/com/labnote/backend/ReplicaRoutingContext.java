@@ -0,0 +1,25 @@
+package com.labnote.backend;
+
+/**
+ * 현재 요청이 읽기 전용 복제본(replica) DB를 사용해도 되는지를 담는 스레드 로컬 컨텍스트
+ * ReplicaRoutingInterceptor가 @Transactional(readOnly = true)로 표시된 컨트롤러 요청에서만 켭니다.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void allowReplica() {
+        REPLICA_ALLOWED.set(Boolean.TRUE);
+    }
+
+    public static boolean isReplicaAllowed() {
+        return Boolean.TRUE.equals(REPLICA_ALLOWED.get());
+    }
+
+    public static void clear() {
+        REPLICA_ALLOWED.remove();
+    }
+}
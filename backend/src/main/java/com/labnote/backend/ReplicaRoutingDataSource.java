@@ -0,0 +1,63 @@
+package com.labnote.backend;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 전용 트랜잭션을 복제본 DB로 보내는 라우팅 DataSource
+ * - 읽기 전용 요청(ReplicaRoutingContext) + 읽기 전용 트랜잭션일 때만 정상 상태의 복제본을 라운드로빈으로 선택
+ * - 그 외(쓰기, 방금 쓴 사용자의 읽기, 백그라운드 작업)는 모두 primary
+ * (LazyConnectionDataSourceProxy로 감싸서 트랜잭션 속성이 정해진 뒤에 커넥션을 고르도록 사용)
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<String> replicaKeys;
+    private final Set<String> healthyReplicas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(List<String> replicaKeys) {
+        this.replicaKeys = List.copyOf(replicaKeys);
+        this.healthyReplicas.addAll(replicaKeys);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!ReplicaRoutingContext.isReplicaAllowed() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        int size = replicaKeys.size();
+        int start = Math.floorMod(counter.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get((start + i) % size);
+            if (healthyReplicas.contains(key)) {
+                return key;
+            }
+        }
+        // 사용 가능한 복제본이 없으면 primary로
+        return PRIMARY;
+    }
+
+    public List<String> getReplicaKeys() {
+        return replicaKeys;
+    }
+
+    // 복제 지연이 크거나 연결이 안 되는 복제본은 라우팅에서 제외
+    public void setReplicaHealthy(String key, boolean healthy) {
+        if (healthy) {
+            healthyReplicas.add(key);
+        } else {
+            healthyReplicas.remove(key);
+        }
+    }
+
+    public boolean isReplicaHealthy(String key) {
+        return healthyReplicas.contains(key);
+    }
+}
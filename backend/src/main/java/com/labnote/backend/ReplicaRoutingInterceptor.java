@@ -0,0 +1,86 @@
+package com.labnote.backend;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @Transactional(readOnly = true)로 표시된 컨트롤러 요청에서만 복제본 DB 사용을 허용하는 인터셉터
+ * 쓰기 요청을 보낸 사용자는 잠시 동안(sticky-primary-ms) 읽기도 primary에서 처리해서 방금 쓴 내용을 바로 볼 수 있게 합니다.
+ * (라우팅이 꺼져 있으면 컨텍스트 값은 사용되지 않음)
+ */
+@Component
+public class ReplicaRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    @Value("${app.datasource.routing.sticky-primary-ms:5000}")
+    private long stickyPrimaryMillis;
+
+    // 사용자 이름 -> 마지막 쓰기 요청 완료 시각
+    private final Map<String, Long> lastWriteAt = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRoutingContext.clear();
+        if (handler instanceof HandlerMethod handlerMethod && isReadOnly(handlerMethod) && !wroteRecently(request)) {
+            ReplicaRoutingContext.allowReplica();
+        }
+        return true;
+    }
+
+    // [추가] 비동기 처리로 넘어가면 요청 스레드가 풀로 돌아가므로 여기서 정리 (afterCompletion은 비동기 디스패치 후 호출됨)
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingContext.clear();
+        Principal principal = request.getUserPrincipal();
+        if (principal != null && isWriteMethod(request.getMethod())) {
+            lastWriteAt.put(principal.getName(), System.currentTimeMillis());
+        }
+    }
+
+    private boolean isReadOnly(HandlerMethod handlerMethod) {
+        Transactional transactional = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), Transactional.class);
+        return transactional != null && transactional.readOnly();
+    }
+
+    private boolean wroteRecently(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteAt.get(principal.getName());
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - writtenAt > stickyPrimaryMillis) {
+            lastWriteAt.remove(principal.getName(), writtenAt);
+            return false;
+        }
+        return true;
+    }
+
+    // 고정 시간이 지난 사용자는 더 이상 primary에 묶이지 않으므로 제거 (쓰기 후 다시 읽지 않은 사용자가 쌓이지 않도록)
+    @Scheduled(fixedDelayString = "${app.datasource.routing.sticky-prune-interval-ms:60000}")
+    public void pruneExpiredWrites() {
+        long expiredBefore = System.currentTimeMillis() - stickyPrimaryMillis;
+        lastWriteAt.values().removeIf(writtenAt -> writtenAt < expiredBefore);
+    }
+
+    private boolean isWriteMethod(String method) {
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+}
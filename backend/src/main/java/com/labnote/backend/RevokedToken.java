@@ -0,0 +1,30 @@
+package com.labnote.backend;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 취소된 JWT (로그아웃, 사용자 이름 변경, 회원 탈퇴)
+ * 토큰이 만료된 뒤에는 필요 없으므로 TokenRevocationService가 expiresAt이 지난 행을 주기적으로 지웁니다.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "idx_revoked_tokens_expires", columnList = "expires_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @Column(length = 36)
+    private String jti; // 토큰 ID (UUID)
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt; // 토큰 자체의 만료 시각
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,181 @@
+package com.labnote.backend;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 노트 검색 결과(노트 ID 목록) 캐시 - 사용자 + 정규화된 검색어 단위
+ * - 전체 항목 수(max-entries)와 대략적인 메모리 사용량(max-bytes)을 넘으면 가장 오래 쓰지 않은 항목부터 버립니다. (LRU)
+ * - 사용자별 세대(generation) 번호를 두고, 노트가 바뀌면 세대를 올려서 그 사용자의 이전 결과를 한 번에 무효화합니다.
+ *   (결과는 검색을 시작할 때의 세대로 저장되므로, 검색 도중 수정이 커밋되면 그 결과는 쓰이지 않음)
+ * - "buf" 결과가 있으면 "buff" 검색은 그 결과 안에서만 좁혀서 찾을 수 있도록 가장 긴 접두어 결과를 찾아 줍니다.
+ */
+@Component
+public class SearchResultCache {
+
+    // 항목 하나의 고정 비용 추정치 (맵 노드, 키 문자열, 배열 헤더 등)
+    private static final long ENTRY_OVERHEAD_BYTES = 128;
+
+    private final Map<String, CachedResult> results = new LinkedHashMap<>(256, 0.75f, true); // 접근 순서 = LRU
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+    private long totalBytes = 0;
+
+    @Value("${entry.search-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${entry.search-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${entry.search-cache.max-bytes:16777216}")
+    private long maxBytes;
+
+    private static class CachedResult {
+        private final long generation;
+        private final long[] entryIds;
+        private final long bytes;
+
+        private CachedResult(long generation, long[] entryIds, String key) {
+            this.generation = generation;
+            this.entryIds = entryIds;
+            this.bytes = ENTRY_OVERHEAD_BYTES + 2L * key.length() + 8L * entryIds.length;
+        }
+    }
+
+    /**
+     * 접두어 캐시 조회 결과 (prefix: 캐시된 검색어, entryIds: 그 검색 결과)
+     */
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class PrefixHit {
+        private final String prefix;
+        private final long[] entryIds;
+    }
+
+    public SearchResultCache(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("labnote.search.cache.entries", this, cache -> cache.size());
+        meterRegistry.gauge("labnote.search.cache.bytes", this, cache -> cache.bytes());
+    }
+
+    /**
+     * 검색어 정규화 (앞뒤 공백 제거, 연속 공백 하나로, 소문자)
+     */
+    public static String normalize(String query) {
+        return query.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 현재 세대 번호 (검색을 시작하기 전에 읽어 두고 put에 넘김)
+     */
+    public long generation(Long userId) {
+        return generations.computeIfAbsent(userId, id -> new AtomicLong()).get();
+    }
+
+    /**
+     * 같은 검색어의 결과 (없거나 세대가 지났으면 null)
+     */
+    public synchronized long[] get(Long userId, String query, long generation) {
+        return current(key(userId, query), generation);
+    }
+
+    /**
+     * 검색어의 가장 긴 접두어(검색어 자신 제외)의 결과 (없으면 null)
+     */
+    public synchronized PrefixHit findPrefix(Long userId, String query, long generation) {
+        for (int length = query.length() - 1; length > 0; length--) {
+            String prefix = query.substring(0, length);
+            long[] entryIds = current(key(userId, prefix), generation);
+            if (entryIds != null) {
+                return new PrefixHit(prefix, entryIds);
+            }
+        }
+        return null;
+    }
+
+    public synchronized void put(Long userId, String query, long generation, long[] entryIds) {
+        if (!enabled) {
+            return;
+        }
+        String key = key(userId, query);
+        CachedResult result = new CachedResult(generation, entryIds, key);
+        CachedResult existing = results.get(key);
+        if (result.bytes > maxBytes || (existing != null && existing.generation > generation)) {
+            return; // 늦게 끝난 이전 세대의 검색이 새 결과를 덮어쓰지 않도록
+        }
+        CachedResult previous = results.put(key, result);
+        if (previous != null) {
+            totalBytes -= previous.bytes;
+        }
+        totalBytes += result.bytes;
+
+        Iterator<CachedResult> eldest = results.values().iterator();
+        while ((results.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+            totalBytes -= eldest.next().bytes;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * 사용자의 캐시된 검색 결과를 모두 무효화합니다.
+     * 트랜잭션 안에서 호출하면 커밋된 뒤에 무효화합니다. (커밋 전 데이터로 다시 채워지는 것을 막기 위해)
+     */
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(userId);
+                }
+            });
+        } else {
+            bump(userId);
+        }
+    }
+
+    private void bump(Long userId) {
+        generations.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private long[] current(String key, long generation) {
+        CachedResult result = results.get(key);
+        if (result == null) {
+            return null;
+        }
+        if (result.generation != generation) {
+            if (result.generation < generation) {
+                results.remove(key); // 지난 세대는 바로 정리
+                totalBytes -= result.bytes;
+            }
+            return null;
+        }
+        return result.entryIds;
+    }
+
+    private static String key(Long userId, String query) {
+        return userId + ":" + query;
+    }
+
+    private synchronized int size() {
+        return results.size();
+    }
+
+    private synchronized long bytes() {
+        return totalBytes;
+    }
+}
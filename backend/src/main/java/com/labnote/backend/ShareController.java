@@ -0,0 +1,57 @@
+package com.labnote.backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 공유 링크 공개 페이지 (/share/{token})
+ * 로그인 없이 접근하며, DB를 읽지 않고 미리 만든 스냅샷만 보냅니다. (SecurityConfig의 별도 필터 체인)
+ */
+@RestController
+public class ShareController {
+
+    // 스냅샷은 이미 정리된 HTML이지만, 스크립트/폼/외부 리소스를 한 번 더 막음
+    private static final String CONTENT_SECURITY_POLICY =
+            "default-src 'none'; img-src 'self' data: https:; style-src 'unsafe-inline'; base-uri 'none'; form-action 'none'; frame-ancestors 'none'";
+
+    private static final MediaType TEXT_HTML_UTF8 = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+
+    @Autowired
+    private EntryShareService entryShareService;
+
+    // 캐시가 ETag로 다시 확인하기 전까지 그대로 쓸 수 있는 시간 (링크를 취소해도 이 시간 동안은 캐시에 남을 수 있음)
+    @Value("${share.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    @GetMapping(EntryShareService.PUBLIC_PATH + "{token}")
+    public ResponseEntity<byte[]> getSharedEntry(@PathVariable String token, WebRequest request) {
+        EntryShareService.Snapshot snapshot = entryShareService.snapshot(token);
+        if (snapshot == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        CacheControl cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic().mustRevalidate();
+        if (request.checkNotModified(snapshot.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getEtag()).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.getEtag())
+                .cacheControl(cacheControl)
+                .contentType(TEXT_HTML_UTF8)
+                .header("Content-Security-Policy", CONTENT_SECURITY_POLICY)
+                .header("Referrer-Policy", "no-referrer") // 링크의 토큰이 다른 사이트로 전달되지 않도록
+                .header("X-Robots-Tag", "noindex")
+                .body(snapshot.getHtml());
+    }
+}
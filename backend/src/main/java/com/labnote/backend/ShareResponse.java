@@ -0,0 +1,22 @@
+package com.labnote.backend;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 공유 링크 생성 응답
+ */
+@Getter
+@AllArgsConstructor
+public class ShareResponse {
+
+    private final String token;
+    private final String url; // 공개 경로 (/share/{token})
+    private final LocalDateTime createdAt;
+
+    public static ShareResponse from(EntryShare share) {
+        return new ShareResponse(share.getToken(), EntryShareService.PUBLIC_PATH + share.getToken(), share.getCreatedAt());
+    }
+}
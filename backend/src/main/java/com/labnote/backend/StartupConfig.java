@@ -0,0 +1,30 @@
+package com.labnote.backend;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * 빠른 시작 모드(fast-startup 프로필, spring.main.lazy-initialization=true) 설정
+ * 지연 초기화하면 동작하지 않는 빈은 항상 미리 생성합니다.
+ * - @Scheduled 메소드가 있는 빈: 생성되지 않으면 작업이 등록되지 않음
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> hasScheduledMethods(beanType);
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        boolean[] found = {false};
+        ReflectionUtils.doWithMethods(beanType,
+                method -> found[0] = true,
+                method -> !found[0] && AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+        return found[0];
+    }
+}
@@ -0,0 +1,127 @@
+package com.labnote.backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * 서버가 준비(ready) 상태가 되기 전에 자주 쓰는 경로를 미리 실행해서 첫 요청부터 빠르게 응답하도록 하는 워밍업
+ * - JWT 생성/검증, Jackson 직렬화, Hibernate 쿼리, Markdown 변환, HTTP 요청(보안 필터 체인 포함)
+ * - ApplicationRunner는 ApplicationReadyEvent / readiness(ACCEPTING_TRAFFIC) 이전에 실행됩니다.
+ * - 다른 러너(데이터 마이그레이션) 다음에 실행되도록 가장 낮은 우선순위
+ * 실패해도 서버 시작은 막지 않습니다.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    private static final String SAMPLE_HTML = "<h1>Warm-up</h1><p>pH <b>7.4</b> buffer, <a href=\"/entries/1\">link</a></p>" +
+            "<ul><li>step 1</li><li>step 2</li></ul><table><tr><td>a</td><td>b</td></tr></table>";
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    @Autowired
+    private MarkdownConverter markdownConverter;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    // JIT 컴파일이 시작될 정도로 반복
+    @Value("${app.warmup.iterations:50}")
+    private int iterations;
+
+    @Value("${app.warmup.http-requests:20}")
+    private int httpRequests;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        warm("JWT", this::warmJwt);
+        warm("Jackson", this::warmJackson);
+        warm("Markdown", () -> markdownConverter.toMarkdown(SAMPLE_HTML));
+        warm("Hibernate", this::warmHibernate);
+        warmHttp();
+        log.info("워밍업 완료: {}ms", System.currentTimeMillis() - started);
+    }
+
+    private void warm(String name, ThrowingRunnable task) {
+        try {
+            for (int i = 0; i < iterations; i++) {
+                task.run();
+            }
+        } catch (Exception e) {
+            log.warn("{} 워밍업 실패: {}", name, e.getMessage());
+        }
+    }
+
+    private void warmJwt() {
+        UserDetails user = User.withUsername("warmup").password("").authorities(List.of()).build();
+        String token = jwtTokenUtil.generateToken(user);
+        jwtTokenUtil.validateToken(token, user);
+    }
+
+    private void warmJackson() throws Exception {
+        Entry entry = new Entry();
+        entry.setTitle("warm-up");
+        entry.setContent(SAMPLE_HTML);
+        entry.setTags(List.of("a", "b"));
+        String json = objectMapper.writeValueAsString(entry);
+        objectMapper.readValue(json, Entry.class);
+    }
+
+    // 존재하지 않는 ID로 조회 - 커넥션 풀, 엔티티 로딩, 쿼리 계획을 준비
+    private void warmHibernate() {
+        entryRepository.findById(-1L);
+        entryRepository.existsById(-1L);
+    }
+
+    // 실제 HTTP 요청으로 Tomcat, DispatcherServlet, 보안 필터 체인, 컨트롤러를 준비
+    private void warmHttp() {
+        String port = environment.getProperty("local.server.port");
+        if (port == null || httpRequests <= 0) {
+            return;
+        }
+        RestClient client = RestClient.create("http://localhost:" + port);
+        try {
+            for (int i = 0; i < httpRequests; i++) {
+                client.get().uri("/api/auth/check-username?username={name}", "warmup-" + i)
+                        .retrieve().toBodilessEntity();
+            }
+        } catch (Exception e) {
+            log.warn("HTTP 워밍업 실패: {}", e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,34 @@
+package com.labnote.backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.Principal;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // --- 현재 로그인한 User 객체를 가져오는 헬퍼 메소드 ---
+    private User getAuthenticatedUser(Principal principal) {
+        String username = principal.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + username));
+    }
+
+    // (R) 대시보드 통계 (카운터 테이블에서 바로 조회)
+    @GetMapping
+    public StatsResponse getStats(Principal principal) {
+        User user = getAuthenticatedUser(principal);
+        return statsService.getStats(user);
+    }
+}
@@ -0,0 +1,38 @@
+package com.labnote.backend;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * GET /api/stats 응답 DTO
+ */
+@Getter
+@AllArgsConstructor
+public class StatsResponse {
+    private long totalEntries;
+    private long uncategorizedEntries;
+    private long storageBytes;
+    private LocalDateTime lastActivityAt;
+    private List<ProjectItem> projects;
+    private List<ActivityDay> activity;
+
+    @Getter
+    @AllArgsConstructor
+    public static class ProjectItem {
+        private Long projectId;
+        private String name;
+        private long entryCount;
+        private LocalDateTime lastActivityAt;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ActivityDay {
+        private LocalDate date;
+        private long count;
+    }
+}
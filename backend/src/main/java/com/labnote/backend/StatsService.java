@@ -0,0 +1,316 @@
+package com.labnote.backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 대시보드 통계 카운터(user_stats, project_stats, user_daily_activity)를 관리하는 서비스
+ * - 노트가 생성/수정/이동/삭제될 때 호출자의 트랜잭션 안에서 카운터를 증감합니다.
+ * - 카운터가 없는 사용자(기존 사용자)는 첫 통계 조회 때 한 번만 전체를 재계산합니다.
+ * - 프로젝트/일별 카운터는 행이 없으면 만들고 있으면 더하는 upsert 한 번으로 처리합니다.
+ *   (같은 날 두 탭에서 처음 저장하는 등 동시에 첫 행을 만들어도 중복 키 오류가 나지 않음)
+ */
+@Service
+public class StatsService {
+
+    private static final String UPSERT_PROJECT_SQL =
+            "INSERT INTO project_stats (project_id, user_id, entry_count, last_activity_at) VALUES (?, ?, ?, ?)" +
+            " ON DUPLICATE KEY UPDATE entry_count = entry_count + ?, last_activity_at = ?";
+
+    private static final String UPSERT_ACTIVITY_SQL =
+            "INSERT INTO user_daily_activity (user_id, activity_date, activity_count) VALUES (?, ?, ?)" +
+            " ON DUPLICATE KEY UPDATE activity_count = activity_count + ?";
+
+    // 재계산 전에 사용자 행을 먼저 만들어 잠금 (동시에 재계산하거나 카운터를 증감하는 요청은 커밋될 때까지 대기)
+    private static final String INSERT_USER_STATS_SQL =
+            "INSERT INTO user_stats (user_id, total_entries, uncategorized_entries, storage_bytes) VALUES (?, 0, 0, 0)" +
+            " ON DUPLICATE KEY UPDATE user_id = user_id";
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private ProjectStatsRepository projectStatsRepository;
+
+    @Autowired
+    private DailyActivityRepository dailyActivityRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate requiresNewTransaction;
+
+    // 활동 히트맵으로 돌려줄 기간 (일)
+    @Value("${stats.activity-days:365}")
+    private int activityDays;
+
+    public StatsService(PlatformTransactionManager transactionManager) {
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // --- 카운터 증감 (노트 변경 시) ---
+
+    @Transactional
+    public void recordCreated(User user, Project project, long bytes) {
+        LocalDateTime now = LocalDateTime.now();
+        if (userStatsRepository.adjust(user.getId(), 1, project == null ? 1 : 0, bytes, now) == 0) {
+            return; // 아직 초기화되지 않은 사용자 -> 첫 조회 때 재계산
+        }
+        adjustProject(user, project, 1, now);
+        incrementActivity(user, now.toLocalDate());
+    }
+
+    @Transactional
+    public void recordEdited(User user, Project project, long bytesDelta) {
+        LocalDateTime now = LocalDateTime.now();
+        if (userStatsRepository.adjust(user.getId(), 0, 0, bytesDelta, now) == 0) {
+            return;
+        }
+        adjustProject(user, project, 0, now);
+        incrementActivity(user, now.toLocalDate());
+    }
+
+    @Transactional
+    public void recordMoved(User user, Project from, Project to) {
+        Long fromId = from == null ? null : from.getId();
+        Long toId = to == null ? null : to.getId();
+        if (java.util.Objects.equals(fromId, toId)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long uncategorizedDelta = (from == null ? -1 : 0) + (to == null ? 1 : 0);
+        if (userStatsRepository.adjust(user.getId(), 0, uncategorizedDelta, 0, now) == 0) {
+            return;
+        }
+        adjustProject(user, from, -1, now);
+        adjustProject(user, to, 1, now);
+    }
+
+    @Transactional
+    public void recordDeleted(User user, Project project, long bytes) {
+        LocalDateTime now = LocalDateTime.now();
+        if (userStatsRepository.adjust(user.getId(), -1, project == null ? -1 : 0, -bytes, now) == 0) {
+            return;
+        }
+        adjustProject(user, project, -1, now);
+    }
+
+    // 프로젝트 삭제 시 소속 노트는 모두 미분류로 이동
+    @Transactional
+    public void recordProjectDeleted(User user, Long projectId, long movedEntries) {
+        LocalDateTime now = LocalDateTime.now();
+        userStatsRepository.adjust(user.getId(), 0, movedEntries, 0, now);
+        projectStatsRepository.deleteById(projectId);
+    }
+
+    // --- [추가] 일괄 작업 (POST /api/entries/bulk) - 키: 프로젝트 ID (null = 미분류) -> 노트 수 ---
+
+    @Transactional
+    public void recordBulkMoved(User user, Map<Long, Long> movedFrom, Project to) {
+        long moved = movedFrom.values().stream().mapToLong(Long::longValue).sum();
+        if (moved == 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long uncategorizedDelta = -movedFrom.getOrDefault(null, 0L) + (to == null ? moved : 0);
+        if (userStatsRepository.adjust(user.getId(), 0, uncategorizedDelta, 0, now) == 0) {
+            return;
+        }
+        movedFrom.forEach((projectId, count) -> adjustProject(user, projectId, -count, now));
+        adjustProject(user, to == null ? null : to.getId(), moved, now);
+    }
+
+    @Transactional
+    public void recordBulkEdited(User user, Map<Long, Long> countByProject) {
+        long edited = countByProject.values().stream().mapToLong(Long::longValue).sum();
+        LocalDateTime now = LocalDateTime.now();
+        if (edited == 0 || userStatsRepository.adjust(user.getId(), 0, 0, 0, now) == 0) {
+            return;
+        }
+        countByProject.keySet().forEach(projectId -> adjustProject(user, projectId, 0, now));
+        incrementActivity(user, now.toLocalDate(), edited);
+    }
+
+    @Transactional
+    public void recordBulkDeleted(User user, Map<Long, Long> countByProject, long bytes) {
+        long deleted = countByProject.values().stream().mapToLong(Long::longValue).sum();
+        LocalDateTime now = LocalDateTime.now();
+        if (deleted == 0 || userStatsRepository.adjust(user.getId(), -deleted, -countByProject.getOrDefault(null, 0L), -bytes, now) == 0) {
+            return;
+        }
+        countByProject.forEach((projectId, count) -> adjustProject(user, projectId, -count, now));
+    }
+
+    @Transactional
+    public void deleteAll(User user) {
+        userStatsRepository.deleteById(user.getId());
+        projectStatsRepository.deleteAllByUserId(user.getId());
+        dailyActivityRepository.deleteAllByUserId(user.getId());
+    }
+
+    // --- 조회 ---
+
+    @Transactional
+    public StatsResponse getStats(User user) {
+        UserStats stats = userStatsRepository.findById(user.getId()).orElseGet(() -> rebuild(user));
+
+        Map<Long, ProjectStats> projectStats = loadProjectStats(user);
+        List<StatsResponse.ProjectItem> projects = projectRepository.findByUser(user).stream()
+                .map(project -> {
+                    ProjectStats ps = projectStats.get(project.getId());
+                    return new StatsResponse.ProjectItem(project.getId(), project.getName(),
+                            ps == null ? 0 : ps.getEntryCount(), ps == null ? null : ps.getLastActivityAt());
+                })
+                .toList();
+
+        List<StatsResponse.ActivityDay> activity = dailyActivityRepository
+                .findByUserIdAndActivityDateGreaterThanEqualOrderByActivityDateAsc(
+                        user.getId(), LocalDate.now().minusDays(activityDays - 1L))
+                .stream()
+                .map(day -> new StatsResponse.ActivityDay(day.getActivityDate(), day.getActivityCount()))
+                .toList();
+
+        return new StatsResponse(stats.getTotalEntries(), stats.getUncategorizedEntries(), stats.getStorageBytes(),
+                stats.getLastActivityAt(), projects, activity);
+    }
+
+    /**
+     * 프로젝트 ID -> 카운터 (GET /api/projects?includeStats=true 용)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, ProjectStats> getProjectStats(User user) {
+        if (!userStatsRepository.existsById(user.getId())) {
+            // 재계산은 쓰기 작업이므로 별도 트랜잭션(primary DB)에서 실행
+            return requiresNewTransaction.execute(status -> {
+                rebuild(user);
+                return loadProjectStats(user);
+            });
+        }
+        return loadProjectStats(user);
+    }
+
+    private Map<Long, ProjectStats> loadProjectStats(User user) {
+        Map<Long, ProjectStats> result = new HashMap<>();
+        for (ProjectStats stats : projectStatsRepository.findByUserId(user.getId())) {
+            result.put(stats.getProjectId(), stats);
+        }
+        return result;
+    }
+
+    /**
+     * 노트 하나가 차지하는 저장 용량 (본문 UTF-8 바이트 + 첨부파일 크기)
+     */
+    public long storageOf(Entry entry) {
+        return sizeOf(entry.getContent()) + fileStorageService.getFileSize(entry.getAttachedFilePath());
+    }
+
+    public static long sizeOf(String content) {
+        return content == null ? 0 : content.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    // --- 내부 ---
+
+    private void adjustProject(User user, Project project, long delta, LocalDateTime now) {
+        adjustProject(user, project == null ? null : project.getId(), delta, now);
+    }
+
+    private void adjustProject(User user, Long projectId, long delta, LocalDateTime now) {
+        if (projectId == null) {
+            return;
+        }
+        Timestamp at = Timestamp.valueOf(now);
+        jdbcTemplate.update(UPSERT_PROJECT_SQL, projectId, user.getId(), Math.max(0, delta), at, delta, at);
+    }
+
+    private void incrementActivity(User user, LocalDate date) {
+        incrementActivity(user, date, 1);
+    }
+
+    private void incrementActivity(User user, LocalDate date, long count) {
+        jdbcTemplate.update(UPSERT_ACTIVITY_SQL, user.getId(), Date.valueOf(date), count, count);
+    }
+
+    /**
+     * 기존 데이터로부터 카운터를 한 번 재계산합니다. (사용자당 최초 1회)
+     * user_stats 행을 먼저 만들고 잠근 뒤에 세므로, 동시에 들어온 재계산은 차례로 실행되고
+     * 그 사이의 카운터 증감(adjust)은 이 트랜잭션이 커밋된 뒤 재계산한 값에 더해집니다.
+     */
+    private UserStats rebuild(User user) {
+        Long userId = user.getId();
+        jdbcTemplate.update(INSERT_USER_STATS_SQL, userId);
+        jdbcTemplate.queryForList("SELECT user_id FROM user_stats WHERE user_id = ? FOR UPDATE", Long.class, userId);
+
+        long totalEntries = count("SELECT COUNT(*) FROM entries WHERE user_id = ?", userId);
+        long uncategorizedEntries = count("SELECT COUNT(*) FROM entries WHERE user_id = ? AND project_id IS NULL", userId);
+
+        // 본문은 압축되어 있을 수 있으므로 한 행씩 읽어 원문 크기를 계산
+        long[] storage = {0};
+        jdbcTemplate.query("SELECT c.content FROM entry_contents c JOIN entries e ON e.content_id = c.id WHERE e.user_id = ?",
+                rs -> { storage[0] += sizeOf(ContentCompressor.decode(rs.getString(1))); }, userId);
+        jdbcTemplate.query("SELECT attached_file_path FROM entries WHERE user_id = ? AND attached_file_path IS NOT NULL",
+                rs -> { storage[0] += fileStorageService.getFileSize(rs.getString(1)); }, userId);
+
+        Timestamp lastActivity = jdbcTemplate.queryForObject(
+                "SELECT MAX(updated_at) FROM entries WHERE user_id = ?", Timestamp.class, userId);
+
+        projectStatsRepository.deleteAllByUserId(userId);
+        jdbcTemplate.query("SELECT project_id, COUNT(*), MAX(updated_at) FROM entries " +
+                "WHERE user_id = ? AND project_id IS NOT NULL GROUP BY project_id", rs -> {
+            ProjectStats ps = new ProjectStats();
+            ps.setProjectId(rs.getLong(1));
+            ps.setUserId(userId);
+            ps.setEntryCount(rs.getLong(2));
+            Timestamp last = rs.getTimestamp(3);
+            ps.setLastActivityAt(last == null ? null : last.toLocalDateTime());
+            projectStatsRepository.save(ps);
+        }, userId);
+
+        // 히트맵: 노트 생성일 + 버전 기록(수정) 일자
+        dailyActivityRepository.deleteAllByUserId(userId);
+        Map<LocalDate, Long> days = new HashMap<>();
+        jdbcTemplate.query("SELECT CAST(created_at AS DATE), COUNT(*) FROM entries WHERE user_id = ? " +
+                "AND created_at IS NOT NULL GROUP BY CAST(created_at AS DATE)",
+                rs -> { days.merge(rs.getDate(1).toLocalDate(), rs.getLong(2), Long::sum); }, userId);
+        jdbcTemplate.query("SELECT CAST(v.version_timestamp AS DATE), COUNT(*) FROM entry_versions v " +
+                "JOIN entries e ON e.id = v.entry_id WHERE e.user_id = ? GROUP BY CAST(v.version_timestamp AS DATE)",
+                rs -> { days.merge(rs.getDate(1).toLocalDate(), rs.getLong(2), Long::sum); }, userId);
+        days.forEach((date, count) -> {
+            DailyActivity activity = new DailyActivity();
+            activity.setUserId(userId);
+            activity.setActivityDate(date);
+            activity.setActivityCount(count);
+            dailyActivityRepository.save(activity);
+        });
+
+        jdbcTemplate.update("UPDATE user_stats SET total_entries = ?, uncategorized_entries = ?, storage_bytes = ?, " +
+                "last_activity_at = ? WHERE user_id = ?", totalEntries, uncategorizedEntries, storage[0], lastActivity, userId);
+        return userStatsRepository.findById(userId).orElseThrow();
+    }
+
+    private long count(String sql, Long userId) {
+        Long value = jdbcTemplate.queryForObject(sql, Long.class, userId);
+        return value == null ? 0 : value;
+    }
+}
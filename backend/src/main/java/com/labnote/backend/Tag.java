@@ -0,0 +1,49 @@
+package com.labnote.backend;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 사용자별 태그 사전
+ * 노트는 태그 문자열 대신 이 테이블의 ID를 참조하며(entry_tag_links),
+ * usageCount는 태그가 붙은 노트 수를 증분 방식으로 유지합니다.
+ */
+@Entity
+@Table(name = "tags", uniqueConstraints = @UniqueConstraint(name = "uk_tags_user_name_key", columnNames = {"user_id", "name_key"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class Tag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user; // 태그 소유자
+
+    @Column(nullable = false)
+    private String name; // 처음 입력된 표기 그대로의 태그 이름
+
+    @Column(name = "name_key", nullable = false)
+    @JsonIgnore
+    private String nameKey; // 대소문자 구분 없는 비교/자동완성용 키 (소문자)
+
+    @Column(nullable = false)
+    private long usageCount; // 이 태그가 붙은 노트 수
+
+    public Tag(User user, String name) {
+        this.user = user;
+        this.name = name;
+        this.nameKey = toKey(name);
+    }
+
+    public static String toKey(String name) {
+        return name.trim().toLowerCase(java.util.Locale.ROOT);
+    }
+}
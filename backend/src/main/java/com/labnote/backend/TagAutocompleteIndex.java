@@ -0,0 +1,151 @@
+package com.labnote.backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 사용자별 태그 자동완성용 메모리 트라이(Trie)
+ * - 사용자가 처음 자동완성을 요청할 때 DB에서 태그 사전을 읽어 만들고,
+ * - 이후에는 TagService가 커밋된 변경분(사용 횟수 증감)만 반영합니다.
+ * - 트라이는 DB를 읽기 전에 먼저 등록하고, 읽는 동안 변경분이 들어오면(읽은 결과에 포함됐는지 알 수 없으므로)
+ *   이번 응답에만 쓰고 버려서 다음 요청 때 다시 읽습니다.
+ * - 한동안(tags.autocomplete.idle-evict-ms) 쓰지 않은 트라이는 메모리에서 내립니다.
+ */
+@Component
+public class TagAutocompleteIndex {
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Value("${tags.autocomplete.idle-evict-ms:1800000}")
+    private long idleEvictMillis;
+
+    private final Map<Long, UserTrie> tries = new ConcurrentHashMap<>();
+
+    public List<TagCount> complete(Long userId, String prefix, int limit) {
+        UserTrie trie = tries.computeIfAbsent(userId, id -> new UserTrie());
+        trie.touch();
+        if (!trie.isReady()) {
+            trie.load(() -> tagRepository.findByUserId(userId));
+            if (trie.isStale()) {
+                tries.remove(userId, trie);
+            }
+        }
+        return trie.complete(Tag.toKey(prefix), limit);
+    }
+
+    // 이미 메모리에 올라온 사용자만 갱신 (아직 없으면 다음 요청 때 DB에서 새로 읽음)
+    public void adjust(Long userId, String name, long delta) {
+        UserTrie trie = tries.get(userId);
+        if (trie != null && !trie.markStaleIfLoading()) {
+            trie.adjust(Tag.toKey(name), name, delta);
+        }
+    }
+
+    public void evict(Long userId) {
+        tries.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${tags.autocomplete.idle-evict-ms:1800000}")
+    public void evictIdleTries() {
+        long idleBefore = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(idleEvictMillis);
+        tries.values().removeIf(trie -> trie.isIdle(idleBefore));
+    }
+
+    private static class Node {
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private String name;   // 이 노드에서 끝나는 태그 이름 (없으면 null)
+        private long count;
+    }
+
+    private static class UserTrie {
+        private static final int LOADING = 0;
+        private static final int READY = 1;
+        private static final int STALE = 2;
+
+        private final Node root = new Node();
+        private final AtomicInteger state = new AtomicInteger(LOADING);
+        private volatile long lastAccessNanos = System.nanoTime();
+
+        void touch() {
+            lastAccessNanos = System.nanoTime();
+        }
+
+        boolean isIdle(long idleBefore) {
+            return lastAccessNanos < idleBefore;
+        }
+
+        boolean isReady() {
+            return state.get() == READY;
+        }
+
+        boolean isStale() {
+            return state.get() == STALE;
+        }
+
+        // 읽는 중이면 STALE로 바꾸고 true (읽은 결과에 이 변경이 들어 있는지 알 수 없음)
+        boolean markStaleIfLoading() {
+            return state.compareAndSet(LOADING, STALE) || state.get() == STALE;
+        }
+
+        // 같은 사용자의 동시 요청은 한 번만 읽음 (나머지는 끝날 때까지 기다림)
+        synchronized void load(Supplier<List<Tag>> loader) {
+            if (state.get() != LOADING) {
+                return;
+            }
+            for (Tag tag : loader.get()) {
+                adjust(tag.getNameKey(), tag.getName(), tag.getUsageCount());
+            }
+            state.compareAndSet(LOADING, READY);
+        }
+
+        synchronized void adjust(String key, String name, long delta) {
+            Node node = root;
+            for (char c : key.toCharArray()) {
+                node = node.children.computeIfAbsent(c, k -> new Node());
+            }
+            if (node.name == null) {
+                node.name = name;
+            }
+            node.count = Math.max(0, node.count + delta);
+        }
+
+        synchronized List<TagCount> complete(String prefix, int limit) {
+            Node node = root;
+            for (char c : prefix.toCharArray()) {
+                node = node.children.get(c);
+                if (node == null) {
+                    return List.of();
+                }
+            }
+
+            // 접두사 아래의 사용 중인 태그를 모두 모은 뒤 많이 쓰인 순으로 정렬
+            List<TagCount> matches = new ArrayList<>();
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(node);
+            while (!stack.isEmpty()) {
+                Node current = stack.pop();
+                if (current.name != null && current.count > 0) {
+                    matches.add(new TagCount(current.name, current.count));
+                }
+                current.children.values().forEach(stack::push);
+            }
+            matches.sort(Comparator.comparingLong(TagCount::getCount).reversed().thenComparing(TagCount::getName));
+            return matches.size() > limit ? matches.subList(0, limit) : matches;
+        }
+    }
+}
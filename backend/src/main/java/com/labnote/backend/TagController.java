@@ -0,0 +1,48 @@
+package com.labnote.backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tags")
+public class TagController {
+
+    // 자동완성 결과 최대 개수
+    private static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // --- 현재 로그인한 User 객체를 가져오는 헬퍼 메소드 ---
+    private User getAuthenticatedUser(Principal principal) {
+        String username = principal.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + username));
+    }
+
+    // 1. (R) 사용 중인 태그 목록과 사용 횟수
+    @GetMapping
+    @Transactional(readOnly = true) // 읽기 전용 -> 복제본 DB 사용 가능
+    public List<TagCount> getTags(Principal principal) {
+        User user = getAuthenticatedUser(principal);
+        return tagService.getTagCounts(user);
+    }
+
+    // 2. (R) 태그 자동완성 (메모리 트라이에서 조회)
+    @GetMapping("/autocomplete")
+    @Transactional(readOnly = true) // 읽기 전용 -> 복제본 DB 사용 가능
+    public List<TagCount> autocomplete(@RequestParam(value = "prefix", defaultValue = "") String prefix,
+                                       @RequestParam(value = "limit", defaultValue = "10") int limit,
+                                       Principal principal) {
+        User user = getAuthenticatedUser(principal);
+        return tagService.autocomplete(user, prefix, Math.max(1, Math.min(limit, MAX_AUTOCOMPLETE_LIMIT)));
+    }
+}
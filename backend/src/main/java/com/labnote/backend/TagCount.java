@@ -0,0 +1,14 @@
+package com.labnote.backend;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 태그 이름과 사용 횟수 (GET /api/tags, 자동완성 응답용)
+ */
+@Getter
+@AllArgsConstructor
+public class TagCount {
+    private String name;
+    private long count;
+}
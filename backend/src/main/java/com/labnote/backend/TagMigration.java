@@ -0,0 +1,136 @@
+package com.labnote.backend;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 기존 entry_tags(태그 문자열) 데이터를 태그 사전(tags)과 연결 테이블(entry_tag_links)로 옮기는 Flyway 마이그레이션 (V6)
+ * - entry_tags 테이블이 남아 있을 때만 옮깁니다.
+ * - 옮긴 뒤 태그별 사용 횟수를 다시 계산하고 entry_tags 테이블을 삭제합니다.
+ * (entry_version_tags는 버전 당시의 태그 이름 스냅샷이므로 그대로 둡니다)
+ */
+@Component
+public class TagMigration implements JavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(TagMigration.class);
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("6");
+    }
+
+    @Override
+    public String getDescription() {
+        return "move entry tags";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        if (!hasLegacyTagTable(jdbcTemplate)) {
+            return;
+        }
+
+        int migrated = migrateLinks(jdbcTemplate);
+        jdbcTemplate.execute("DROP TABLE entry_tags");
+        log.info("태그 마이그레이션 완료: {}개 태그 연결을 태그 사전으로 이동", migrated);
+    }
+
+    private static int migrateLinks(JdbcTemplate jdbcTemplate) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT et.entry_id, et.tag, e.user_id FROM entry_tags et JOIN entries e ON e.id = et.entry_id " +
+                        "WHERE et.tag IS NOT NULL ORDER BY et.entry_id");
+
+        Map<String, Long> tagIds = new HashMap<>();      // "userId:nameKey" -> tag id
+        Map<Long, Integer> positions = new HashMap<>();  // entry id -> 다음 순서
+        Set<String> linked = new HashSet<>();            // "entryId:tagId" (중복 방지)
+        int migrated = 0;
+
+        for (Map<String, Object> row : rows) {
+            String name = ((String) row.get("tag")).trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            long entryId = ((Number) row.get("entry_id")).longValue();
+            long userId = ((Number) row.get("user_id")).longValue();
+            String nameKey = Tag.toKey(name);
+
+            Long tagId = tagIds.computeIfAbsent(userId + ":" + nameKey, k -> findOrCreateTag(jdbcTemplate, userId, name, nameKey));
+            if (!linked.add(entryId + ":" + tagId)) {
+                continue;
+            }
+            int position = positions.merge(entryId, 1, Integer::sum) - 1;
+            jdbcTemplate.update("INSERT INTO entry_tag_links (entry_id, tag_id, position) VALUES (?, ?, ?)",
+                    entryId, tagId, position);
+            migrated++;
+        }
+
+        jdbcTemplate.update("UPDATE tags SET usage_count = " +
+                "(SELECT COUNT(*) FROM entry_tag_links l WHERE l.tag_id = tags.id)");
+        return migrated;
+    }
+
+    private static Long findOrCreateTag(JdbcTemplate jdbcTemplate, long userId, String name, String nameKey) {
+        List<Long> existing = jdbcTemplate.queryForList(
+                "SELECT id FROM tags WHERE user_id = ? AND name_key = ?", Long.class, userId, nameKey);
+        if (!existing.isEmpty()) {
+            return existing.get(0);
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO tags (user_id, name, name_key, usage_count) VALUES (?, ?, ?, 0)",
+                    Statement.RETURN_GENERATED_KEYS);
+            ps.setLong(1, userId);
+            ps.setString(2, name);
+            ps.setString(3, nameKey);
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    // DB마다 식별자 대소문자 처리가 달라서 둘 다 확인
+    private static boolean hasLegacyTagTable(JdbcTemplate jdbcTemplate) {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String name : new String[]{"entry_tags", "ENTRY_TAGS"}) {
+                try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, name, new String[]{"TABLE"})) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+}
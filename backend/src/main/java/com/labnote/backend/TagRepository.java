@@ -0,0 +1,35 @@
+package com.labnote.backend;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    // 태그 이름(키) 목록으로 사용자의 태그 조회
+    List<Tag> findByUserAndNameKeyIn(User user, Collection<String> nameKeys);
+
+    // 사용 중인 태그 목록 (많이 쓰인 순)
+    List<Tag> findByUserAndUsageCountGreaterThanOrderByUsageCountDescNameAsc(User user, long usageCount);
+
+    // 태그를 새로 만든 뒤 다시 조회 (잠금 읽기라서 REPEATABLE READ에서도 다른 트랜잭션이 커밋한 행이 보임)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Tag t WHERE t.user = :user AND t.nameKey IN :nameKeys")
+    List<Tag> lockByUserAndNameKeyIn(@Param("user") User user, @Param("nameKeys") Collection<String> nameKeys);
+
+    // 자동완성 인덱스를 만들 때 사용
+    List<Tag> findByUserId(Long userId);
+
+    // 사용 횟수 증감 (동시 수정에도 안전하도록 DB에서 직접 계산)
+    @Modifying
+    @Query("UPDATE Tag t SET t.usageCount = t.usageCount + :delta WHERE t.id = :id")
+    int adjustUsageCount(@Param("id") Long id, @Param("delta") long delta);
+}
@@ -0,0 +1,275 @@
+package com.labnote.backend;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 노트에 붙는 태그를 태그 사전(tags)과 연결하고 사용 횟수를 유지하는 서비스
+ */
+@Service
+public class TagService {
+
+    private static final String INSERT_TAG_SQL =
+            "INSERT INTO tags (user_id, name, name_key, usage_count) VALUES (?, ?, ?, 0) ON DUPLICATE KEY UPDATE id = id";
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TagAutocompleteIndex tagAutocompleteIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 노트의 태그를 주어진 이름 목록으로 교체합니다.
+     * 사전에 없는 태그는 새로 만들고, 추가/제거된 태그의 사용 횟수를 증감합니다.
+     */
+    @Transactional
+    public void replaceTags(Entry entry, User user, List<String> names) {
+        List<Tag> newTags = findOrCreateTags(user, names);
+
+        Set<Long> oldIds = new HashSet<>();
+        entry.getTagRefs().forEach(tag -> oldIds.add(tag.getId()));
+        Set<Long> newIds = new HashSet<>();
+        newTags.forEach(tag -> newIds.add(tag.getId()));
+
+        List<Tag> removed = new ArrayList<>();
+        for (Tag tag : entry.getTagRefs()) {
+            if (!newIds.contains(tag.getId())) {
+                removed.add(tag);
+            }
+        }
+        List<Tag> added = new ArrayList<>();
+        for (Tag tag : newTags) {
+            if (!oldIds.contains(tag.getId())) {
+                added.add(tag);
+            }
+        }
+
+        boolean orderChanged = !entry.getTags().equals(newTags.stream().map(Tag::getName).toList());
+        entry.getTagRefs().clear();
+        entry.getTagRefs().addAll(newTags);
+        entry.setPendingTags(null);
+
+        adjustUsage(user.getId(), added, 1);
+        adjustUsage(user.getId(), removed, -1);
+
+        // 태그만 바뀌면 entries 행은 dirty가 아니므로 수정 일시를 직접 갱신
+        if (entry.getId() != null && (orderChanged || !added.isEmpty() || !removed.isEmpty())) {
+            entry.setUpdatedAt(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * 노트 삭제 전에 호출하여 연결된 태그의 사용 횟수를 줄입니다.
+     */
+    @Transactional
+    public void releaseTags(Entry entry, User user) {
+        adjustUsage(user.getId(), new ArrayList<>(entry.getTagRefs()), -1);
+    }
+
+    // --- [추가] 일괄 작업 (POST /api/entries/bulk) - 소유권은 호출자가 확인한 노트 ID ---
+
+    /**
+     * 여러 노트에 태그를 한 번에 추가합니다. (태그마다 INSERT ... SELECT 한 번, 이미 붙어 있는 노트는 건너뜀)
+     */
+    @Transactional
+    public void addTagsToEntries(User user, Collection<Long> entryIds, List<String> names) {
+        String ids = joinIds(entryIds);
+        Map<Tag, Long> deltas = new LinkedHashMap<>();
+        for (Tag tag : findOrCreateTags(user, names)) {
+            int added = jdbcTemplate.update(
+                    "INSERT INTO entry_tag_links (entry_id, tag_id, position)" +
+                    " SELECT e.id, ?, (SELECT COALESCE(MAX(l.position) + 1, 0) FROM entry_tag_links l WHERE l.entry_id = e.id)" +
+                    " FROM entries e WHERE e.id IN (" + ids + ")" +
+                    " AND NOT EXISTS (SELECT 1 FROM entry_tag_links x WHERE x.entry_id = e.id AND x.tag_id = ?)",
+                    tag.getId(), tag.getId());
+            deltas.put(tag, (long) added);
+        }
+        adjustUsage(user.getId(), deltas);
+    }
+
+    /**
+     * 여러 노트에서 태그를 한 번에 제거합니다. (사전에 없는 태그는 무시)
+     */
+    @Transactional
+    public void removeTagsFromEntries(User user, Collection<Long> entryIds, List<String> names) {
+        Set<String> keys = new HashSet<>();
+        if (names != null) {
+            names.stream().filter(name -> name != null && !name.trim().isEmpty()).forEach(name -> keys.add(Tag.toKey(name)));
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        String ids = joinIds(entryIds);
+        Map<Tag, Long> deltas = new LinkedHashMap<>();
+        for (Tag tag : tagRepository.findByUserAndNameKeyIn(user, keys)) {
+            int removed = jdbcTemplate.update(
+                    "DELETE FROM entry_tag_links WHERE tag_id = ? AND entry_id IN (" + ids + ")", tag.getId());
+            deltas.put(tag, (long) -removed);
+        }
+        compactPositions(ids);
+        adjustUsage(user.getId(), deltas);
+    }
+
+    /**
+     * 노트 일괄 삭제 전에 호출하여 연결된 태그의 사용 횟수를 줄입니다. (연결 행은 호출자가 삭제)
+     */
+    @Transactional
+    public void releaseTagsOfEntries(User user, Collection<Long> entryIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT tag_id, COUNT(*) FROM entry_tag_links WHERE entry_id IN (" + joinIds(entryIds) + ") GROUP BY tag_id",
+                rs -> { counts.put(rs.getLong(1), rs.getLong(2)); });
+        Map<Tag, Long> deltas = new LinkedHashMap<>();
+        for (Tag tag : tagRepository.findAllById(counts.keySet())) {
+            deltas.put(tag, -counts.get(tag.getId()));
+        }
+        adjustUsage(user.getId(), deltas);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TagCount> getTagCounts(User user) {
+        return tagRepository.findByUserAndUsageCountGreaterThanOrderByUsageCountDescNameAsc(user, 0).stream()
+                .map(tag -> new TagCount(tag.getName(), tag.getUsageCount()))
+                .toList();
+    }
+
+    public List<TagCount> autocomplete(User user, String prefix, int limit) {
+        return tagAutocompleteIndex.complete(user.getId(), prefix == null ? "" : prefix, limit);
+    }
+
+    /**
+     * 사용자가 가진 태그 이름들을 태그 ID 목록으로 변환합니다. (태그 필터링용)
+     * 사전에 없는 이름이 하나라도 있으면 빈 목록을 반환합니다.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> resolveTagIds(User user, List<String> names) {
+        Set<String> keys = new HashSet<>();
+        for (String name : names) {
+            if (name != null && !name.trim().isEmpty()) {
+                keys.add(Tag.toKey(name));
+            }
+        }
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        List<Tag> tags = tagRepository.findByUserAndNameKeyIn(user, keys);
+        if (tags.size() != keys.size()) {
+            return List.of();
+        }
+        return tags.stream().map(Tag::getId).toList();
+    }
+
+    // 공백 제거, 빈 값 제외, 대소문자 구분 없이 중복 제거 (처음 나온 표기 유지) 후 사전에서 찾고, 없으면 생성
+    private List<Tag> findOrCreateTags(User user, List<String> names) {
+        Map<String, String> requested = new LinkedHashMap<>();
+        if (names != null) {
+            for (String name : names) {
+                if (name != null && !name.trim().isEmpty()) {
+                    requested.putIfAbsent(Tag.toKey(name), name.trim());
+                }
+            }
+        }
+
+        Map<String, Tag> resolved = new HashMap<>();
+        if (!requested.isEmpty()) {
+            for (Tag tag : tagRepository.findByUserAndNameKeyIn(user, requested.keySet())) {
+                resolved.put(tag.getNameKey(), tag);
+            }
+        }
+        // 없는 태그는 INSERT ... ON DUPLICATE KEY로 만들어서, 같은 새 태그를 동시에 저장해도 유니크 제약 위반(500)이 나지 않게 함
+        Set<String> missing = new HashSet<>(requested.keySet());
+        missing.removeAll(resolved.keySet());
+        if (!missing.isEmpty()) {
+            for (String key : missing) {
+                jdbcTemplate.update(INSERT_TAG_SQL, user.getId(), requested.get(key), key);
+            }
+            // 다른 트랜잭션이 먼저 커밋한 행도 보이도록 잠금 읽기로 다시 조회
+            for (Tag tag : tagRepository.lockByUserAndNameKeyIn(user, missing)) {
+                resolved.put(tag.getNameKey(), tag);
+            }
+        }
+        List<Tag> tags = new ArrayList<>();
+        for (String key : requested.keySet()) {
+            tags.add(resolved.get(key));
+        }
+        return tags;
+    }
+
+    // 태그를 뺀 자리(position)를 앞으로 당김 - @OrderColumn 목록에 빈 칸(null)이 생기지 않도록
+    // 각 노트 안에서 앞쪽 행부터 옮기므로 (entry_id, position) 키가 겹치지 않음
+    private void compactPositions(String entryIds) {
+        List<long[]> rows = jdbcTemplate.query(
+                "SELECT entry_id, position FROM entry_tag_links WHERE entry_id IN (" + entryIds + ") ORDER BY entry_id, position",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        List<long[]> moves = new ArrayList<>(); // {entry_id, 기존 position, 새 position}
+        long currentEntry = -1;
+        long next = 0;
+        for (long[] row : rows) {
+            if (row[0] != currentEntry) {
+                currentEntry = row[0];
+                next = 0;
+            }
+            if (row[1] != next) {
+                moves.add(new long[]{row[0], row[1], next});
+            }
+            next++;
+        }
+        if (!moves.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE entry_tag_links SET position = ? WHERE entry_id = ? AND position = ?", moves, moves.size(),
+                    (ps, move) -> {
+                        ps.setLong(1, move[2]);
+                        ps.setLong(2, move[0]);
+                        ps.setLong(3, move[1]);
+                    });
+        }
+    }
+
+    private static String joinIds(Collection<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private void adjustUsage(Long userId, List<Tag> tags, long delta) {
+        Map<Tag, Long> deltas = new LinkedHashMap<>();
+        tags.forEach(tag -> deltas.put(tag, delta));
+        adjustUsage(userId, deltas);
+    }
+
+    private void adjustUsage(Long userId, Map<Tag, Long> deltas) {
+        deltas.values().removeIf(delta -> delta == 0);
+        deltas.forEach((tag, delta) -> tagRepository.adjustUsageCount(tag.getId(), delta));
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // 자동완성 인덱스는 커밋된 변경만 반영 (롤백 시 메모리와 DB가 어긋나지 않도록)
+        Map<String, Long> byName = new LinkedHashMap<>();
+        deltas.forEach((tag, delta) -> byName.merge(tag.getName(), delta, Long::sum));
+        Runnable applyToIndex = () -> byName.forEach((name, delta) -> tagAutocompleteIndex.adjust(userId, name, delta));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyToIndex.run();
+                }
+            });
+        } else {
+            applyToIndex.run();
+        }
+    }
+}
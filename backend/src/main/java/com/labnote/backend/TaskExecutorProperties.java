@@ -0,0 +1,76 @@
+package com.labnote.backend;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * 무거운 작업(내보내기, 검색, 업로드, 비밀번호 해시)용 전용 스레드 풀 설정 (app.executors.*)
+ * 예)
+ *   app.executors.pools.export.threads=4          (스레드 수)
+ *   app.executors.pools.export.queue-capacity=16  (대기열 길이, 가득 차면 즉시 503)
+ *   app.executors.pools.export.timeout-ms=20000   (대기 + 실행 제한 시간, 넘으면 503)
+ * 풀마다 기본값이 있는 객체에 바인딩하므로 일부 항목만 설정해도 나머지는 기본값을 유지하고,
+ * 1 미만의 값은 시작할 때 거부합니다.
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "app.executors")
+public class TaskExecutorProperties {
+
+    @Valid
+    private Pools pools = new Pools();
+
+    @Getter
+    @Setter
+    public static class Pools {
+        @Valid
+        private Pool export = new Pool(4, 16, 20_000);
+
+        @Valid
+        private Pool search = new Pool(8, 32, 10_000);
+
+        @Valid
+        private Pool upload = new Pool(4, 16, 30_000);
+
+        // 로그인이 몰려도 노트 편집 등 다른 요청이 쓸 CPU가 남도록 코어 수의 절반까지만 사용
+        @Valid
+        private Pool hash = new Pool(Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 64, 5_000);
+
+        public Pool get(String name) {
+            return switch (name) {
+                case HeavyTaskExecutors.EXPORT -> export;
+                case HeavyTaskExecutors.SEARCH -> search;
+                case HeavyTaskExecutors.UPLOAD -> upload;
+                case HeavyTaskExecutors.HASH -> hash;
+                default -> throw new IllegalArgumentException("알 수 없는 스레드 풀: " + name);
+            };
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        @Min(1)
+        private int threads;
+
+        @Min(1)
+        private int queueCapacity;
+
+        @Min(1)
+        private long timeoutMs;
+
+        public Pool() {
+        }
+
+        public Pool(int threads, int queueCapacity, long timeoutMs) {
+            this.threads = threads;
+            this.queueCapacity = queueCapacity;
+            this.timeoutMs = timeoutMs;
+        }
+    }
+}
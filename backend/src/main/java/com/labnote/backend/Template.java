@@ -10,7 +10,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "templates")
+@Table(name = "templates", indexes = @Index(name = "idx_templates_user", columnList = "user_id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -25,6 +25,7 @@ public class Template {
 
     @Lob // Large content
     @Column(nullable = false, columnDefinition = "TEXT")
+    @Convert(converter = CompressedContentConverter.class) // Stored compressed when content.compression.enabled
     private String content; // Template content (HTML from editor)
 
     @ManyToOne(fetch = FetchType.LAZY)
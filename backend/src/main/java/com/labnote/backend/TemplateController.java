@@ -3,6 +3,7 @@ package com.labnote.backend;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.nio.file.AccessDeniedException;
@@ -28,14 +29,15 @@ public class TemplateController {
 
     // GET /api/templates - Get all templates for the current user
     @GetMapping
-    public List<Template> getUserTemplates(Principal principal) {
+    @Transactional(readOnly = true) // Read-only: may be served from a replica
+    public List<TemplateResponse> getUserTemplates(Principal principal) {
         User user = getAuthenticatedUser(principal);
-        return templateRepository.findByUser(user);
+        return templateRepository.findByUser(user).stream().map(TemplateResponse::from).toList();
     }
 
     // POST /api/templates - Create a new template
     @PostMapping
-    public Template createTemplate(@RequestBody Template templateData, Principal principal) {
+    public TemplateResponse createTemplate(@RequestBody Template templateData, Principal principal) {
         User user = getAuthenticatedUser(principal);
 
         Template newTemplate = new Template();
@@ -43,7 +45,7 @@ public class TemplateController {
         newTemplate.setContent(templateData.getContent());
         newTemplate.setUser(user); // Set the owner
 
-        return templateRepository.save(newTemplate);
+        return TemplateResponse.from(templateRepository.save(newTemplate));
     }
 
     // DELETE /api/templates/{id} - Delete a template
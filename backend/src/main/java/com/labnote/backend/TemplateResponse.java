@@ -0,0 +1,22 @@
+package com.labnote.backend;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Template response DTO (built inside the transaction, no lazy loading during serialization)
+ */
+@Getter
+@AllArgsConstructor
+public class TemplateResponse {
+    private final Long id;
+    private final String name;
+    private final String content;
+    private final LocalDateTime createdAt;
+
+    public static TemplateResponse from(Template template) {
+        return new TemplateResponse(template.getId(), template.getName(), template.getContent(), template.getCreatedAt());
+    }
+}
@@ -0,0 +1,82 @@
+package com.labnote.backend;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 취소된 토큰 ID(jti)용 Bloom 필터
+ * - mightContain이 false면 확실히 취소되지 않은 토큰이므로, 대부분의 요청은 비트 몇 개만 읽고 끝납니다.
+ * - true면 (오탐일 수 있으므로) 정확한 목록으로 다시 확인해야 합니다.
+ * - 항목을 지울 수 없으므로 만료된 항목은 TokenRevocationService가 필터를 새로 만들어 정리합니다.
+ */
+class TokenBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedItems      담을 항목 수
+     * @param falsePositiveRate  목표 오탐률 (예: 0.01)
+     */
+    TokenBloomFilter(int expectedItems, double falsePositiveRate) {
+        int n = Math.max(expectedItems, 1);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    void put(String item) {
+        long h1 = hash(item);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1; // 홀수로 만들어 모든 비트 위치를 돌 수 있게
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String item) {
+        long h1 = hash(item);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    // 64비트 FNV-1a 후 비트 섞기 (String.hashCode는 32비트라 필터가 커지면 충돌이 많음)
+    private static long hash(String item) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < item.length(); i++) {
+            h ^= item.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,50 @@
+package com.labnote.backend;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없이 동작하는 토큰 버킷 (GCRA 방식)
+ * 남은 토큰 수 대신 "다음 요청이 도착해야 할 이론적 시각(TAT)" 하나만 AtomicLong으로 저장하고 CAS로 갱신합니다.
+ * - capacity: 한 번에 허용되는 최대 요청 수 (버스트)
+ * - refillPerSecond: 초당 채워지는 토큰 수
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos; // 토큰 1개가 채워지는 시간
+    private final long burstToleranceNanos;   // capacity 만큼 미리 당겨 쓸 수 있는 시간
+    private final AtomicLong theoreticalArrivalNanos;
+
+    public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity와 refillPerSecond는 0보다 커야 합니다.");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * 토큰 1개를 사용합니다.
+     * @return 허용되면 0, 거절되면 다음 토큰까지 기다려야 하는 시간(나노초)
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrivalNanos.get();
+            long base = Math.max(tat, nowNanos);
+            long allowAt = base - burstToleranceNanos;
+            if (nowNanos < allowAt) {
+                return allowAt - nowNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 버킷이 가득 찬 상태(최근 사용 기록이 없음)인지 여부. 오래 쓰지 않은 버킷 정리에 사용
+     */
+    public boolean isIdle(long nowNanos) {
+        return theoreticalArrivalNanos.get() <= nowNanos;
+    }
+}
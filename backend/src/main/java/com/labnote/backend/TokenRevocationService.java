@@ -0,0 +1,180 @@
+package com.labnote.backend;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 취소된 JWT 관리 (로그아웃, 사용자 이름 변경, 회원 탈퇴)
+ * - 로그아웃: 취소한 토큰의 ID(jti)와 만료 시각을 revoked_tokens에 저장하고, 메모리에는 Bloom 필터와 정확한 목록(jti -> 만료 시각)을 둡니다.
+ * - 이름 변경/탈퇴: 그 사용자 이름과 취소 시각을 revoked_usernames에 저장하고, 그 이름으로 취소 시각까지 발급된 토큰을 모두 막습니다.
+ *   (요청에 쓴 토큰뿐 아니라 다른 기기의 토큰도 무효가 되고, 나중에 같은 이름으로 가입한 계정으로 인증되지 않음)
+ * - JwtAuthenticationFilter는 요청마다 isRevoked로 확인합니다. 대부분은 Bloom 필터와 이름 목록에서 바로 false가 나오므로 DB를 읽지 않습니다.
+ * - 시작할 때 DB에서 아직 만료되지 않은 항목을 읽어 필터를 만들고, purge-interval-ms마다 만료된 항목을 지운 뒤 필터를 다시 만듭니다.
+ */
+@Component
+public class TokenRevocationService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // 같은 토큰을 두 번 취소해도 (동시 로그아웃 등) 오류 없이 무시
+    private static final String INSERT_SQL =
+            "INSERT INTO revoked_tokens (jti, expires_at, revoked_at) VALUES (?, ?, ?)" +
+            " ON DUPLICATE KEY UPDATE revoked_at = revoked_at";
+
+    // 같은 이름을 다시 취소하면 (이름을 바꿨다가 되돌린 뒤 다시 변경 등) 취소 시각을 늦춤
+    private static final String INSERT_USERNAME_SQL =
+            "INSERT INTO revoked_usernames (username, revoked_at, expires_at) VALUES (?, ?, ?)" +
+            " ON DUPLICATE KEY UPDATE revoked_at = VALUES(revoked_at), expires_at = VALUES(expires_at)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Value("${jwt.revocation.expected-tokens:10000}")
+    private int expectedTokens;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>(); // jti -> 토큰 만료 시각 (epoch millis)
+    private volatile TokenBloomFilter filter = new TokenBloomFilter(1, 0.01);
+    private final Map<String, Long> revokedUsernames = new ConcurrentHashMap<>(); // 사용자 이름 -> 취소 시각 (epoch millis)
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.query("SELECT jti, expires_at FROM revoked_tokens WHERE expires_at > ?",
+                rs -> {
+                    revoked.put(rs.getString("jti"), rs.getTimestamp("expires_at").getTime());
+                },
+                new Timestamp(System.currentTimeMillis()));
+        jdbcTemplate.query("SELECT username, revoked_at FROM revoked_usernames WHERE expires_at > ?",
+                rs -> {
+                    revokedUsernames.put(rs.getString("username"), rs.getTimestamp("revoked_at").getTime());
+                },
+                new Timestamp(System.currentTimeMillis()));
+        rebuildFilter();
+        log.info("취소된 토큰 로드: {}개, 사용자 이름 {}개", revoked.size(), revokedUsernames.size());
+    }
+
+    /**
+     * 토큰이 취소되었는지 확인 (DB 조회 없음)
+     * - 토큰 ID(jti)가 취소되었거나, 토큰의 사용자 이름이 취소된 뒤로 새로 발급되지 않은 토큰이면 true
+     */
+    public boolean isRevoked(Claims claims) {
+        Long usernameRevokedAt = claims.getSubject() == null ? null : revokedUsernames.get(claims.getSubject());
+        // iat는 초 단위로 잘려 있으므로 취소 시각과 같은 초에 발급된 토큰도 막음 (다시 로그인하면 됨)
+        if (usernameRevokedAt != null
+                && (claims.getIssuedAt() == null || claims.getIssuedAt().getTime() <= usernameRevokedAt)) {
+            return true;
+        }
+        return isRevoked(claims.getId());
+    }
+
+    /**
+     * 토큰 ID가 취소되었는지 확인 (DB 조회 없음)
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * 이 사용자 이름으로 지금까지 발급된 토큰을 모두 취소합니다. (이름 변경 전 이름, 탈퇴한 계정의 이름)
+     * 이후 같은 이름으로 발급되는 토큰은 영향을 받지 않습니다.
+     * DB 기록은 호출한 트랜잭션에 포함되고, 메모리 목록은 그 트랜잭션이 커밋된 뒤에 반영됩니다. (롤백되면 그대로)
+     */
+    public void revokeAllFor(String username) {
+        long now = System.currentTimeMillis();
+        jdbcTemplate.update(INSERT_USERNAME_SQL, username, new Timestamp(now),
+                new Timestamp(now + JwtTokenUtil.JWT_TOKEN_VALIDITY));
+        afterCommit(() -> revokedUsernames.merge(username, now, Math::max));
+    }
+
+    /**
+     * "Bearer {토큰}" 헤더의 토큰을 취소합니다.
+     * @return 취소했으면 true (헤더가 없거나, 토큰이 유효하지 않거나, jti가 없는 예전 토큰이면 false)
+     */
+    public boolean revokeBearer(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return false;
+        }
+        Claims claims;
+        try {
+            claims = jwtTokenUtil.getClaimFromToken(authorizationHeader.substring(7), c -> c);
+        } catch (JwtException | IllegalArgumentException e) {
+            return false; // 이미 만료되었거나 위조된 토큰은 취소할 필요 없음
+        }
+        if (claims.getId() == null) {
+            return false; // jti 도입 전에 발급된 토큰 (최대 JWT_TOKEN_VALIDITY 안에 만료됨)
+        }
+        revoke(claims.getId(), claims.getExpiration().getTime());
+        return true;
+    }
+
+    private void revoke(String jti, long expiresAt) {
+        jdbcTemplate.update(INSERT_SQL, jti, new Timestamp(expiresAt), new Timestamp(System.currentTimeMillis()));
+        // 필터를 다시 만드는 중에 추가한 항목이 빠지지 않도록 rebuildFilter와 같은 잠금 사용
+        synchronized (this) {
+            revoked.put(jti, expiresAt);
+            filter.put(jti);
+        }
+    }
+
+    /**
+     * 만료된 항목 정리 (토큰 자체가 만료되었으므로 더 이상 막을 필요 없음)
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:600000}",
+            initialDelayString = "${jwt.revocation.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int removed = jdbcTemplate.update("DELETE FROM revoked_tokens WHERE expires_at <= ?", new Timestamp(now));
+        jdbcTemplate.update("DELETE FROM revoked_usernames WHERE expires_at <= ?", new Timestamp(now));
+        // 취소 시각 이전에 발급된 토큰은 유효 기간이 지나 모두 만료됨
+        revokedUsernames.values().removeIf(revokedAt -> revokedAt + JwtTokenUtil.JWT_TOKEN_VALIDITY <= now);
+        if (revoked.values().removeIf(expiresAt -> expiresAt <= now) || removed > 0) {
+            rebuildFilter();
+            log.info("만료된 취소 토큰 {}개 정리 (남은 항목: {}개)", removed, revoked.size());
+        }
+    }
+
+    // Bloom 필터는 항목을 지울 수 없으므로 남은 항목으로 새로 만들어 교체
+    private synchronized void rebuildFilter() {
+        TokenBloomFilter rebuilt = new TokenBloomFilter(Math.max(expectedTokens, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에, 아니면 바로 실행
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
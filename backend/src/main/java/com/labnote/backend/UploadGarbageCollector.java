@@ -0,0 +1,189 @@
+package com.labnote.backend;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 어디에서도 참조하지 않는 업로드 파일을 정리하는 마크-앤-스윕(mark-and-sweep) 수집기
+ * - Mark: 노트 첨부파일(attachedFilePath), 노트/버전/템플릿 HTML 안의 /uploads/ URL, 업로드 중인 파일
+ * - Sweep: 참조되지 않고 유예 기간(grace-hours)보다 오래된 파일을 작은 배치로 나눠 삭제
+ * 기본값은 dry-run 이므로 삭제 없이 보고서만 남깁니다. (uploads.gc.dry-run=false 로 실제 삭제)
+ */
+@Component
+public class UploadGarbageCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(UploadGarbageCollector.class);
+
+    // HTML 본문 안의 업로드 파일 URL (예: http://localhost:8080/uploads/{파일명})
+    private static final Pattern UPLOAD_URL = Pattern.compile("/uploads/([^\\s\"'<>?#)]+)");
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${uploads.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${uploads.gc.dry-run:true}")
+    private boolean dryRun;
+
+    @Value("${uploads.gc.grace-hours:24}")
+    private long graceHours;
+
+    @Value("${uploads.gc.batch-size:50}")
+    private int batchSize;
+
+    @Value("${uploads.gc.batch-pause-ms:200}")
+    private long batchPauseMillis;
+
+    private volatile SweepReport lastReport;
+
+    @Scheduled(cron = "${uploads.gc.cron:0 0 4 * * *}")
+    public void scheduledCollect() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            collect(dryRun);
+        } catch (IOException e) {
+            log.error("업로드 파일 정리 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * 한 번 수집을 실행하고 결과를 반환합니다.
+     * @param dryRun true면 삭제하지 않고 삭제 대상만 보고
+     */
+    public SweepReport collect(boolean dryRun) throws IOException {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Instant graceCutoff = Instant.now().minus(Duration.ofHours(graceHours));
+
+        // 1. Mark - 파일 목록을 먼저 읽고 참조 집합을 만들어, 그 사이에 생긴 파일은 유예 기간으로 보호
+        List<Path> files = fileStorageService.listStoredFiles();
+        Set<String> referenced = collectReferences();
+        referenced.addAll(fileStorageService.getInProgressFiles());
+
+        // 2. Sweep
+        List<String> candidates = new ArrayList<>();
+        long candidateBytes = 0;
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            if (referenced.contains(name)) {
+                continue;
+            }
+            try {
+                if (Files.getLastModifiedTime(file).toInstant().isAfter(graceCutoff)) {
+                    continue; // 아직 노트에 저장되지 않았을 수 있는 최근 업로드
+                }
+                candidateBytes += Files.size(file);
+                candidates.add(name);
+            } catch (IOException e) {
+                log.warn("업로드 파일 정보를 읽을 수 없습니다: {}", name);
+            }
+        }
+
+        long deleted = 0;
+        if (!dryRun) {
+            for (int i = 0; i < candidates.size(); i++) {
+                if (fileStorageService.deleteFile(candidates.get(i))) {
+                    deleted++;
+                }
+                if ((i + 1) % batchSize == 0) {
+                    pause();
+                }
+            }
+        }
+
+        SweepReport report = new SweepReport(startedAt, dryRun, files.size(), referenced.size(),
+                candidates.size(), candidateBytes, deleted, List.copyOf(candidates));
+        lastReport = report;
+        log.info("업로드 파일 정리{}: 전체 {}개, 미참조 {}개({} 바이트), 삭제 {}개",
+                dryRun ? "(dry-run)" : "", files.size(), candidates.size(), candidateBytes, deleted);
+        return report;
+    }
+
+    public SweepReport getLastReport() {
+        return lastReport;
+    }
+
+    // 첨부파일 경로와 HTML 본문 안의 업로드 URL을 모두 모음
+    private Set<String> collectReferences() {
+        Set<String> referenced = new HashSet<>();
+        jdbcTemplate.query("SELECT attached_file_path FROM entries WHERE attached_file_path IS NOT NULL",
+                rs -> { referenced.add(rs.getString(1)); });
+        for (String sql : List.of("SELECT content FROM entry_contents",
+                "SELECT content FROM entry_versions",
+                "SELECT content FROM templates")) {
+            jdbcTemplate.query(sql, rs -> { addUploadUrls(ContentCompressor.decode(rs.getString(1)), referenced); });
+        }
+        return referenced;
+    }
+
+    static void addUploadUrls(String html, Set<String> referenced) {
+        if (html == null || !html.contains("/uploads/")) {
+            return;
+        }
+        Matcher matcher = UPLOAD_URL.matcher(html);
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            referenced.add(name);
+            // 브라우저/에디터가 URL 인코딩한 파일명도 원래 이름으로 매칭
+            try {
+                referenced.add(URLDecoder.decode(name, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException ignored) {
+                // 잘못된 인코딩은 원문 그대로만 사용
+            }
+        }
+    }
+
+    private void pause() {
+        if (batchPauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 업로드 정리 결과
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SweepReport {
+        private final LocalDateTime startedAt;
+        private final boolean dryRun;
+        private final long scannedFiles;
+        private final long referencedNames;
+        private final long unreferencedFiles;
+        private final long unreferencedBytes;
+        private final long deletedFiles;
+        private final List<String> unreferencedNames;
+    }
+}
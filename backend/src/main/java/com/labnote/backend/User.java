@@ -55,6 +55,16 @@ public class User {
     @JsonIgnore
     private List<Template> templates = new ArrayList<>();
 
+    // [추가] 사용자의 태그 사전 (노트가 먼저 삭제된 뒤 함께 삭제됨)
+    @OneToMany(
+            mappedBy = "user",
+            cascade = CascadeType.ALL,
+            orphanRemoval = true,
+            fetch = FetchType.LAZY
+    )
+    @JsonIgnore
+    private List<Tag> tags = new ArrayList<>();
+
     // (권한(Role) 필드를 추가하여 'ADMIN', 'USER' 등을 구분할 수 있지만,
     //  지금은 단순화를 위해 생략합니다.)
 }
\ No newline at end of file
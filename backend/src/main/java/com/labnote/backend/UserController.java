@@ -30,6 +30,27 @@ public class UserController {
     @Autowired
     private JwtTokenUtil jwtTokenUtil;
 
+    @Autowired
+    private TagAutocompleteIndex tagAutocompleteIndex;
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private EntryViewTracker entryViewTracker;
+
+    @Autowired
+    private EntryShareService entryShareService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UsernameIndex usernameIndex;
+
     @PutMapping("/me")
     public ResponseEntity<?> updateUser(@RequestBody UserUpdateRequest request) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -45,6 +66,10 @@ public class UserController {
             }
             user.setUsername(newUsername.trim());
             userRepository.save(user);
+            usernameIndex.remove(currentUsername);
+            usernameIndex.add(user.getUsername());
+            // [추가] 이전 이름으로 발급된 토큰은 (다른 기기의 토큰 포함) 모두 취소 (아래에서 새 토큰 발급)
+            tokenRevocationService.revokeAllFor(currentUsername);
         }
 
         // Generate a new token with the updated details
@@ -66,8 +91,17 @@ public class UserController {
         // Explicitly delete all entries for this user first
         entryRepository.deleteAllByUser(user);
 
+        // Stats counters are keyed by user id only, so remove them explicitly
+        statsService.deleteAll(user);
+
         // Now, deleting the user will cascade to Projects and Templates
         userRepository.delete(user);
+        tagAutocompleteIndex.evict(user.getId());
+        searchResultCache.invalidate(user.getId());
+        entryViewTracker.evict(user.getId());
+        entryShareService.userDeleted(user.getId());
+        tokenRevocationService.revokeAllFor(username); // 이 계정의 모든 토큰 (같은 이름으로 다시 가입해도 쓸 수 없음)
+        usernameIndex.remove(username);
 
         return ResponseEntity.ok(Map.of("message", "회원 탈퇴가 완료되었습니다."));
     }
@@ -3,6 +3,7 @@ package com.labnote.backend;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -10,7 +11,7 @@ import org.springframework.stereotype.Service;
 import java.util.ArrayList; // 권한(Role) 리스트
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
@@ -25,4 +26,14 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         // (권한(Role)이 있다면 세 번째 인자에 추가)
         return new User(user.getUsername(), user.getPassword(), new ArrayList<>());
     }
+
+    // [추가] 로그인 성공 시 저장된 해시의 BCrypt 비용이 현재 비용과 다르면 새 해시로 교체 (DaoAuthenticationProvider가 호출)
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.findByUsername(user.getUsername()).ifPresent(found -> {
+            found.setPassword(newPassword);
+            userRepository.save(found);
+        });
+        return new User(user.getUsername(), newPassword, user.getAuthorities());
+    }
 }
\ No newline at end of file
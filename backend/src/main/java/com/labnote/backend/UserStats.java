@@ -0,0 +1,34 @@
+package com.labnote.backend;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자별 대시보드 통계 카운터 (노트 생성/이동/삭제 시 트랜잭션 안에서 증감)
+ * 행이 존재하면 "카운터가 초기화됨"을 의미하며, 없으면 첫 조회 시 한 번 재계산합니다.
+ */
+@Entity
+@Table(name = "user_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserStats {
+
+    @Id
+    private Long userId;
+
+    @Column(nullable = false)
+    private long totalEntries; // 전체 노트 수
+
+    @Column(nullable = false)
+    private long uncategorizedEntries; // 미분류 노트 수
+
+    @Column(nullable = false)
+    private long storageBytes; // 본문(UTF-8) + 첨부파일 크기 합계
+
+    private LocalDateTime lastActivityAt; // 마지막 작성/수정 일시
+}
@@ -0,0 +1,21 @@
+package com.labnote.backend;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    // 카운터 증감 (행이 없으면 0을 반환 -> 아직 초기화되지 않은 사용자)
+    @Modifying
+    @Query("UPDATE UserStats s SET s.totalEntries = s.totalEntries + :total, " +
+            "s.uncategorizedEntries = s.uncategorizedEntries + :uncategorized, " +
+            "s.storageBytes = s.storageBytes + :bytes, s.lastActivityAt = :now WHERE s.userId = :userId")
+    int adjust(@Param("userId") Long userId, @Param("total") long total, @Param("uncategorized") long uncategorized,
+               @Param("bytes") long bytes, @Param("now") LocalDateTime now);
+}
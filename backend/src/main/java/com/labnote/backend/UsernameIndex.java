@@ -0,0 +1,85 @@
+package com.labnote.backend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용 중인 사용자 이름 메모리 색인 (아이디 중복 확인을 DB 없이 처리)
+ * - 시작할 때 users 테이블의 이름을 모두 읽고, 이후에는 가입/이름 변경/OAuth 사용자 생성/탈퇴가 커밋된 뒤 반영합니다.
+ * - DB(MariaDB 기본 collation)는 대소문자를 구분하지 않으므로 소문자로 바꾼 이름을 저장합니다.
+ *   그래서 "있음"은 실제보다 넓게 나올 수 있고, 가입할 때는 "있음"인 경우만 DB로 다시 확인합니다.
+ * - 다른 서버에서 가입한 이름처럼 색인에 없는 이름은 DB의 유니크 제약으로 막힙니다.
+ */
+@Component
+public class UsernameIndex implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(UsernameIndex.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Set<String> usernames = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded = false;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.query("SELECT username FROM users", rs -> {
+            usernames.add(key(rs.getString("username")));
+        });
+        loaded = true;
+        log.info("사용자 이름 색인 로드: {}개", usernames.size());
+    }
+
+    /**
+     * 시작 시 로드가 끝났는지 (끝나기 전에는 호출하는 쪽에서 DB로 확인)
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 이름이 사용 중일 수 있는지 (false면 사용 중이 아님)
+     */
+    public boolean contains(String username) {
+        return username != null && usernames.contains(key(username));
+    }
+
+    public void add(String username) {
+        if (username != null) {
+            afterCommit(() -> usernames.add(key(username)));
+        }
+    }
+
+    public void remove(String username) {
+        afterCommit(() -> usernames.remove(key(username)));
+    }
+
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에, 아니면 바로 실행
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.labnote.backend;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 버전 기록(entry_versions) 보존 정책을 적용하는 백그라운드 압축 작업
+ * - 최근 keep-all-hours(기본 24시간) 이내의 버전은 모두 보존
+ * - hourly-days(기본 30일) 이내의 버전은 1시간당 가장 최신 버전 1개만 보존
+ * - 그 이전의 버전은 하루당 가장 최신 버전 1개만 보존
+ * 긴 잠금을 피하기 위해 작은 배치 단위로, 배치 사이에 쉬면서 삭제합니다.
+ * 마지막 실행 결과는 Micrometer 지표(labnote.versions.compaction.*)로 노출합니다.
+ */
+@Service
+public class VersionCompactionService {
+
+    private static final Logger log = LoggerFactory.getLogger(VersionCompactionService.class);
+
+    @Autowired
+    private EntryVersionRepository entryVersionRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${entry.version-retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${entry.version-retention.keep-all-hours:24}")
+    private long keepAllHours;
+
+    @Value("${entry.version-retention.hourly-days:30}")
+    private long hourlyDays;
+
+    @Value("${entry.version-retention.batch-size:100}")
+    private int batchSize;
+
+    @Value("${entry.version-retention.batch-pause-ms:200}")
+    private long batchPauseMillis;
+
+    // 마지막 실행 결과 (삭제된 행 수, 회수된 바이트)
+    private volatile CompactionReport lastReport;
+
+    public VersionCompactionService(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        Gauge.builder("labnote.versions.compaction.deleted.rows", this,
+                        service -> service.lastReport == null ? 0 : service.lastReport.getDeletedRows())
+                .description("마지막 버전 기록 압축에서 삭제한 행 수")
+                .register(meterRegistry);
+        Gauge.builder("labnote.versions.compaction.reclaimed.bytes", this,
+                        service -> service.lastReport == null ? 0 : service.lastReport.getReclaimedBytes())
+                .description("마지막 버전 기록 압축에서 회수한 바이트 (추정)")
+                .register(meterRegistry);
+        Gauge.builder("labnote.versions.compaction.last.run", this,
+                        service -> service.lastReport == null ? 0
+                                : service.lastReport.getStartedAt().atZone(ZoneId.systemDefault()).toEpochSecond())
+                .description("마지막 버전 기록 압축 시작 시각 (epoch 초, 실행 전에는 0)")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${entry.version-retention.cron:0 30 3 * * *}")
+    public void scheduledCompaction() {
+        if (!enabled) {
+            return;
+        }
+        compact();
+    }
+
+    /**
+     * 보존 정책을 한 번 적용하고 결과를 반환합니다.
+     */
+    public CompactionReport compact() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime keepAllCutoff = now.minusHours(keepAllHours);
+        LocalDateTime hourlyCutoff = now.minusDays(hourlyDays);
+
+        long deletedRows = 0;
+        long reclaimedBytes = 0;
+        List<Long> pendingIds = new ArrayList<>();
+
+        for (Long entryId : entryVersionRepository.findEntryIdsWithVersionsBefore(keepAllCutoff)) {
+            List<EntryVersionRepository.VersionMetadata> versions =
+                    entryVersionRepository.findMetadataByEntryIdBefore(entryId, keepAllCutoff);
+
+            for (EntryVersionRepository.VersionMetadata version : selectExpired(versions, hourlyCutoff)) {
+                pendingIds.add(version.getId());
+                reclaimedBytes += version.getStoredBytes() == null ? 0 : version.getStoredBytes();
+
+                if (pendingIds.size() >= batchSize) {
+                    deletedRows += deleteBatch(pendingIds);
+                    pendingIds.clear();
+                    pause();
+                }
+            }
+        }
+        if (!pendingIds.isEmpty()) {
+            deletedRows += deleteBatch(pendingIds);
+        }
+
+        CompactionReport report = new CompactionReport(now, deletedRows, reclaimedBytes);
+        lastReport = report;
+        log.info("버전 기록 압축 완료: {}개 행 삭제, 약 {} 바이트 회수", deletedRows, reclaimedBytes);
+        return report;
+    }
+
+    /**
+     * 최신순으로 정렬된 버전 목록에서 보존 정책상 지워도 되는 버전을 고릅니다.
+     * 각 시간(또는 날짜) 구간마다 가장 먼저 나오는(= 가장 최신) 버전만 남깁니다.
+     * (어느 날의 날짜 구간과 그날 0시의 시간 구간은 시작 시각이 같으므로 단위까지 함께 비교)
+     */
+    static List<EntryVersionRepository.VersionMetadata> selectExpired(
+            List<EntryVersionRepository.VersionMetadata> versionsNewestFirst, LocalDateTime hourlyCutoff) {
+        Set<Bucket> keptBuckets = new HashSet<>();
+        List<EntryVersionRepository.VersionMetadata> expired = new ArrayList<>();
+        for (EntryVersionRepository.VersionMetadata version : versionsNewestFirst) {
+            LocalDateTime timestamp = version.getVersionTimestamp();
+            ChronoUnit unit = timestamp.isBefore(hourlyCutoff) ? ChronoUnit.DAYS : ChronoUnit.HOURS;
+            if (!keptBuckets.add(new Bucket(unit, timestamp.truncatedTo(unit)))) {
+                expired.add(version);
+            }
+        }
+        return expired;
+    }
+
+    private record Bucket(ChronoUnit unit, LocalDateTime start) {
+    }
+
+    // 배치 하나를 짧은 트랜잭션으로 삭제
+    private int deleteBatch(List<Long> ids) {
+        List<Long> batch = new ArrayList<>(ids);
+        Integer deleted = transactionTemplate.execute(status -> {
+            entryVersionRepository.deleteTagsByVersionIds(batch);
+            return entryVersionRepository.deleteByIds(batch);
+        });
+        return deleted == null ? 0 : deleted;
+    }
+
+    private void pause() {
+        if (batchPauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 압축 작업 결과
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class CompactionReport {
+        private final LocalDateTime startedAt;
+        private final long deletedRows;
+        private final long reclaimedBytes;
+    }
+}
@@ -0,0 +1,32 @@
+package com.labnote.backend;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 버전 기록 검색 결과 (노트 단위)
+ * - firstMatchAt / lastMatchAt: 검색어가 들어 있던 가장 오래된/최근 버전 시각
+ * - presentInCurrent: 현재 노트에도 아직 검색어가 있는지 (false면 lastMatchAt 이후에 삭제됨)
+ */
+@Getter
+@AllArgsConstructor
+public class VersionSearchResult {
+
+    private Long entryId;
+    private String entryTitle;
+    private boolean presentInCurrent;
+    private LocalDateTime firstMatchAt;
+    private LocalDateTime lastMatchAt;
+    private List<VersionHit> versions; // 최신순
+
+    @Getter
+    @AllArgsConstructor
+    public static class VersionHit {
+        private Long versionId;
+        private String title;
+        private LocalDateTime versionTimestamp;
+    }
+}
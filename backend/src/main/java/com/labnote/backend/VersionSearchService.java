@@ -0,0 +1,257 @@
+package com.labnote.backend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 버전 기록(EntryVersion) 검색
+ * - 버전이 만들어질 때 제목/본문/태그의 단어를 version_search_terms에 색인합니다. (index)
+ * - 검색은 색인만 읽고, 검색어의 모든 단어(접두어 일치)를 포함한 버전을 노트별로 묶어 시간 순으로 보여줍니다.
+ * - 이 기능 이전에 만들어진 버전은 백그라운드 작업(backfill)이 조금씩 색인합니다.
+ */
+@Service
+public class VersionSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(VersionSearchService.class);
+
+    // 글자/숫자와 소수점만 단어로 취급 (예: "12.5", "pH", "샘플을")
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}.]+");
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int MAX_QUERY_TERMS = 5;
+
+    private static final String INSERT_TERM_SQL =
+            "INSERT INTO version_search_terms (version_id, entry_id, user_id, term, version_timestamp) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${entry.version-search.max-hits:500}")
+    private int maxHits;
+
+    @Value("${entry.version-search.backfill-batch-size:100}")
+    private int backfillBatchSize;
+
+    @Value("${entry.version-search.backfill-pause-ms:200}")
+    private long backfillPauseMillis;
+
+    private volatile boolean backfillCompleted = false;
+
+    public VersionSearchService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 방금 저장된 버전을 색인합니다. (버전 ID가 있어야 하므로 저장 후, 같은 트랜잭션 안에서 호출)
+     */
+    public void index(EntryVersion version) {
+        Entry entry = version.getEntry();
+        insertTerms(version.getId(), entry.getId(), entry.getUser().getId(), version.getVersionTimestamp(),
+                tokenize(version.getTitle(), version.getContent(), version.getTags()));
+    }
+
+    /**
+     * 검색어의 모든 단어를 포함하는 버전을 찾아 노트별로 묶어 반환합니다. (최근에 일치한 노트 먼저)
+     */
+    public List<VersionSearchResult> search(User user, String query) {
+        List<String> terms = tokenize(query, null, null).stream().limit(MAX_QUERY_TERMS).toList();
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        // 1. 색인에서 모든 단어를 포함하는 버전 조회 (첫 단어로 찾고 나머지는 IN 으로 교집합)
+        StringBuilder sql = new StringBuilder(
+                "SELECT t0.version_id, t0.entry_id, t0.version_timestamp FROM version_search_terms t0" +
+                " WHERE t0.user_id = ? AND t0.term LIKE ?");
+        List<Object> args = new ArrayList<>(List.of(user.getId(), terms.get(0) + "%"));
+        for (String term : terms.subList(1, terms.size())) {
+            sql.append(" AND t0.version_id IN (SELECT t.version_id FROM version_search_terms t WHERE t.user_id = ? AND t.term LIKE ?)");
+            args.add(user.getId());
+            args.add(term + "%");
+        }
+        sql.append(" GROUP BY t0.version_id, t0.entry_id, t0.version_timestamp ORDER BY t0.version_timestamp DESC LIMIT ?");
+        args.add(maxHits);
+
+        List<Object[]> hits = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new Object[]{
+                rs.getLong(1), rs.getLong(2), rs.getTimestamp(3).toLocalDateTime()}, args.toArray());
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        // 2. 버전 제목 조회 (본문은 읽지 않음)
+        Map<Long, String> versionTitles = new HashMap<>();
+        String ids = hits.stream().map(hit -> String.valueOf(hit[0])).collect(Collectors.joining(","));
+        jdbcTemplate.query("SELECT id, title FROM entry_versions WHERE id IN (" + ids + ")",
+                rs -> { versionTitles.put(rs.getLong(1), rs.getString(2)); });
+
+        // 3. 노트별로 묶기 (hits가 최신순이므로 삽입 순서 = 최근에 일치한 노트 순서)
+        Map<Long, List<VersionSearchResult.VersionHit>> byEntry = new LinkedHashMap<>();
+        for (Object[] hit : hits) {
+            Long versionId = (Long) hit[0];
+            byEntry.computeIfAbsent((Long) hit[1], id -> new ArrayList<>())
+                    .add(new VersionSearchResult.VersionHit(versionId, versionTitles.get(versionId), (LocalDateTime) hit[2]));
+        }
+
+        Map<Long, Entry> entries = entryRepository.findAllById(byEntry.keySet()).stream()
+                .collect(Collectors.toMap(Entry::getId, entry -> entry));
+
+        List<VersionSearchResult> results = new ArrayList<>();
+        byEntry.forEach((entryId, versions) -> {
+            Entry entry = entries.get(entryId);
+            if (entry == null) {
+                return; // 검색 도중 삭제된 노트
+            }
+            boolean present = containsAll(tokenize(entry.getTitle(), entry.getContent(), entry.getTags()), terms);
+            results.add(new VersionSearchResult(entryId, entry.getTitle(), present,
+                    versions.get(versions.size() - 1).getVersionTimestamp(), versions.get(0).getVersionTimestamp(), versions));
+        });
+        return results;
+    }
+
+    /**
+     * 색인되지 않은 기존 버전을 조금씩 색인합니다. 더 이상 대상이 없으면 멈춥니다.
+     */
+    @Scheduled(initialDelayString = "${entry.version-search.backfill-initial-delay-ms:60000}",
+            fixedDelayString = "${entry.version-search.backfill-interval-ms:600000}")
+    public void backfill() {
+        if (backfillCompleted) {
+            return;
+        }
+        long indexed = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> backfillBatch());
+            if (count == null || count == 0) {
+                break;
+            }
+            indexed += count;
+            pause();
+        }
+        if (indexed > 0) {
+            log.info("버전 검색 색인: 기존 버전 {}개 색인", indexed);
+        }
+        backfillCompleted = true;
+    }
+
+    /**
+     * SQL로 한 번에 만든 버전(일괄 작업의 스냅샷)을 색인합니다. (entryIds는 entry_versions 인덱스를 타기 위한 조건)
+     */
+    public void indexSession(String editSessionId, Collection<Long> entryIds) {
+        String entryIdList = entryIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        indexRows(jdbcTemplate.queryForList(
+                "SELECT v.id, v.entry_id, e.user_id, v.title, v.content, v.version_timestamp" +
+                " FROM entry_versions v JOIN entries e ON e.id = v.entry_id" +
+                " WHERE v.entry_id IN (" + entryIdList + ") AND v.edit_session_id = ?", editSessionId));
+    }
+
+    private int backfillBatch() {
+        return indexRows(jdbcTemplate.queryForList(
+                "SELECT v.id, v.entry_id, e.user_id, v.title, v.content, v.version_timestamp" +
+                " FROM entry_versions v JOIN entries e ON e.id = v.entry_id" +
+                " WHERE v.search_indexed IS NULL OR v.search_indexed = FALSE ORDER BY v.id LIMIT ?", backfillBatchSize));
+    }
+
+    private int indexRows(List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        String ids = rows.stream().map(row -> String.valueOf(row.get("id"))).collect(Collectors.joining(","));
+        Map<Long, List<String>> tagsByVersion = new HashMap<>();
+        jdbcTemplate.query("SELECT version_id, tag FROM entry_version_tags WHERE version_id IN (" + ids + ")",
+                rs -> { tagsByVersion.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2)); });
+
+        for (Map<String, Object> row : rows) {
+            long versionId = ((Number) row.get("id")).longValue();
+            jdbcTemplate.update("DELETE FROM version_search_terms WHERE version_id = ?", versionId); // 재실행 대비
+            insertTerms(versionId, ((Number) row.get("entry_id")).longValue(), ((Number) row.get("user_id")).longValue(),
+                    ((Timestamp) row.get("version_timestamp")).toLocalDateTime(),
+                    tokenize((String) row.get("title"), ContentCompressor.decode((String) row.get("content")),
+                            tagsByVersion.getOrDefault(versionId, List.of())));
+        }
+        jdbcTemplate.update("UPDATE entry_versions SET search_indexed = TRUE WHERE id IN (" + ids + ")");
+        return rows.size();
+    }
+
+    private void insertTerms(long versionId, long entryId, long userId, LocalDateTime versionTimestamp, List<String> terms) {
+        if (terms.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.valueOf(versionTimestamp);
+        jdbcTemplate.batchUpdate(INSERT_TERM_SQL, terms, terms.size(), (ps, term) -> {
+            ps.setLong(1, versionId);
+            ps.setLong(2, entryId);
+            ps.setLong(3, userId);
+            ps.setString(4, term);
+            ps.setTimestamp(5, timestamp);
+        });
+    }
+
+    /**
+     * 제목, HTML 본문, 태그에서 중복 없는 소문자 단어 목록을 만듭니다.
+     */
+    static List<String> tokenize(String title, String html, Collection<String> tags) {
+        Set<String> terms = new LinkedHashSet<>();
+        addTerms(title, terms);
+        if (html != null && !html.isBlank()) {
+            addTerms(ContentNormalizer.toPlainText(html), terms);
+        }
+        if (tags != null) {
+            tags.forEach(tag -> addTerms(tag, terms));
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private static void addTerms(String text, Set<String> terms) {
+        if (text == null) {
+            return;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            String term = trimDots(token);
+            if (term.length() >= MIN_TERM_LENGTH) {
+                terms.add(term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term);
+            }
+        }
+    }
+
+    // 문장 끝의 마침표 등은 단어에서 제외 ("12.5." -> "12.5")
+    private static String trimDots(String token) {
+        int start = 0;
+        int end = token.length();
+        while (start < end && token.charAt(start) == '.') start++;
+        while (end > start && token.charAt(end - 1) == '.') end--;
+        return token.substring(start, end);
+    }
+
+    private static boolean containsAll(List<String> tokens, List<String> prefixes) {
+        return prefixes.stream().allMatch(prefix -> tokens.stream().anyMatch(token -> token.startsWith(prefix)));
+    }
+
+    private void pause() {
+        if (backfillPauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(backfillPauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.labnote.backend;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * 버전 기록 검색용 역색인 (단어 -> 버전)
+ * 버전이 만들어질 때 VersionSearchService가 JDBC로 채우며, 버전이 삭제되면 DB의 ON DELETE CASCADE로 함께 삭제됩니다.
+ * entry_id, user_id, version_timestamp는 검색 시 entry_versions를 읽지 않도록 복사해 둔 값입니다.
+ */
+@Entity
+@Table(name = "version_search_terms", indexes = {
+        @Index(name = "idx_version_search_user_term", columnList = "user_id, term")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class VersionSearchTerm {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "version_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private EntryVersion version;
+
+    @Column(name = "entry_id", nullable = false)
+    private Long entryId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 64)
+    private String term;
+
+    @Column(name = "version_timestamp", nullable = false)
+    private LocalDateTime versionTimestamp;
+}
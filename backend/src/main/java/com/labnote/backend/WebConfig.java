@@ -1,18 +1,26 @@
 package com.labnote.backend;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry; // [추가]
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 
 @Configuration
+@EnableConfigurationProperties(TaskExecutorProperties.class) // [추가] 무거운 작업용 스레드 풀 설정
 public class WebConfig implements WebMvcConfigurer {
 
     // application.properties의 'file.upload-dir' 값을 주입받음
     @Value("${file.upload-dir}")
     private String uploadDir;
 
+    // [추가] 읽기 전용 요청을 복제본 DB로 보내기 위한 인터셉터
+    @Autowired
+    private ReplicaRoutingInterceptor replicaRoutingInterceptor;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // URL 경로가 '/uploads/**' (예: /uploads/image.png)로 시작하는 모든 요청을
@@ -28,8 +36,14 @@ public class WebConfig implements WebMvcConfigurer {
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/**") // '/api' 하위의 모든 경로
                 .allowedOrigins("http://localhost:3000") // React 앱 주소
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS") // 허용할 HTTP 메소드
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS") // 허용할 HTTP 메소드
                 .allowedHeaders("*") // 모든 헤더 허용
                 .allowCredentials(true); // 쿠키/인증 헤더 허용
     }
-}
\ No newline at end of file
+
+    // --- [추가] 읽기/쓰기 DB 라우팅 인터셉터 등록 ---
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(replicaRoutingInterceptor).addPathPatterns("/api/**");
+    }
+}
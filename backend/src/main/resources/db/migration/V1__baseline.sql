@@ -0,0 +1,192 @@
+-- 기준 스키마 (Flyway 도입 전 Hibernate ddl-auto가 만들던 스키마)
+-- 이미 운영 중인 DB에서도 실행되므로 모든 테이블은 IF NOT EXISTS로 만들고, 제약 조건/인덱스는 테이블 정의 안에 둡니다.
+-- (기존 테이블은 그대로 두고, 아직 없는 테이블만 새로 생김)
+
+CREATE TABLE IF NOT EXISTS users (
+    id bigint NOT NULL AUTO_INCREMENT,
+    username varchar(255) NOT NULL,
+    email varchar(255),
+    password varchar(255) NOT NULL,
+    provider varchar(255),
+    picture varchar(255),
+    PRIMARY KEY (id),
+    CONSTRAINT UKr43af9ap4edm43mmtq01oddj6 UNIQUE (username)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS projects (
+    id bigint NOT NULL AUTO_INCREMENT,
+    name varchar(255) NOT NULL,
+    description TEXT,
+    user_id bigint NOT NULL,
+    created_at datetime(6),
+    updated_at datetime(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKhswfwa3ga88vxv1pmboss6jhm FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS templates (
+    id bigint NOT NULL AUTO_INCREMENT,
+    name varchar(255) NOT NULL,
+    content TEXT NOT NULL,
+    user_id bigint NOT NULL,
+    created_at datetime(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FK1ap5cnda0wnqhkqnyiel99tp FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS entry_contents (
+    id bigint NOT NULL AUTO_INCREMENT,
+    content TEXT NOT NULL,
+    plain_text TEXT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS entries (
+    id bigint NOT NULL AUTO_INCREMENT,
+    title varchar(255) NOT NULL,
+    content_id bigint,
+    researcher varchar(255),
+    created_at datetime(6),
+    updated_at datetime(6),
+    project_id bigint,
+    user_id bigint NOT NULL,
+    attached_file_path varchar(255),
+    links_indexed bit,
+    content_hash varchar(64),
+    word_count integer,
+    PRIMARY KEY (id),
+    CONSTRAINT UKedj20nrvfkxjicl1lh1ck0uni UNIQUE (content_id),
+    CONSTRAINT FKnnha741sxc4onl2bktopeyftv FOREIGN KEY (content_id) REFERENCES entry_contents (id),
+    CONSTRAINT FKk8n71u42svosu0oye4602q8nq FOREIGN KEY (project_id) REFERENCES projects (id),
+    CONSTRAINT FKoia5s1p9sk4x5fld87yjqpjg9 FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS tags (
+    id bigint NOT NULL AUTO_INCREMENT,
+    user_id bigint NOT NULL,
+    name varchar(255) NOT NULL,
+    name_key varchar(255) NOT NULL,
+    usage_count bigint NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_tags_user_name_key UNIQUE (user_id, name_key),
+    CONSTRAINT FKpsynysaxl7cyw8mr5c8xevneg FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS entry_tag_links (
+    entry_id bigint NOT NULL,
+    position integer NOT NULL,
+    tag_id bigint NOT NULL,
+    PRIMARY KEY (position, entry_id),
+    INDEX idx_entry_tag_links_tag (tag_id),
+    CONSTRAINT FK874hbgjy1mqq36xqtcci8s80j FOREIGN KEY (entry_id) REFERENCES entries (id),
+    CONSTRAINT FKckocvb6kt7s4sb3blw87wx1vr FOREIGN KEY (tag_id) REFERENCES tags (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS entry_versions (
+    id bigint NOT NULL AUTO_INCREMENT,
+    entry_id bigint NOT NULL,
+    title varchar(255) NOT NULL,
+    content TEXT NOT NULL,
+    researcher varchar(255),
+    version_timestamp datetime(6) NOT NULL,
+    edit_session_id varchar(64),
+    search_indexed bit,
+    PRIMARY KEY (id),
+    CONSTRAINT FK1q6hf6dt97y1h6teh7x0kbbag FOREIGN KEY (entry_id) REFERENCES entries (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS entry_version_tags (
+    version_id bigint NOT NULL,
+    tag varchar(255),
+    CONSTRAINT FKisc9mrms6nd10p1j287re7ape FOREIGN KEY (version_id) REFERENCES entry_versions (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS version_search_terms (
+    id bigint NOT NULL AUTO_INCREMENT,
+    user_id bigint NOT NULL,
+    term varchar(64) NOT NULL,
+    entry_id bigint NOT NULL,
+    version_id bigint NOT NULL,
+    version_timestamp datetime(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_version_search_user_term (user_id, term),
+    CONSTRAINT FKoxm7d8cybtw1j3f56euo50c29 FOREIGN KEY (version_id) REFERENCES entry_versions (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS entry_links (
+    id bigint NOT NULL AUTO_INCREMENT,
+    source_id bigint NOT NULL,
+    target_id bigint NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_entry_links_source_target UNIQUE (source_id, target_id),
+    INDEX idx_entry_links_target (target_id),
+    CONSTRAINT FK3do6u7swvwg89ucliog7aev3p FOREIGN KEY (source_id) REFERENCES entries (id) ON DELETE CASCADE,
+    CONSTRAINT FKbsgabc9uscbyjops1dynah3ex FOREIGN KEY (target_id) REFERENCES entries (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS entry_lsh_buckets (
+    id bigint NOT NULL AUTO_INCREMENT,
+    entry_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    band integer NOT NULL,
+    bucket_hash bigint NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_entry_lsh_buckets_bucket (user_id, band, bucket_hash),
+    CONSTRAINT FK6s0742dtcf3dl6yo7gd305ogq FOREIGN KEY (entry_id) REFERENCES entries (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS entry_signatures (
+    entry_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    signature varbinary(512),
+    PRIMARY KEY (entry_id),
+    CONSTRAINT FK41so2kwy335pwb8l4b0v04a24 FOREIGN KEY (entry_id) REFERENCES entries (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS entry_shares (
+    id bigint NOT NULL AUTO_INCREMENT,
+    token varchar(43) NOT NULL,
+    entry_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    created_at datetime(6),
+    revoked_at datetime(6),
+    PRIMARY KEY (id),
+    CONSTRAINT UKgm5mrbpqjcppc0y4na7uci3s0 UNIQUE (token),
+    INDEX idx_entry_shares_entry (entry_id),
+    CONSTRAINT FK1j17btdsvwd28hpbu8rdoroyp FOREIGN KEY (entry_id) REFERENCES entries (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS entry_view_stats (
+    entry_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    view_count bigint NOT NULL,
+    last_viewed_at datetime(6) NOT NULL,
+    PRIMARY KEY (entry_id),
+    INDEX idx_entry_view_stats_user (user_id),
+    CONSTRAINT FKgylwgf7kvphgsbbkaff7eg5dh FOREIGN KEY (entry_id) REFERENCES entries (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS project_stats (
+    project_id bigint NOT NULL,
+    user_id bigint NOT NULL,
+    entry_count bigint NOT NULL,
+    last_activity_at datetime(6),
+    PRIMARY KEY (project_id),
+    INDEX idx_project_stats_user (user_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_stats (
+    user_id bigint NOT NULL,
+    total_entries bigint NOT NULL,
+    uncategorized_entries bigint NOT NULL,
+    storage_bytes bigint NOT NULL,
+    last_activity_at datetime(6),
+    PRIMARY KEY (user_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_daily_activity (
+    user_id bigint NOT NULL,
+    activity_date date NOT NULL,
+    activity_count bigint NOT NULL,
+    PRIMARY KEY (activity_date, user_id)
+) ENGINE=InnoDB;
@@ -0,0 +1,20 @@
+-- 리포지토리 조회 조건에 맞춘 복합 인덱스 (QueryPlanTests가 전체 스캔 여부를 확인)
+
+-- EntryRepository: findByProjectIdAndUser / findByProjectIsNullAndUser / findByUser (+ stream*, searchByUser의 사용자 조건)
+CREATE INDEX IF NOT EXISTS idx_entries_user_project ON entries (user_id, project_id);
+-- 사용자의 노트를 최근 수정순으로 읽는 경우
+CREATE INDEX IF NOT EXISTS idx_entries_user_updated ON entries (user_id, updated_at);
+
+-- EntryVersionRepository: findByEntryOrderByVersionTimestampDesc / findFirstBy... / findMetadataByEntryIdBefore
+CREATE INDEX IF NOT EXISTS idx_entry_versions_entry_timestamp ON entry_versions (entry_id, version_timestamp);
+-- EntryVersionRepository.findEntryIdsWithVersionsBefore (버전 압축 작업)
+CREATE INDEX IF NOT EXISTS idx_entry_versions_timestamp ON entry_versions (version_timestamp, entry_id);
+-- 버전 태그 조회/삭제 (version_id)
+CREATE INDEX IF NOT EXISTS idx_entry_version_tags_version ON entry_version_tags (version_id);
+
+-- 노트의 태그 연결 조회/삭제 (기본 키가 (position, entry_id) 순서라 entry_id로 찾을 수 없음)
+CREATE INDEX IF NOT EXISTS idx_entry_tag_links_entry ON entry_tag_links (entry_id, position);
+
+-- ProjectRepository / TemplateRepository: findByUser
+CREATE INDEX IF NOT EXISTS idx_projects_user ON projects (user_id);
+CREATE INDEX IF NOT EXISTS idx_templates_user ON templates (user_id);
@@ -0,0 +1,8 @@
+-- 취소된 JWT 목록 (TokenRevocationService가 시작할 때 읽어 메모리 필터를 만듦)
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti varchar(36) NOT NULL,
+    expires_at datetime(6) NOT NULL,
+    revoked_at datetime(6) NOT NULL,
+    PRIMARY KEY (jti),
+    INDEX idx_revoked_tokens_expires (expires_at)
+) ENGINE=InnoDB;
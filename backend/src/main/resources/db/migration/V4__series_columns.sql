@@ -0,0 +1,16 @@
+-- Flyway 이전 스키마(기존 운영 DB)에 없던 컬럼 추가
+-- V1은 이미 있는 entries/entry_versions 테이블을 건너뛰므로, 그 뒤에 추가된 컬럼은 여기서 추가합니다.
+-- (처음부터 V1로 만든 DB에는 이미 있으므로 IF NOT EXISTS)
+
+-- 본문 분리 (entries.content -> entry_contents): 값 이동과 제약 조건은 V5(EntryContentMigration)에서 처리
+ALTER TABLE entries ADD COLUMN IF NOT EXISTS content_id bigint;
+-- 링크 색인 백필 여부 (EntryLinkService)
+ALTER TABLE entries ADD COLUMN IF NOT EXISTS links_indexed bit;
+-- 본문 해시/단어 수 (ContentNormalizer 백필)
+ALTER TABLE entries ADD COLUMN IF NOT EXISTS content_hash varchar(64);
+ALTER TABLE entries ADD COLUMN IF NOT EXISTS word_count integer;
+
+-- 편집 세션 단위 버전 병합 (EntryController)
+ALTER TABLE entry_versions ADD COLUMN IF NOT EXISTS edit_session_id varchar(64);
+-- 버전 검색 색인 백필 여부 (VersionSearchService)
+ALTER TABLE entry_versions ADD COLUMN IF NOT EXISTS search_indexed bit;
@@ -0,0 +1,9 @@
+-- 사용자 이름별 토큰 취소 시각 (이름 변경/회원 탈퇴 시 그 이름으로 그 전에 발급된 토큰을 모두 무효화)
+-- 취소 시각 이후 JWT 유효 기간이 지나면 막을 토큰이 없으므로 expires_at 기준으로 정리
+CREATE TABLE IF NOT EXISTS revoked_usernames (
+    username varchar(255) NOT NULL,
+    revoked_at datetime(6) NOT NULL,
+    expires_at datetime(6) NOT NULL,
+    PRIMARY KEY (username),
+    INDEX idx_revoked_usernames_expires (expires_at)
+) ENGINE=InnoDB;
@@ -0,0 +1,54 @@
+package com.labnote.backend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveBCryptPasswordEncoderTests {
+
+    private static final String SALT_AND_HASH = "N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    @Test
+    void upgradesOnlyHashesWithALowerCost() {
+        AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(12);
+
+        assertThat(encoder.upgradeEncoding("$2a$10$" + SALT_AND_HASH)).isTrue();
+        assertThat(encoder.upgradeEncoding("$2b$11$" + SALT_AND_HASH)).isTrue();
+        assertThat(encoder.upgradeEncoding("$2a$12$" + SALT_AND_HASH)).isFalse();
+        // 더 빠른 서버에서 만든 높은 비용의 해시는 그대로 둠
+        assertThat(encoder.upgradeEncoding("$2a$13$" + SALT_AND_HASH)).isFalse();
+        assertThat(encoder.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+    }
+
+    @Test
+    void calibratePicksTheLargestCostWithinTarget() {
+        // 비용 10에서 10ms, 비용이 1 오를 때마다 두 배
+        assertThat(AdaptiveBCryptPasswordEncoder.calibrate(100, cost -> 10L << (cost - 10))).isEqualTo(13);
+        assertThat(AdaptiveBCryptPasswordEncoder.calibrate(160, cost -> 10L << (cost - 10))).isEqualTo(14);
+    }
+
+    @Test
+    void calibrateStaysWithinBounds() {
+        assertThat(AdaptiveBCryptPasswordEncoder.calibrate(250, cost -> 0L))
+                .isEqualTo(AdaptiveBCryptPasswordEncoder.MAX_STRENGTH);
+        assertThat(AdaptiveBCryptPasswordEncoder.calibrate(250, cost -> 10_000L))
+                .isEqualTo(AdaptiveBCryptPasswordEncoder.MIN_STRENGTH);
+    }
+
+    @Test
+    void calibrateIgnoresASingleSlowSample() {
+        Map<Integer, Integer> calls = new HashMap<>();
+        int cost = AdaptiveBCryptPasswordEncoder.calibrate(100, c -> {
+            // 비용 11의 첫 측정만 GC 등으로 느림
+            boolean first = calls.merge(c, 1, Integer::sum) == 1;
+            return c == 11 && first ? 1_000L : 10L << (c - 10);
+        });
+
+        assertThat(cost).isEqualTo(13);
+        assertThat(calls.get(11)).isEqualTo(AdaptiveBCryptPasswordEncoder.CALIBRATION_SAMPLES);
+    }
+}
@@ -0,0 +1,75 @@
+package com.labnote.backend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContentCompressorTests {
+
+    private ContentCompressor compressor;
+
+    @BeforeEach
+    void setUp() {
+        compressor = new ContentCompressor();
+        ReflectionTestUtils.setField(compressor, "enabled", true);
+        ReflectionTestUtils.setField(compressor, "thresholdBytes", 1024);
+    }
+
+    @Test
+    void compressesLargeBodiesAndRoundTrips() {
+        String html = "<p>측정값 기록 0.125 mol/L</p>".repeat(200);
+
+        String stored = compressor.encode(html);
+
+        assertThat(stored).startsWith(ContentCompressor.MARKER);
+        assertThat(stored.length()).isLessThan(html.length());
+        assertThat(ContentCompressor.decode(stored)).isEqualTo(html);
+    }
+
+    @Test
+    void leavesBodiesBelowThresholdUnchanged() {
+        String html = "<p>짧은 노트</p>";
+
+        assertThat(compressor.encode(html)).isEqualTo(html);
+        assertThat(ContentCompressor.decode(html)).isEqualTo(html);
+        assertThat(compressor.encode(null)).isNull();
+        assertThat(ContentCompressor.decode(null)).isNull();
+    }
+
+    @Test
+    void leavesIncompressibleBodiesUnchanged() {
+        byte[] bytes = new byte[4096];
+        new Random(42).nextBytes(bytes);
+        String noise = Base64.getEncoder().encodeToString(bytes);
+
+        assertThat(compressor.encode(noise)).isEqualTo(noise);
+    }
+
+    @Test
+    void alwaysEncodesBodiesThatStartWithMarker() {
+        String html = ContentCompressor.MARKER + "<p>마커로 시작하는 짧은 본문</p>";
+        ReflectionTestUtils.setField(compressor, "enabled", false);
+
+        String stored = compressor.encode(html);
+
+        assertThat(stored).isNotEqualTo(html).startsWith(ContentCompressor.MARKER);
+        assertThat(ContentCompressor.decode(stored)).isEqualTo(html);
+    }
+
+    @Test
+    void rejectsTruncatedOrCorruptPayloads() {
+        String stored = compressor.encode("<p>잘린 본문 테스트</p>".repeat(200));
+        String truncated = stored.substring(0, ContentCompressor.MARKER.length()
+                + (stored.length() - ContentCompressor.MARKER.length()) / 2 / 4 * 4);
+
+        assertThatThrownBy(() -> ContentCompressor.decode(truncated)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> ContentCompressor.decode(ContentCompressor.MARKER + "not base64!"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
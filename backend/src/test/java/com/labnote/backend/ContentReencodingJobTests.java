@@ -0,0 +1,63 @@
+package com.labnote.backend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:reencode;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ContentReencodingJobTests {
+
+    private static final String LARGE = "<p>titration 0.1 M NaOH</p>".repeat(100);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ContentReencodingJob job;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM entry_contents");
+        ContentCompressor compressor = new ContentCompressor();
+        ReflectionTestUtils.setField(compressor, "enabled", true);
+        ReflectionTestUtils.setField(compressor, "thresholdBytes", 1024);
+
+        job = new ContentReencodingJob();
+        ReflectionTestUtils.setField(job, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(job, "contentCompressor", compressor);
+        ReflectionTestUtils.setField(job, "batchSize", 10);
+        ReflectionTestUtils.setField(job, "batchPauseMillis", 0L);
+    }
+
+    @Test
+    void keepsRunningUntilRowsWaitingForBackfillAreCompressed() {
+        jdbcTemplate.update("INSERT INTO entry_contents (id, content, plain_text) VALUES (1, ?, NULL)", LARGE);
+
+        // plain_text 백필 전: 건너뛰지만 끝난 것으로 보지 않음
+        job.reencode();
+        assertThat(content(1)).isEqualTo(LARGE);
+        assertThat(completed()).isFalse();
+
+        jdbcTemplate.update("UPDATE entry_contents SET plain_text = 'titration' WHERE id = 1");
+        job.reencode();
+        assertThat(content(1)).startsWith(ContentCompressor.MARKER);
+        assertThat(completed()).isTrue();
+    }
+
+    private String content(long id) {
+        return jdbcTemplate.queryForObject("SELECT content FROM entry_contents WHERE id = ?", String.class, id);
+    }
+
+    private boolean completed() {
+        return (Boolean) ReflectionTestUtils.getField(job, "completed");
+    }
+}
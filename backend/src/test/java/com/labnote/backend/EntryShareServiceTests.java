@@ -0,0 +1,94 @@
+package com.labnote.backend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:shares;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 커밋/롤백 후의 메모리 상태를 확인
+class EntryShareServiceTests {
+
+    private static final String TOKEN = "a".repeat(EntryShareService.TOKEN_LENGTH);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntryShareRepository entryShareRepository;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    @TempDir
+    private Path snapshotDir;
+
+    private EntryShareService service;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jdbcTemplate.update("DELETE FROM entry_shares");
+        jdbcTemplate.update("DELETE FROM entries");
+        jdbcTemplate.update("DELETE FROM entry_contents");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (id, username, password) VALUES (1, 'sharer', 'x')");
+        jdbcTemplate.update("INSERT INTO entry_contents (id, content, plain_text) VALUES (1, '<p>x</p>', 'x')");
+        jdbcTemplate.update("INSERT INTO entries (id, title, content_id, user_id) VALUES (1, 'shared', 1, 1)");
+        jdbcTemplate.update("INSERT INTO entry_shares (token, entry_id, user_id) VALUES (?, 1, 1)", TOKEN);
+        Files.writeString(snapshotDir.resolve(TOKEN + ".html"), "<html></html>");
+
+        service = new EntryShareService(snapshotDir.toString());
+        ReflectionTestUtils.setField(service, "entryShareRepository", entryShareRepository);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "cacheMaxEntries", 10);
+        service.run(null);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void revokeTakesEffectOnlyAfterCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(service.revoke(entryRepository.findById(1L).orElseThrow())).isTrue();
+            assertThat(service.snapshot(TOKEN)).isNotNull(); // 커밋 전에는 아직 공개
+            status.setRollbackOnly();
+        });
+        assertThat(service.snapshot(TOKEN)).isNotNull();
+        assertThat(Files.exists(snapshotDir.resolve(TOKEN + ".html"))).isTrue();
+
+        transactionTemplate.executeWithoutResult(status -> service.revoke(entryRepository.findById(1L).orElseThrow()));
+        assertThat(service.snapshot(TOKEN)).isNull();
+        assertThat(Files.exists(snapshotDir.resolve(TOKEN + ".html"))).isFalse();
+    }
+
+    @Test
+    void rolledBackDeletesKeepTheLink() {
+        transactionTemplate.executeWithoutResult(status -> {
+            service.entriesDeleted(List.of(1L));
+            service.userDeleted(1L);
+            status.setRollbackOnly();
+        });
+        assertThat(service.snapshot(TOKEN)).isNotNull();
+
+        transactionTemplate.executeWithoutResult(status -> service.userDeleted(1L));
+        assertThat(service.snapshot(TOKEN)).isNull();
+    }
+}
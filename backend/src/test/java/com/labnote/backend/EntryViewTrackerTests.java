@@ -0,0 +1,144 @@
+package com.labnote.backend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:views;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // flush()는 자체 트랜잭션으로 커밋
+class EntryViewTrackerTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM entry_view_stats");
+        jdbcTemplate.update("DELETE FROM entries");
+        jdbcTemplate.update("DELETE FROM entry_contents");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (id, username, password) VALUES (1, 'viewer', 'x')");
+        for (long id = 1; id <= 5; id++) {
+            jdbcTemplate.update("INSERT INTO entry_contents (id, content, plain_text) VALUES (?, '<p>x</p>', 'x')", id);
+            jdbcTemplate.update("INSERT INTO entries (id, title, content_id, user_id) VALUES (?, ?, ?, 1)", id, "entry " + id, id);
+        }
+        user = userRepository.findById(1L).orElseThrow();
+    }
+
+    @Test
+    void concurrentViewsAreCountedAndFlushedOnce() throws Exception {
+        EntryViewTracker tracker = tracker(10, 3_600_000L);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Void>> views = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                views.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        tracker.recordView(1L, 1L);
+                    }
+                }, pool));
+            }
+            CompletableFuture.allOf(views.toArray(CompletableFuture[]::new)).get();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(tracker.mostViewed(user, 1)).extracting(EntryViewResponse::getViewCount).containsExactly(8000L);
+        tracker.flush();
+        tracker.flush(); // 이미 쓴 증가분은 다시 쓰지 않음
+        assertThat(jdbcTemplate.queryForObject("SELECT view_count FROM entry_view_stats WHERE entry_id = 1", Long.class))
+                .isEqualTo(8000L);
+
+        // 새로 읽어도 같은 값
+        assertThat(tracker(10, 3_600_000L).mostViewed(user, 1)).extracting(EntryViewResponse::getViewCount).containsExactly(8000L);
+    }
+
+    @Test
+    void ringBufferKeepsMostRecentDistinctViews() throws Exception {
+        EntryViewTracker tracker = tracker(3, 3_600_000L);
+        for (long id : new long[]{1, 2, 2, 3, 4}) {
+            tracker.recordView(1L, id);
+            Thread.sleep(2); // 마지막 조회 시각이 겹치지 않도록
+        }
+
+        assertThat(tracker.recent(user, 3)).extracting(EntryViewResponse::getId).containsExactly(4L, 3L, 2L);
+        // 링 버퍼보다 많이 요청하면 전체 기록에서 마지막 조회 시각 순으로
+        assertThat(tracker.recent(user, 5)).extracting(EntryViewResponse::getId).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(tracker.mostViewed(user, 2)).extracting(EntryViewResponse::getId).containsExactly(2L, 4L);
+    }
+
+    @Test
+    void idleUsersAreEvictedAfterFlushAndReloadedFromDatabase() {
+        EntryViewTracker tracker = tracker(10, -1L); // 모든 사용자를 유휴로 봄
+        tracker.recordView(1L, 2L);
+
+        tracker.flush();
+        assertThat(users(tracker)).isEmpty();
+
+        tracker.recordView(1L, 2L);
+        assertThat(tracker.mostViewed(user, 1)).extracting(EntryViewResponse::getViewCount).containsExactly(2L);
+    }
+
+    @Test
+    void deletedEntriesAreDroppedAndListsStayFull() throws Exception {
+        EntryViewTracker tracker = tracker(10, 3_600_000L);
+        for (long id = 1; id <= 5; id++) {
+            for (int i = 0; i < id; i++) {
+                tracker.recordView(1L, id);
+            }
+            Thread.sleep(2);
+        }
+
+        // 이 서버에서 삭제: 커밋 후 기록에서 지움
+        jdbcTemplate.update("DELETE FROM entries WHERE id = 5");
+        tracker.entriesDeleted(1L, List.of(5L));
+        // 다른 서버에서 삭제되어 아직 기록에 남아 있는 노트
+        jdbcTemplate.update("DELETE FROM entries WHERE id = 4");
+
+        assertThat(tracker.mostViewed(user, 3)).extracting(EntryViewResponse::getId).containsExactly(3L, 2L, 1L);
+        assertThat(tracker.recent(user, 2)).extracting(EntryViewResponse::getId).containsExactly(3L, 2L);
+        assertThat(tracker.recent(user, 10)).extracting(EntryViewResponse::getId).containsExactly(3L, 2L, 1L);
+    }
+
+    private EntryViewTracker tracker(int recentSize, long idleEvictMillis) {
+        EntryViewTracker tracker = new EntryViewTracker(transactionManager);
+        ReflectionTestUtils.setField(tracker, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(tracker, "entryRepository", entryRepository);
+        ReflectionTestUtils.setField(tracker, "recentSize", recentSize);
+        ReflectionTestUtils.setField(tracker, "flushBatchSize", 100);
+        ReflectionTestUtils.setField(tracker, "idleEvictMillis", idleEvictMillis);
+        return tracker;
+    }
+
+    private static Map<?, ?> users(EntryViewTracker tracker) {
+        return (Map<?, ?>) ReflectionTestUtils.getField(tracker, "users");
+    }
+}
@@ -0,0 +1,99 @@
+package com.labnote.backend;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flyway 도입 전 스키마(db/pre-flyway-schema.sql)에서 시작한 DB가 마이그레이션 후 새로 만든 DB와 같은 스키마가 되고,
+ * 본문과 태그가 새 테이블로 옮겨지는지 확인
+ */
+class FlywayUpgradeTests {
+
+    @Test
+    void preFlywayDatabaseUpgradesToTheSameSchemaAsAFreshOne() {
+        DataSource legacy = dataSource("upgrade_legacy");
+        new ResourceDatabasePopulator(new ClassPathResource("db/pre-flyway-schema.sql")).execute(legacy);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(legacy);
+        jdbcTemplate.update("INSERT INTO users (id, username, password) VALUES (1, 'legacy', 'x')");
+        jdbcTemplate.update("INSERT INTO entries (id, title, content, user_id) VALUES (1, 'PCR', '<p>pcr run</p>', 1)");
+        jdbcTemplate.update("INSERT INTO entries (id, title, content, user_id) VALUES (2, 'Gel', '<p>gel</p>', 1)");
+        jdbcTemplate.update("INSERT INTO entry_tags (entry_id, tag) VALUES (1, 'PCR'), (1, 'pcr'), (1, ' buffer '), (2, 'Buffer')");
+        jdbcTemplate.update("INSERT INTO entry_versions (id, entry_id, title, content, version_timestamp) " +
+                "VALUES (1, 1, 'PCR', '<p>draft</p>', CURRENT_TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO entry_version_tags (version_id, tag) VALUES (1, 'draft')");
+
+        Flyway upgraded = flyway(legacy);
+        upgraded.migrate();
+
+        DataSource fresh = dataSource("upgrade_fresh");
+        Flyway created = flyway(fresh);
+        created.migrate();
+
+        assertThat(upgraded.info().current().getVersion()).isEqualTo(created.info().current().getVersion());
+        assertThat(columns(legacy)).containsExactlyInAnyOrderElementsOf(columns(fresh));
+        assertThat(constraints(legacy)).containsExactlyInAnyOrderElementsOf(constraints(fresh));
+        assertThat(indexes(legacy)).containsExactlyInAnyOrderElementsOf(indexes(fresh));
+
+        // 본문은 entry_contents로
+        assertThat(jdbcTemplate.queryForList("SELECT c.content FROM entries e JOIN entry_contents c ON c.id = e.content_id " +
+                "ORDER BY e.id", String.class)).containsExactly("<p>pcr run</p>", "<p>gel</p>");
+        // 태그는 대소문자/공백을 무시한 사용자별 태그 사전과 연결 테이블로
+        assertThat(jdbcTemplate.queryForList("SELECT name_key, usage_count FROM tags WHERE user_id = 1 ORDER BY name_key"))
+                .containsExactly(Map.of("name_key", "buffer", "usage_count", 2L), Map.of("name_key", "pcr", "usage_count", 1L));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM entry_tag_links WHERE entry_id = 1", Long.class))
+                .isEqualTo(2L);
+        // 버전의 태그 스냅샷은 그대로
+        assertThat(jdbcTemplate.queryForList("SELECT tag FROM entry_version_tags", String.class)).containsExactly("draft");
+
+        // 다시 실행해도 바뀌는 것 없음
+        assertThat(flyway(legacy).migrate().migrationsExecuted).isZero();
+    }
+
+    private static DataSource dataSource(String name) {
+        return new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    // BackendApplication 기본 설정과 같은 방식 (기존 DB는 버전 0으로 기록한 뒤 V1부터 실행)
+    private static Flyway flyway(DataSource dataSource) {
+        EntryContentMigration contentMigration = new EntryContentMigration();
+        ReflectionTestUtils.setField(contentMigration, "batchSize", 1); // 여러 배치로 나뉘어도 모두 옮기는지 확인
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .javaMigrations(contentMigration, new TagMigration())
+                .load();
+    }
+
+    private static List<Map<String, Object>> columns(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForList(
+                "SELECT table_name, column_name, data_type, is_nullable FROM information_schema.columns " +
+                        "WHERE table_schema = 'public' AND table_name <> 'flyway_schema_history'");
+    }
+
+    private static List<Map<String, Object>> constraints(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForList(
+                "SELECT table_name, constraint_name, constraint_type FROM information_schema.table_constraints " +
+                        "WHERE table_schema = 'public' AND table_name <> 'flyway_schema_history'");
+    }
+
+    // H2가 자동으로 만드는 인덱스 이름의 끝(_8, _A2 등 테이블 번호)은 DB마다 달라서 제외
+    private static List<Map<String, Object>> indexes(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForList(
+                "SELECT table_name, REGEXP_REPLACE(index_name, '_[0-9A-F]+$', '') AS index_name, index_type_name " +
+                        "FROM information_schema.indexes " +
+                        "WHERE table_schema = 'public' AND table_name <> 'flyway_schema_history'");
+    }
+}
@@ -0,0 +1,83 @@
+package com.labnote.backend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class NearDuplicateServiceTests {
+
+    @Test
+    void signatureIgnoresCaseAndPunctuation() {
+        int[] original = NearDuplicateService.signatureOfText("Add 5 mL buffer, then incubate at 37 C for 30 min.");
+        int[] reformatted = NearDuplicateService.signatureOfText("add 5 ml BUFFER then incubate at 37 c for 30 min");
+
+        assertThat(original).hasSize(NearDuplicateService.SIGNATURE_BYTES / Integer.BYTES);
+        assertThat(NearDuplicateService.estimateSimilarity(original, reformatted)).isEqualTo(1.0);
+    }
+
+    @Test
+    void signatureIsNullWithoutWords() {
+        assertThat(NearDuplicateService.signatureOfText("")).isNull();
+        assertThat(NearDuplicateService.signatureOfText(" .,- ")).isNull();
+        assertThat(NearDuplicateService.signatureOf("<p> </p>")).isNull();
+        // 단어가 3개 미만이어도 서명은 만들어짐
+        assertThat(NearDuplicateService.signatureOfText("buffer")).isNotNull();
+    }
+
+    @Test
+    void estimateTracksShingleJaccardSimilarity() {
+        List<String> words = words("w", 300);
+        for (int changed : new int[]{0, 10, 30, 80, 300}) {
+            List<String> edited = new ArrayList<>(words);
+            for (int i = 0; i < changed; i++) {
+                edited.set(i * words.size() / Math.max(changed, 1), "x" + i); // 고르게 흩어서 단어 교체
+            }
+            double jaccard = shingleJaccard(words, edited);
+            double estimate = NearDuplicateService.estimateSimilarity(
+                    NearDuplicateService.signatureOfText(String.join(" ", words)),
+                    NearDuplicateService.signatureOfText(String.join(" ", edited)));
+
+            // 해시 128개 추정치의 표준편차는 최대 약 0.044
+            assertThat(estimate).as("changed=%d, jaccard=%.3f", changed, jaccard).isCloseTo(jaccard, within(0.13));
+        }
+    }
+
+    @Test
+    void minThresholdIsWhereLshReliablyFindsCandidates() {
+        assertThat(NearDuplicateService.candidateProbability(NearDuplicateService.MIN_THRESHOLD)).isGreaterThan(0.94);
+        assertThat(NearDuplicateService.candidateProbability(0.7)).isLessThan(0.65);
+        assertThat(NearDuplicateService.candidateProbability(1.0)).isEqualTo(1.0);
+    }
+
+    private static List<String> words(String prefix, int count) {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            words.add(prefix + i);
+        }
+        return words;
+    }
+
+    // 서비스와 같은 3단어 묶음의 Jaccard 유사도
+    private static double shingleJaccard(List<String> a, List<String> b) {
+        Set<String> left = shingles(a);
+        Set<String> right = shingles(b);
+        Set<String> union = new HashSet<>(left);
+        union.addAll(right);
+        left.retainAll(right);
+        return (double) left.size() / union.size();
+    }
+
+    private static Set<String> shingles(List<String> words) {
+        Set<String> shingles = new HashSet<>();
+        for (int i = 0; i + 3 <= words.size(); i++) {
+            shingles.add(String.join(" ", words.subList(i, i + 3)));
+        }
+        return shingles;
+    }
+}
@@ -0,0 +1,249 @@
+package com.labnote.backend;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리포지토리 조회의 실행 계획 회귀 테스트
+ * Flyway 마이그레이션으로 만든 내장 DB(H2, MariaDB 모드)에 데이터를 채운 뒤, 각 조회에서 Hibernate가 실행한 SQL을
+ * 그대로 EXPLAIN 해서 전체 스캔(테이블 또는 인덱스 전체)으로 읽는 테이블이 있으면 실패합니다.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplan;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.labnote.backend.QueryPlanTests$SqlCapture"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 채운 데이터를 커밋해서 통계(ANALYZE)에 반영
+class QueryPlanTests {
+
+    private static final int USERS = 20;
+    private static final int PROJECTS_PER_USER = 5;
+    private static final int ENTRIES_PER_USER = 100;
+    private static final int VERSIONS_PER_ENTRY = 3;
+    private static final int TAGS_PER_USER = 10;
+
+    // EXPLAIN 결과에서 테이블마다 붙는 접근 방식 주석: /* public.인덱스명: 조건 */ 또는 /* public.테이블.tableScan */
+    private static final Pattern TABLE_ACCESS = Pattern.compile("/\\* public\\.([\\w.]+)(?:: (.*?))? \\*/", Pattern.DOTALL);
+
+    private static boolean seeded = false;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    @Autowired
+    private EntryVersionRepository entryVersionRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private TemplateRepository templateRepository;
+
+    /**
+     * Hibernate가 실행하는 SQL을 모아 두는 StatementInspector
+     */
+    public static class SqlCapture implements StatementInspector {
+        private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> projects = new ArrayList<>();
+        List<Object[]> templates = new ArrayList<>();
+        List<Object[]> tags = new ArrayList<>();
+        List<Object[]> contents = new ArrayList<>();
+        List<Object[]> entries = new ArrayList<>();
+        List<Object[]> tagLinks = new ArrayList<>();
+        List<Object[]> versions = new ArrayList<>();
+        List<Object[]> versionTags = new ArrayList<>();
+        List<Object[]> links = new ArrayList<>();
+
+        long entryId = 0;
+        long versionId = 0;
+        for (long userId = 1; userId <= USERS; userId++) {
+            users.add(new Object[]{userId, "user" + userId, "password"});
+            for (int p = 0; p < PROJECTS_PER_USER; p++) {
+                long projectId = (userId - 1) * PROJECTS_PER_USER + p + 1;
+                projects.add(new Object[]{projectId, "project" + projectId, userId});
+                templates.add(new Object[]{projectId, "template" + projectId, "<p>template</p>", userId});
+            }
+            for (int t = 0; t < TAGS_PER_USER; t++) {
+                long tagId = (userId - 1) * TAGS_PER_USER + t + 1;
+                tags.add(new Object[]{tagId, userId, "tag" + t, "tag" + t});
+            }
+            for (int e = 0; e < ENTRIES_PER_USER; e++) {
+                entryId++;
+                Timestamp updatedAt = Timestamp.valueOf(base.plusMinutes(entryId));
+                // 일부는 미분류 (project_id IS NULL)
+                Long projectId = e % 4 == 0 ? null : (userId - 1) * PROJECTS_PER_USER + e % PROJECTS_PER_USER + 1;
+                contents.add(new Object[]{entryId, "<p>buffer " + entryId + "</p>", "buffer " + entryId});
+                entries.add(new Object[]{entryId, "entry " + entryId, entryId, updatedAt, updatedAt, projectId, userId});
+                for (int position = 0; position < 2; position++) {
+                    long tagId = (userId - 1) * TAGS_PER_USER + (e + position) % TAGS_PER_USER + 1;
+                    tagLinks.add(new Object[]{entryId, position, tagId});
+                }
+                for (int v = 0; v < VERSIONS_PER_ENTRY; v++) {
+                    versionId++;
+                    versions.add(new Object[]{versionId, entryId, "entry " + entryId, "<p>version</p>", Timestamp.valueOf(base.plusMinutes(entryId).plusSeconds(v))});
+                    versionTags.add(new Object[]{versionId, "tag" + v});
+                }
+                if (e > 0) {
+                    links.add(new Object[]{entryId, entryId - 1});
+                }
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, password) VALUES (?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO projects (id, name, user_id) VALUES (?, ?, ?)", projects);
+        jdbcTemplate.batchUpdate("INSERT INTO templates (id, name, content, user_id) VALUES (?, ?, ?, ?)", templates);
+        jdbcTemplate.batchUpdate("INSERT INTO tags (id, user_id, name, name_key, usage_count) VALUES (?, ?, ?, ?, 0)", tags);
+        jdbcTemplate.batchUpdate("INSERT INTO entry_contents (id, content, plain_text) VALUES (?, ?, ?)", contents);
+        jdbcTemplate.batchUpdate("INSERT INTO entries (id, title, content_id, created_at, updated_at, project_id, user_id) VALUES (?, ?, ?, ?, ?, ?, ?)", entries);
+        jdbcTemplate.batchUpdate("INSERT INTO entry_tag_links (entry_id, position, tag_id) VALUES (?, ?, ?)", tagLinks);
+        jdbcTemplate.batchUpdate("INSERT INTO entry_versions (id, entry_id, title, content, version_timestamp) VALUES (?, ?, ?, ?, ?)", versions);
+        jdbcTemplate.batchUpdate("INSERT INTO entry_version_tags (version_id, tag) VALUES (?, ?)", versionTags);
+        jdbcTemplate.batchUpdate("INSERT INTO entry_links (source_id, target_id) VALUES (?, ?)", links);
+        jdbcTemplate.execute("ANALYZE");
+        seeded = true;
+    }
+
+    @Test
+    void entryListQueriesUseIndexes() {
+        assertNoFullScan(() -> {
+            User user = userRepository.getReferenceById(3L);
+            entryRepository.findByProjectIdAndUser(12L, user);
+            entryRepository.findByProjectIsNullAndUser(user);
+            entryRepository.findByUser(user);
+        });
+        assertNoFullScan(() -> {
+            User user = userRepository.getReferenceById(3L);
+            try (var stream = entryRepository.streamByProjectIdAndUser(12L, user)) {
+                stream.forEach(entry -> { });
+            }
+            try (var stream = entryRepository.streamByProjectIsNullAndUser(user)) {
+                stream.forEach(entry -> { });
+            }
+            try (var stream = entryRepository.streamByUser(user)) {
+                stream.forEach(entry -> { });
+            }
+        });
+    }
+
+    @Test
+    void entryLookupAndSearchQueriesUseIndexes() {
+        assertNoFullScan(() -> {
+            User user = userRepository.getReferenceById(3L);
+            entryRepository.findByIdAndUser(250L, user);
+            entryRepository.findByUserAndIdIn(user, List.of(201L, 202L, 203L));
+            entryRepository.searchByUser(user, "buffer 25");
+            entryRepository.findByUserAndAllTagIds(user, List.of(21L, 22L), 2);
+            entryRepository.findLinkNodes(user, List.of(201L, 202L));
+            entryRepository.findBacklinkNodes(250L);
+        });
+    }
+
+    @Test
+    void entryDeleteByUserUsesIndexes() {
+        assertNoFullScan(() -> {
+            entryRepository.deleteAllByUser(userRepository.getReferenceById(4L));
+            entryRepository.flush(); // 롤백 전에 DELETE 문을 실행
+        });
+    }
+
+    @Test
+    void entryVersionQueriesUseIndexes() {
+        assertNoFullScan(() -> {
+            Entry entry = entryRepository.getReferenceById(250L);
+            entryVersionRepository.findByEntryOrderByVersionTimestampDesc(entry);
+            entryVersionRepository.findFirstByEntryOrderByVersionTimestampDesc(entry);
+            entryVersionRepository.findMetadataByEntryIdBefore(250L, LocalDateTime.of(2030, 1, 1, 0, 0));
+            entryVersionRepository.findEntryIdsWithVersionsBefore(LocalDateTime.of(2024, 1, 1, 1, 0));
+            entryVersionRepository.deleteTagsByVersionIds(List.of(1L, 2L));
+            entryVersionRepository.deleteByIds(List.of(1L, 2L));
+        });
+    }
+
+    @Test
+    void projectAndTemplateQueriesUseIndexes() {
+        assertNoFullScan(() -> {
+            User user = userRepository.getReferenceById(3L);
+            projectRepository.findByUser(user);
+            projectRepository.findByIdAndUser(12L, user);
+            templateRepository.findByUser(user);
+            templateRepository.findByIdAndUser(12L, user);
+        });
+    }
+
+    // 조회를 (롤백되는) 트랜잭션 안에서 실행하고, 실행된 SQL마다 EXPLAIN 결과에 전체 스캔이 없는지 확인
+    private void assertNoFullScan(Runnable queries) {
+        SqlCapture.statements.clear();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            queries.run();
+            status.setRollbackOnly();
+        });
+
+        List<String> statements = SqlCapture.statements.stream().distinct().toList();
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            String plan = jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+                    rs -> rs.next() ? rs.getString(1) : "");
+            Matcher access = TABLE_ACCESS.matcher(plan);
+            while (access.find()) {
+                String index = access.group(1);
+                String condition = access.group(2);
+                assertThat(index).as("전체 스캔: %s", plan).doesNotEndWith(".tableScan");
+                // H2는 커버링 인덱스를 처음부터 끝까지 읽는 경우도 인덱스 사용으로 표시하므로, 첫 번째 컬럼으로 찾는지 확인
+                assertThat(condition).as("인덱스 전체 스캔: %s", plan).isNotNull();
+                assertThat(condition.toLowerCase()).as("인덱스 전체 스캔: %s", plan)
+                        .containsPattern("(^|\\band\\s+)" + leadingColumn(index) + " ");
+            }
+        }
+    }
+
+    private String leadingColumn(String index) {
+        return jdbcTemplate.queryForObject(
+                "SELECT LOWER(column_name) FROM information_schema.index_columns " +
+                        "WHERE LOWER(index_name) = LOWER(?) AND ordinal_position = 1",
+                String.class, index);
+    }
+}
@@ -0,0 +1,47 @@
+package com.labnote.backend;
+
+import com.labnote.backend.RateLimitProperties.EndpointClass;
+import com.labnote.backend.RateLimitProperties.Limit;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitPropertiesTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(Config.class);
+
+    @Test
+    void settingOneFieldKeepsTheOtherDefaults() {
+        contextRunner.withPropertyValues("app.rate-limit.limits.search.capacity=10", "app.rate-limit.limits.default.capacity=50")
+                .run(context -> {
+                    RateLimitProperties properties = context.getBean(RateLimitProperties.class);
+                    Limit search = properties.limitFor(EndpointClass.SEARCH);
+                    assertThat(search.getCapacity()).isEqualTo(10);
+                    assertThat(search.getRefillPerSecond()).isEqualTo(5);
+                    assertThat(search.getMaxConcurrent()).isEqualTo(16);
+                    Limit defaults = properties.limitFor(EndpointClass.DEFAULT);
+                    assertThat(defaults.getCapacity()).isEqualTo(50);
+                    assertThat(defaults.getRefillPerSecond()).isEqualTo(20);
+                    assertThat(properties.limitFor(EndpointClass.EXPORT).getCapacity()).isEqualTo(10);
+                });
+    }
+
+    @Test
+    void invalidLimitFailsAtStartup() {
+        contextRunner.withPropertyValues("app.rate-limit.limits.upload.refill-per-second=0")
+                .run(context -> assertThat(context).hasFailed());
+        contextRunner.withPropertyValues("app.rate-limit.limits.default.capacity=0")
+                .run(context -> assertThat(context).hasFailed());
+        contextRunner.withPropertyValues("app.rate-limit.limits.search.max-concurrent=-1")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class Config {
+    }
+}
@@ -0,0 +1,170 @@
+package com.labnote.backend;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 두 개의 내장 H2 DB(primary, replica)로 읽기/쓰기 라우팅을 확인하는 테스트
+ * (JDBC 트랜잭션, JPA 트랜잭션, 쓰기 후 primary 고정 인터셉터)
+ */
+class ReplicaRoutingDataSourceTests {
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = embeddedDatabase("routing_primary", "primary");
+        DataSource replica = embeddedDatabase("routing_replica", "replica");
+
+        routingDataSource = new ReplicaRoutingDataSource(List.of("replica-0"));
+        routingDataSource.setTargetDataSources(Map.of(ReplicaRoutingDataSource.PRIMARY, primary, "replica-0", replica));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+
+        dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void readOnlyRequestUsesReplica() {
+        ReplicaRoutingContext.allowReplica();
+        assertThat(whichDatabase(readOnlyTransaction)).isEqualTo("replica");
+    }
+
+    @Test
+    void writeTransactionStaysOnPrimary() {
+        ReplicaRoutingContext.allowReplica();
+        assertThat(whichDatabase(writeTransaction)).isEqualTo("primary");
+    }
+
+    @Test
+    void requestNotMarkedReadOnlyStaysOnPrimary() {
+        assertThat(whichDatabase(readOnlyTransaction)).isEqualTo("primary");
+    }
+
+    @Test
+    void unhealthyReplicaFallsBackToPrimary() {
+        ReplicaRoutingContext.allowReplica();
+        routingDataSource.setReplicaHealthy("replica-0", false);
+        assertThat(whichDatabase(readOnlyTransaction)).isEqualTo("primary");
+    }
+
+    @Test
+    void jpaReadOnlyTransactionUsesReplica() {
+        // JpaTransactionManager는 트랜잭션 시작(doBegin) 중에 커넥션을 준비하므로,
+        // 지연 프록시 덕분에 readOnly 표시가 끝난 뒤에 대상 DB가 골라지는지 확인
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setPackagesToScan(ReplicaRoutingDataSourceTests.class.getPackageName() + ".none");
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        try {
+            JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+            TransactionTemplate jpaReadOnly = new TransactionTemplate(transactionManager);
+            jpaReadOnly.setReadOnly(true);
+            TransactionTemplate jpaWrite = new TransactionTemplate(transactionManager);
+            EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+
+            ReplicaRoutingContext.allowReplica();
+            assertThat(whichDatabase(jpaReadOnly, entityManager)).isEqualTo("replica");
+            assertThat(whichDatabase(jpaWrite, entityManager)).isEqualTo("primary");
+
+            ReplicaRoutingContext.clear();
+            assertThat(whichDatabase(jpaReadOnly, entityManager)).isEqualTo("primary");
+        } finally {
+            factoryBean.destroy();
+        }
+    }
+
+    @Test
+    void interceptorPinsWritersToPrimaryAndPrunesExpiredWrites() throws Exception {
+        ReplicaRoutingInterceptor interceptor = new ReplicaRoutingInterceptor();
+        ReflectionTestUtils.setField(interceptor, "stickyPrimaryMillis", 60_000L);
+        HandlerMethod readOnlyHandler = new HandlerMethod(new ReadOnlyController(), "list");
+
+        MockHttpServletRequest write = new MockHttpServletRequest("POST", "/api/entries");
+        write.setUserPrincipal(() -> "writer");
+        interceptor.afterCompletion(write, new MockHttpServletResponse(), readOnlyHandler, null);
+
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/entries");
+        read.setUserPrincipal(() -> "writer");
+        interceptor.preHandle(read, new MockHttpServletResponse(), readOnlyHandler);
+        assertThat(ReplicaRoutingContext.isReplicaAllowed()).isFalse();
+
+        interceptor.pruneExpiredWrites();
+        assertThat(lastWriteAt(interceptor)).containsKey("writer");
+
+        // 고정 시간이 지나면 다시 읽지 않아도 주기 작업에서 제거
+        ReflectionTestUtils.setField(interceptor, "stickyPrimaryMillis", -1L);
+        interceptor.pruneExpiredWrites();
+        assertThat(lastWriteAt(interceptor)).isEmpty();
+        interceptor.preHandle(read, new MockHttpServletResponse(), readOnlyHandler);
+        assertThat(ReplicaRoutingContext.isReplicaAllowed()).isTrue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Long> lastWriteAt(ReplicaRoutingInterceptor interceptor) {
+        return (Map<String, Long>) ReflectionTestUtils.getField(interceptor, "lastWriteAt");
+    }
+
+    static class ReadOnlyController {
+        @Transactional(readOnly = true)
+        public List<String> list() {
+            return List.of();
+        }
+    }
+
+    private String whichDatabase(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node_info", String.class));
+    }
+
+    private String whichDatabase(TransactionTemplate transaction, EntityManager entityManager) {
+        return transaction.execute(status -> (String) entityManager.createNativeQuery("SELECT name FROM node_info").getSingleResult());
+    }
+
+    private static DataSource embeddedDatabase(String name, String nodeName) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node_info (name VARCHAR(20))");
+        jdbc.execute("DELETE FROM node_info");
+        jdbc.update("INSERT INTO node_info (name) VALUES (?)", nodeName);
+        return dataSource;
+    }
+}
@@ -0,0 +1,73 @@
+package com.labnote.backend;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchResultCacheTests {
+
+    private SearchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchResultCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 3);
+        ReflectionTestUtils.setField(cache, "maxBytes", 1_000_000L);
+    }
+
+    @Test
+    void findsLongestCachedPrefix() {
+        long generation = cache.generation(1L);
+        cache.put(1L, "b", generation, new long[]{1, 2, 3});
+        cache.put(1L, "bu", generation, new long[]{1, 2});
+
+        SearchResultCache.PrefixHit hit = cache.findPrefix(1L, "buff", generation);
+
+        assertThat(hit.getPrefix()).isEqualTo("bu");
+        assertThat(hit.getEntryIds()).containsExactly(1, 2);
+        assertThat(cache.findPrefix(2L, "buff", cache.generation(2L))).isNull();
+    }
+
+    @Test
+    void invalidateDropsOnlyThatUsersResults() {
+        cache.put(1L, "buf", cache.generation(1L), new long[]{1});
+        cache.put(2L, "buf", cache.generation(2L), new long[]{2});
+
+        cache.invalidate(1L);
+
+        assertThat(cache.get(1L, "buf", cache.generation(1L))).isNull();
+        assertThat(cache.get(2L, "buf", cache.generation(2L))).containsExactly(2);
+    }
+
+    @Test
+    void resultOfSearchStartedBeforeInvalidationIsNotReused() {
+        long before = cache.generation(1L);
+        cache.invalidate(1L); // 검색 도중 수정이 커밋됨
+        cache.put(1L, "buf", before, new long[]{1});
+
+        assertThat(cache.get(1L, "buf", cache.generation(1L))).isNull();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxEntries() {
+        long generation = cache.generation(1L);
+        cache.put(1L, "a", generation, new long[]{1});
+        cache.put(1L, "b", generation, new long[]{2});
+        cache.put(1L, "c", generation, new long[]{3});
+        cache.get(1L, "a", generation); // a를 최근 사용으로
+        cache.put(1L, "d", generation, new long[]{4});
+
+        assertThat(cache.get(1L, "b", generation)).isNull();
+        assertThat(cache.get(1L, "a", generation)).containsExactly(1);
+        assertThat(cache.get(1L, "d", generation)).containsExactly(4);
+    }
+
+    @Test
+    void normalizesCaseAndWhitespace() {
+        assertThat(SearchResultCache.normalize("  Tris   BUFFER ")).isEqualTo("tris buffer");
+    }
+}
@@ -0,0 +1,128 @@
+package com.labnote.backend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:stats;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 동시에 실행되는 트랜잭션을 재현
+class StatsServiceTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private ProjectStatsRepository projectStatsRepository;
+
+    @Autowired
+    private DailyActivityRepository dailyActivityRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private StatsService statsService;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM user_daily_activity");
+        jdbcTemplate.update("DELETE FROM project_stats");
+        jdbcTemplate.update("DELETE FROM user_stats");
+        jdbcTemplate.update("DELETE FROM entries");
+        jdbcTemplate.update("DELETE FROM entry_contents");
+        jdbcTemplate.update("DELETE FROM projects");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (id, username, password) VALUES (1, 'stats', 'x')");
+        jdbcTemplate.update("INSERT INTO projects (id, name, user_id) VALUES (1, 'assays', 1)");
+        for (long id = 1; id <= 3; id++) {
+            jdbcTemplate.update("INSERT INTO entry_contents (id, content, plain_text) VALUES (?, '<p>abc</p>', 'abc')", id);
+            jdbcTemplate.update("INSERT INTO entries (id, title, content_id, user_id, project_id, created_at, updated_at) " +
+                    "VALUES (?, 'entry', ?, 1, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", id, id, id == 3 ? null : 1L);
+        }
+
+        statsService = new StatsService(transactionManager);
+        ReflectionTestUtils.setField(statsService, "userStatsRepository", userStatsRepository);
+        ReflectionTestUtils.setField(statsService, "projectStatsRepository", projectStatsRepository);
+        ReflectionTestUtils.setField(statsService, "dailyActivityRepository", dailyActivityRepository);
+        ReflectionTestUtils.setField(statsService, "projectRepository", projectRepository);
+        ReflectionTestUtils.setField(statsService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(statsService, "activityDays", 365);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void concurrentFirstStatsRequestsRebuildOnce() throws Exception {
+        User user = userRepository.findById(1L).orElseThrow();
+        CyclicBarrier start = new CyclicBarrier(4);
+        List<CompletableFuture<StatsResponse>> requests = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            requests.add(CompletableFuture.supplyAsync(() -> {
+                await(start);
+                return transactionTemplate.execute(status -> statsService.getStats(user));
+            }));
+        }
+
+        for (CompletableFuture<StatsResponse> request : requests) {
+            StatsResponse stats = request.get(30, TimeUnit.SECONDS);
+            assertThat(stats.getTotalEntries()).isEqualTo(3);
+            assertThat(stats.getUncategorizedEntries()).isEqualTo(1);
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT entry_count FROM project_stats WHERE project_id = 1", Long.class))
+                .isEqualTo(2L);
+    }
+
+    @Test
+    void projectAndActivityCountersAreUpserted() {
+        User user = userRepository.findById(1L).orElseThrow();
+        Project project = projectRepository.findById(1L).orElseThrow();
+        transactionTemplate.executeWithoutResult(status -> statsService.getStats(user));
+        jdbcTemplate.update("DELETE FROM project_stats");
+        jdbcTemplate.update("DELETE FROM user_daily_activity");
+
+        // 행이 없으면 만들고, 있으면 더함
+        transactionTemplate.executeWithoutResult(status -> statsService.recordEdited(user, project, 0));
+        transactionTemplate.executeWithoutResult(status -> statsService.recordEdited(user, project, 0));
+        transactionTemplate.executeWithoutResult(status -> statsService.recordCreated(user, project, 3));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT entry_count FROM project_stats WHERE project_id = 1", Long.class))
+                .isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT activity_count FROM user_daily_activity WHERE user_id = 1 " +
+                "AND activity_date = ?", Long.class, java.sql.Date.valueOf(LocalDate.now()))).isEqualTo(3L);
+        assertThat(userStatsRepository.findById(1L).orElseThrow().getTotalEntries()).isEqualTo(4);
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.labnote.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:tags;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 두 트랜잭션이 같은 태그를 동시에 만드는 경우를 재현
+class TagServiceTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentSavesOfSameNewTagShareOneRow() throws Exception {
+        jdbcTemplate.update("INSERT INTO users (id, username, password) VALUES (1, 'tags', 'x')");
+        jdbcTemplate.update("INSERT INTO entry_contents (id, content, plain_text) VALUES (1, '<p>a</p>', 'a'), (2, '<p>b</p>', 'b')");
+        jdbcTemplate.update("INSERT INTO entries (id, title, content_id, user_id) VALUES (1, 'a', 1, 1), (2, 'b', 2, 1)");
+        TagService tagService = tagService(new TagAutocompleteIndex());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        User user = userRepository.findById(1L).orElseThrow();
+
+        // 첫 트랜잭션이 새 태그를 넣고 커밋하기 전에 두 번째 트랜잭션이 같은 태그를 저장
+        CountDownLatch inserted = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            tagService.addTagsToEntries(user, List.of(1L), List.of("Kinetics"));
+            inserted.countDown();
+            sleep(300);
+        }));
+        assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+        transactionTemplate.executeWithoutResult(status ->
+                tagService.addTagsToEntries(user, List.of(2L), List.of("kinetics", "Assay")));
+        first.get(10, TimeUnit.SECONDS);
+
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM tags ORDER BY name", String.class))
+                .containsExactly("Assay", "Kinetics");
+        assertThat(jdbcTemplate.queryForObject("SELECT usage_count FROM tags WHERE name_key = 'kinetics'", Long.class))
+                .isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM entry_tag_links", Integer.class)).isEqualTo(3);
+    }
+
+    @Test
+    void autocompleteDropsTrieWhenAdjustedWhileLoading() {
+        jdbcTemplate.update("INSERT INTO users (id, username, password) VALUES (2, 'autocomplete', 'x')");
+        jdbcTemplate.update("INSERT INTO tags (id, user_id, name, name_key, usage_count) VALUES (10, 2, 'Buffer', 'buffer', 3)");
+        TagAutocompleteIndex index = new TagAutocompleteIndex();
+        // 트라이를 읽는 도중에 다른 요청의 변경이 커밋된 것처럼 adjust 호출
+        TagRepository repository = (TagRepository) Proxy.newProxyInstance(TagRepository.class.getClassLoader(),
+                new Class<?>[]{TagRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findByUserId")) {
+                        jdbcTemplate.update("UPDATE tags SET usage_count = usage_count + 1 WHERE id = 10");
+                        index.adjust(2L, "Buffer", 1);
+                    }
+                    try {
+                        return method.invoke(tagRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        ReflectionTestUtils.setField(index, "tagRepository", repository);
+
+        assertThat(index.complete(2L, "bu", 10)).extracting(TagCount::getCount).containsExactly(4L);
+        assertThat(tries(index)).doesNotContainKey(2L);
+
+        ReflectionTestUtils.setField(index, "tagRepository", tagRepository);
+        assertThat(index.complete(2L, "bu", 10)).extracting(TagCount::getCount).containsExactly(4L);
+        index.adjust(2L, "Buffer", 1);
+        assertThat(index.complete(2L, "bu", 10)).extracting(TagCount::getCount).containsExactly(5L);
+    }
+
+    @Test
+    void evictsIdleTries() {
+        TagAutocompleteIndex index = new TagAutocompleteIndex();
+        ReflectionTestUtils.setField(index, "tagRepository", tagRepository);
+        ReflectionTestUtils.setField(index, "idleEvictMillis", 60_000L);
+        index.complete(3L, "", 10);
+
+        index.evictIdleTries();
+        assertThat(tries(index)).containsKey(3L);
+
+        ReflectionTestUtils.setField(index, "idleEvictMillis", -1L);
+        index.evictIdleTries();
+        assertThat(tries(index)).isEmpty();
+    }
+
+    private TagService tagService(TagAutocompleteIndex index) {
+        ReflectionTestUtils.setField(index, "tagRepository", tagRepository);
+        TagService tagService = new TagService();
+        ReflectionTestUtils.setField(tagService, "tagRepository", tagRepository);
+        ReflectionTestUtils.setField(tagService, "tagAutocompleteIndex", index);
+        ReflectionTestUtils.setField(tagService, "jdbcTemplate", jdbcTemplate);
+        return tagService;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Long, ?> tries(TagAutocompleteIndex index) {
+        return (Map<Long, ?>) ReflectionTestUtils.getField(index, "tries");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
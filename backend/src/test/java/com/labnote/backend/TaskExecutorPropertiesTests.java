@@ -0,0 +1,43 @@
+package com.labnote.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskExecutorPropertiesTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(Config.class);
+
+    @Test
+    void settingOneFieldKeepsTheOtherDefaults() {
+        contextRunner.withPropertyValues("app.executors.pools.export.timeout-ms=5000")
+                .run(context -> {
+                    TaskExecutorProperties.Pools pools = context.getBean(TaskExecutorProperties.class).getPools();
+                    TaskExecutorProperties.Pool export = pools.get(HeavyTaskExecutors.EXPORT);
+                    assertThat(export.getTimeoutMs()).isEqualTo(5000);
+                    assertThat(export.getThreads()).isEqualTo(4);
+                    assertThat(export.getQueueCapacity()).isEqualTo(16);
+                    assertThat(pools.get(HeavyTaskExecutors.SEARCH).getThreads()).isEqualTo(8);
+                    assertThat(pools.get(HeavyTaskExecutors.HASH).getThreads()).isPositive();
+                });
+    }
+
+    @Test
+    void invalidPoolFailsAtStartup() {
+        contextRunner.withPropertyValues("app.executors.pools.upload.threads=0")
+                .run(context -> assertThat(context).hasFailed());
+        contextRunner.withPropertyValues("app.executors.pools.hash.queue-capacity=0")
+                .run(context -> assertThat(context).hasFailed());
+        contextRunner.withPropertyValues("app.executors.pools.search.timeout-ms=0")
+                .run(context -> assertThat(context).hasFailed());
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(TaskExecutorProperties.class)
+    static class Config {
+    }
+}
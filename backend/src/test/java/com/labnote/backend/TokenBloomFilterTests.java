@@ -0,0 +1,41 @@
+package com.labnote.backend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBloomFilterTests {
+
+    @Test
+    void containsEveryAddedItem() {
+        TokenBloomFilter filter = new TokenBloomFilter(1000, 0.01);
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String jti = UUID.randomUUID().toString();
+            filter.put(jti);
+            added.add(jti);
+        }
+
+        assertThat(added).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        TokenBloomFilter filter = new TokenBloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(2_000); // 목표 1% (여유를 두고 2% 미만)
+    }
+}
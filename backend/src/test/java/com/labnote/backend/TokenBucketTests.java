@@ -0,0 +1,34 @@
+package com.labnote.backend;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsBurstUpToCapacityThenRejects() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void refillsOverTime() {
+        TokenBucket bucket = new TokenBucket(2, 2, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        assertThat(bucket.tryConsume(SECOND / 4)).isPositive();
+        assertThat(bucket.tryConsume(SECOND / 2)).isZero();
+        assertThat(bucket.isIdle(SECOND / 2)).isFalse();
+        assertThat(bucket.isIdle(2 * SECOND)).isTrue();
+    }
+}
@@ -0,0 +1,121 @@
+package com.labnote.backend;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 이름 변경/탈퇴 시 요청에 쓴 토큰뿐 아니라 그 이름으로 발급된 다른 토큰도 취소되고,
+ * 같은 이름으로 새로 가입한 계정으로 인증되지 않는지 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TokenRevocationEndpointTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void renameRevokesEveryTokenOfTheOldName() throws Exception {
+        String oldName = "rename-" + UUID.randomUUID();
+        String newName = oldName + "-new";
+        createUser(oldName);
+        String used = token(oldName);
+        String otherDevice = token(oldName);
+
+        MvcResult renamed = mvc.perform(put("/api/user/me")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + newName + "\"}")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + used))
+                .andExpect(status().isOk())
+                .andReturn();
+        String renamedToken = objectMapper.readTree(renamed.getResponse().getContentAsString()).get("token").asText();
+
+        assertThat(isAuthenticated(used)).isFalse();
+        assertThat(isAuthenticated(otherDevice)).isFalse();
+        assertThat(isAuthenticated(renamedToken)).isTrue();
+
+        // 이전 이름을 다른 사람이 가져가도 예전 토큰으로는 그 계정에 들어갈 수 없음
+        createUser(oldName);
+        assertThat(isAuthenticated(otherDevice)).isFalse();
+        Thread.sleep(1000); // 토큰 발급 시각(iat)은 초 단위
+        assertThat(isAuthenticated(token(oldName))).isTrue();
+    }
+
+    @Test
+    void deleteRevokesEveryTokenOfTheAccount() throws Exception {
+        String name = "delete-" + UUID.randomUUID();
+        createUser(name);
+        String used = token(name);
+        String otherDevice = token(name);
+
+        mvc.perform(delete("/api/user/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + used))
+                .andExpect(status().isOk());
+
+        createUser(name); // 같은 이름으로 다시 가입
+        assertThat(isAuthenticated(used)).isFalse();
+        assertThat(isAuthenticated(otherDevice)).isFalse();
+    }
+
+    @Test
+    void rolledBackRevocationKeepsTokensValid() throws Exception {
+        String name = "rollback-" + UUID.randomUUID();
+        createUser(name);
+        String token = token(name);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            tokenRevocationService.revokeAllFor(name);
+            status.setRollbackOnly();
+        });
+
+        assertThat(isAuthenticated(token)).isTrue();
+    }
+
+    private void createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("x");
+        userRepository.save(user);
+    }
+
+    private String token(String username) {
+        return jwtTokenUtil.generateToken(new org.springframework.security.core.userdetails.User(username, "x", List.of()));
+    }
+
+    private boolean isAuthenticated(String token) throws Exception {
+        return mvc.perform(get("/api/projects").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andReturn().getResponse().getStatus() == 200;
+    }
+}
@@ -0,0 +1,133 @@
+package com.labnote.backend;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 사용자 이름 색인이 가입/이름 변경/탈퇴에 맞게 (커밋된 뒤에만) 바뀌고,
+ * 가입할 때 색인에서 "있을 수 있음"인 이름만 DB로 다시 확인하는지 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class UsernameIndexTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UsernameIndex usernameIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void registerConfirmsCaseFoldedMatchesInDatabase() throws Exception {
+        String name = "Index-" + UUID.randomUUID();
+        assertThat(register(name)).isEqualTo(200);
+        assertThat(usernameIndex.contains(name.toLowerCase())).isTrue();
+
+        // 같은 이름은 DB로 확인해서 거부
+        assertThat(register(name)).isEqualTo(400);
+        // 대소문자만 다른 이름은 색인에서는 "있을 수 있음"이지만, DB(테스트용 H2는 대소문자 구분)에 없으므로 가입됨
+        assertThat(register(name.toLowerCase())).isEqualTo(200);
+        assertThat(userRepository.existsByUsername(name.toLowerCase())).isTrue();
+    }
+
+    @Test
+    void registerFallsBackToUniqueConstraintForNamesMissingFromIndex() throws Exception {
+        // 다른 서버에서 가입해서 이 서버의 색인에는 없는 이름
+        String name = "other-server-" + UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (username, password) VALUES (?, 'x')", name);
+        assertThat(usernameIndex.contains(name)).isFalse();
+
+        assertThat(register(name)).isEqualTo(400);
+        assertThat(usernameIndex.contains(name)).isTrue(); // 거부하면서 색인에 추가
+    }
+
+    @Test
+    void renameAndDeleteUpdateTheIndex() throws Exception {
+        String oldName = "rename-" + UUID.randomUUID();
+        String newName = oldName + "-new";
+        assertThat(register(oldName)).isEqualTo(200);
+
+        mvc.perform(put("/api/user/me")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + newName + "\"}")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(oldName)))
+                .andExpect(status().isOk());
+        assertThat(usernameIndex.contains(oldName)).isFalse();
+        assertThat(usernameIndex.contains(newName)).isTrue();
+
+        mvc.perform(delete("/api/user/me").header(HttpHeaders.AUTHORIZATION, bearer(newName)))
+                .andExpect(status().isOk());
+        assertThat(usernameIndex.contains(newName)).isFalse();
+    }
+
+    @Test
+    void changesApplyOnlyAfterCommit() {
+        String kept = "kept-" + UUID.randomUUID();
+        String added = "added-" + UUID.randomUUID();
+        usernameIndex.add(kept); // 트랜잭션 밖이면 바로 반영
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            usernameIndex.remove(kept);
+            usernameIndex.add(added);
+            status.setRollbackOnly();
+        });
+        assertThat(usernameIndex.contains(kept)).isTrue();
+        assertThat(usernameIndex.contains(added)).isFalse();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            usernameIndex.remove(kept);
+            usernameIndex.add(added);
+            assertThat(usernameIndex.contains(kept)).isTrue(); // 커밋 전에는 그대로
+            assertThat(usernameIndex.contains(added)).isFalse();
+        });
+        assertThat(usernameIndex.contains(kept)).isFalse();
+        assertThat(usernameIndex.contains(added)).isTrue();
+    }
+
+    private int register(String username) throws Exception {
+        MvcResult started = mvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"password\":\"secret-password\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(started)).andReturn().getResponse().getStatus();
+    }
+
+    private String bearer(String username) {
+        return "Bearer " + jwtTokenUtil.generateToken(
+                new org.springframework.security.core.userdetails.User(username, "x", List.of()));
+    }
+}
@@ -0,0 +1,179 @@
+package com.labnote.backend;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:compaction;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // compact()는 배치마다 자체 트랜잭션으로 커밋
+class VersionCompactionServiceTests {
+
+    private static final LocalDateTime HOURLY_CUTOFF = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    private final AtomicLong ids = new AtomicLong();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntryVersionRepository entryVersionRepository;
+
+    @Test
+    void compactKeepsRecentVersionsAndThinsOlderOnes() {
+        jdbcTemplate.update("INSERT INTO users (id, username, password) VALUES (1, 'compaction', 'x')");
+        jdbcTemplate.update("INSERT INTO entry_contents (id, content, plain_text) VALUES (1, '<p>a</p>', 'a')");
+        jdbcTemplate.update("INSERT INTO entries (id, title, content_id, user_id) VALUES (1, 'entry', 1, 1)");
+        LocalDateTime now = LocalDateTime.now();
+        // 최근 24시간: 같은 시간대여도 모두 보존
+        insertVersion(101, now.minusMinutes(10));
+        insertVersion(102, now.minusMinutes(11));
+        // 24시간 ~ 30일: 1시간에 1개 (같은 시간대의 두 번째 버전 삭제)
+        LocalDateTime threeDaysAgo = now.minusDays(3).withMinute(30);
+        insertVersion(201, threeDaysAgo);
+        insertVersion(202, threeDaysAgo.minusMinutes(5));
+        // 30일 이전: 하루에 1개 (같은 날의 나머지 삭제)
+        LocalDateTime fortyDaysAgo = now.minusDays(40).withHour(12);
+        insertVersion(301, fortyDaysAgo);
+        insertVersion(302, fortyDaysAgo.minusHours(3));
+        insertVersion(303, fortyDaysAgo.minusHours(6));
+
+        VersionCompactionService service = new VersionCompactionService(transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "entryVersionRepository", entryVersionRepository);
+        ReflectionTestUtils.setField(service, "keepAllHours", 24L);
+        ReflectionTestUtils.setField(service, "hourlyDays", 30L);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "batchPauseMillis", 0L);
+
+        VersionCompactionService.CompactionReport report = service.compact();
+
+        assertThat(report.getDeletedRows()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM entry_versions ORDER BY id", Long.class))
+                .containsExactly(101L, 102L, 201L, 301L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM entry_version_tags", Integer.class)).isEqualTo(4);
+    }
+
+    @Test
+    void keepsEveryVersionWhenEachIsInItsOwnHour() {
+        List<EntryVersionRepository.VersionMetadata> versions = newestFirst(
+                version(2024, 3, 5, 10, 0),
+                version(2024, 3, 5, 11, 0),
+                version(2024, 3, 5, 12, 0));
+
+        assertThat(VersionCompactionService.selectExpired(versions, HOURLY_CUTOFF)).isEmpty();
+        assertThat(VersionCompactionService.selectExpired(List.of(), HOURLY_CUTOFF)).isEmpty();
+    }
+
+    @Test
+    void keepsOnlyNewestVersionPerHourAfterCutoff() {
+        EntryVersionRepository.VersionMetadata newest = version(2024, 3, 5, 10, 59);
+        EntryVersionRepository.VersionMetadata middle = version(2024, 3, 5, 10, 30);
+        EntryVersionRepository.VersionMetadata oldest = version(2024, 3, 5, 10, 0);
+        EntryVersionRepository.VersionMetadata nextHour = version(2024, 3, 5, 11, 0);
+
+        List<EntryVersionRepository.VersionMetadata> expired = VersionCompactionService.selectExpired(
+                newestFirst(newest, middle, oldest, nextHour), HOURLY_CUTOFF);
+
+        assertThat(expired).containsExactlyInAnyOrder(middle, oldest);
+    }
+
+    @Test
+    void keepsOnlyNewestVersionPerDayBeforeCutoff() {
+        EntryVersionRepository.VersionMetadata evening = version(2024, 2, 10, 22, 0);
+        EntryVersionRepository.VersionMetadata morning = version(2024, 2, 10, 8, 0);
+        EntryVersionRepository.VersionMetadata midnight = version(2024, 2, 10, 0, 0);
+        EntryVersionRepository.VersionMetadata nextDay = version(2024, 2, 11, 0, 0);
+
+        List<EntryVersionRepository.VersionMetadata> expired = VersionCompactionService.selectExpired(
+                newestFirst(evening, morning, midnight, nextDay), HOURLY_CUTOFF);
+
+        assertThat(expired).containsExactlyInAnyOrder(morning, midnight);
+    }
+
+    @Test
+    void cutoffSeparatesHourlyAndDailyBuckets() {
+        // 기준 시각 이전은 하루 단위, 기준 시각부터는 1시간 단위로 묶음
+        EntryVersionRepository.VersionMetadata atCutoff = version(2024, 3, 1, 0, 0);
+        EntryVersionRepository.VersionMetadata afterCutoff = version(2024, 3, 1, 0, 30);
+        EntryVersionRepository.VersionMetadata lastBeforeCutoff = version(2024, 2, 29, 23, 59);
+        EntryVersionRepository.VersionMetadata earlierSameDay = version(2024, 2, 29, 23, 0);
+        EntryVersionRepository.VersionMetadata earlierHourSameDay = version(2024, 2, 29, 1, 0);
+
+        List<EntryVersionRepository.VersionMetadata> expired = VersionCompactionService.selectExpired(
+                newestFirst(atCutoff, afterCutoff, lastBeforeCutoff, earlierSameDay, earlierHourSameDay), HOURLY_CUTOFF);
+
+        assertThat(expired).containsExactlyInAnyOrder(atCutoff, earlierSameDay, earlierHourSameDay);
+    }
+
+    @Test
+    void dayAndMidnightHourBucketsAreKeptSeparately() {
+        // 기준 시각이 0시대에 있으면 그날의 날짜 구간과 0시 시간 구간의 시작 시각이 같음
+        LocalDateTime cutoff = LocalDateTime.of(2024, 3, 1, 0, 30);
+        EntryVersionRepository.VersionMetadata hourly = version(2024, 3, 1, 0, 45);
+        EntryVersionRepository.VersionMetadata newestOfDay = version(2024, 3, 1, 0, 10);
+        EntryVersionRepository.VersionMetadata olderOfDay = version(2024, 3, 1, 0, 5);
+
+        List<EntryVersionRepository.VersionMetadata> expired = VersionCompactionService.selectExpired(
+                newestFirst(hourly, newestOfDay, olderOfDay), cutoff);
+
+        assertThat(expired).containsExactly(olderOfDay);
+    }
+
+    private void insertVersion(long id, LocalDateTime timestamp) {
+        jdbcTemplate.update("INSERT INTO entry_versions (id, entry_id, title, content, version_timestamp) VALUES (?, 1, 'v', '<p>v</p>', ?)",
+                id, Timestamp.valueOf(timestamp));
+        jdbcTemplate.update("INSERT INTO entry_version_tags (version_id, tag) VALUES (?, 'tag')", id);
+    }
+
+    private EntryVersionRepository.VersionMetadata version(int year, int month, int day, int hour, int minute) {
+        long id = ids.incrementAndGet();
+        LocalDateTime timestamp = LocalDateTime.of(year, month, day, hour, minute);
+        return new EntryVersionRepository.VersionMetadata() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getVersionTimestamp() {
+                return timestamp;
+            }
+
+            @Override
+            public Long getStoredBytes() {
+                return 100L;
+            }
+
+            @Override
+            public String toString() {
+                return id + "@" + timestamp;
+            }
+        };
+    }
+
+    // 리포지토리 쿼리와 같이 최신순으로 정렬
+    private static List<EntryVersionRepository.VersionMetadata> newestFirst(EntryVersionRepository.VersionMetadata... versions) {
+        return Stream.of(versions)
+                .sorted(Comparator.comparing(EntryVersionRepository.VersionMetadata::getVersionTimestamp).reversed())
+                .toList();
+    }
+}
@@ -0,0 +1,90 @@
+package com.labnote.backend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 노트 수정으로 만들어진 버전이 색인되고 GET /api/entries/versions/search 로 찾아지는지 확인
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class VersionSearchEndpointTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void editedEntryIsFoundByWordsOfItsPreviousVersion() throws Exception {
+        String username = "versions-" + UUID.randomUUID();
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("x");
+        userRepository.save(user);
+        String authorization = "Bearer " + jwtTokenUtil.generateToken(
+                new org.springframework.security.core.userdetails.User(username, "x", List.of()));
+
+        MvcResult created = mvc.perform(multipart("/api/entries")
+                        .param("entry", "{\"title\":\"Titration\",\"content\":\"<p>phenolphthalein endpoint</p>\",\"tags\":[\"chem\"]}")
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk())
+                .andReturn();
+        long entryId = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+
+        // 수정하면 수정 전 상태가 버전으로 저장되고 색인됨
+        mvc.perform(multipart(HttpMethod.PUT, "/api/entries/" + entryId)
+                        .param("entry", "{\"title\":\"Titration\",\"content\":\"<p>methyl orange endpoint</p>\",\"tags\":[\"chem\"]}")
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(status().isOk());
+
+        JsonNode results = searchVersions("PHENOL", authorization);
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).get("entryId").asLong()).isEqualTo(entryId);
+        assertThat(results.get(0).get("presentInCurrent").asBoolean()).isFalse();
+        assertThat(results.get(0).get("versions")).hasSize(1);
+
+        JsonNode stillPresent = searchVersions("endpoint chem", authorization);
+        assertThat(stillPresent).hasSize(1);
+        assertThat(stillPresent.get(0).get("presentInCurrent").asBoolean()).isTrue();
+
+        // 현재 본문에만 있는 단어는 버전 검색에 나오지 않음
+        assertThat(searchVersions("methyl", authorization)).isEmpty();
+    }
+
+    private JsonNode searchVersions(String query, String authorization) throws Exception {
+        MvcResult started = mvc.perform(get("/api/entries/versions/search").param("query", query)
+                        .header(HttpHeaders.AUTHORIZATION, authorization))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,131 @@
+package com.labnote.backend;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:versionsearch;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class VersionSearchServiceTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntryRepository entryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private VersionSearchService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new VersionSearchService(transactionManager);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "entryRepository", entryRepository);
+        ReflectionTestUtils.setField(service, "maxHits", 500);
+        ReflectionTestUtils.setField(service, "backfillBatchSize", 2);
+        ReflectionTestUtils.setField(service, "backfillPauseMillis", 0L);
+    }
+
+    @Test
+    void tokenizeLowercasesDeduplicatesAndKeepsDecimals() {
+        List<String> terms = VersionSearchService.tokenize("pH 7.4 Buffer",
+                "<p>Buffer at 12.5. a <b>Kinetics</b>, 샘플을 측정</p>", List.of("Assay", "kinetics"));
+
+        assertThat(terms).containsExactly("ph", "7.4", "buffer", "at", "12.5", "kinetics", "샘플을", "측정", "assay");
+    }
+
+    @Test
+    void tokenizeSkipsShortTermsAndTruncatesLongOnes() {
+        List<String> terms = VersionSearchService.tokenize("a . .. " + "x".repeat(100), null, null);
+
+        assertThat(terms).containsExactly("x".repeat(64));
+        assertThat(VersionSearchService.tokenize(null, " ", null)).isEmpty();
+    }
+
+    @Test
+    void backfillIndexesExistingVersionsAndSearchIntersectsPrefixes() {
+        insertUser(1, "alice");
+        insertUser(2, "bob");
+        insertEntry(1, 1, "Assay log", "<p>buffer only</p>");
+        insertEntry(2, 1, "Other", "<p>kinetic buffer</p>");
+        insertEntry(3, 2, "Bob", "<p>kinetics buffer</p>");
+        insertVersion(11, 1, "<p>kinetics buffer</p>", LocalDateTime.of(2024, 1, 1, 10, 0));
+        insertVersion(12, 1, "<p>kinetics only</p>", LocalDateTime.of(2024, 1, 2, 10, 0));
+        insertVersion(21, 2, "<p>buffered kinetic run</p>", LocalDateTime.of(2024, 1, 3, 10, 0));
+        insertVersion(31, 3, "<p>kinetics buffer</p>", LocalDateTime.of(2024, 1, 4, 10, 0));
+        jdbcTemplate.update("INSERT INTO entry_version_tags (version_id, tag) VALUES (12, 'Protocol')");
+
+        service.backfill();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM entry_versions WHERE search_indexed = TRUE", Integer.class))
+                .isEqualTo(4);
+        assertThat(jdbcTemplate.queryForList("SELECT term FROM version_search_terms WHERE version_id = 12 ORDER BY term", String.class))
+                .containsExactly("assay", "kinetics", "log", "only", "protocol");
+
+        User alice = userRepository.findById(1L).orElseThrow();
+        // 모든 검색어(접두어)를 포함한 버전만, 다른 사용자의 버전은 제외하고 최근에 일치한 노트 순서로
+        List<VersionSearchResult> results = service.search(alice, "kin BUF");
+        assertThat(results).extracting(VersionSearchResult::getEntryId).containsExactly(2L, 1L);
+        assertThat(results.get(0).isPresentInCurrent()).isTrue();
+        assertThat(results.get(1).isPresentInCurrent()).isFalse();
+        assertThat(results.get(1).getVersions()).extracting(VersionSearchResult.VersionHit::getVersionId).containsExactly(11L);
+
+        // 태그에서만 나온 단어
+        List<VersionSearchResult> byTag = service.search(alice, "proto");
+        assertThat(byTag).extracting(VersionSearchResult::getEntryId).containsExactly(1L);
+        assertThat(byTag.get(0).getVersions()).extracting(VersionSearchResult.VersionHit::getVersionId).containsExactly(12L);
+
+        assertThat(service.search(alice, "kinetics missing")).isEmpty();
+        assertThat(service.search(alice, "a")).isEmpty();
+    }
+
+    @Test
+    void searchGroupsVersionsOfSameEntryNewestFirst() {
+        insertUser(3, "carol");
+        insertEntry(4, 3, "Growth", "<p>od600 reading</p>");
+        insertVersion(41, 4, "<p>od600 morning</p>", LocalDateTime.of(2024, 2, 1, 9, 0));
+        insertVersion(42, 4, "<p>od600 evening</p>", LocalDateTime.of(2024, 2, 1, 18, 0));
+        service.backfill();
+
+        List<VersionSearchResult> results = service.search(userRepository.findById(3L).orElseThrow(), "od6");
+
+        assertThat(results).hasSize(1);
+        VersionSearchResult result = results.get(0);
+        assertThat(result.getVersions()).extracting(VersionSearchResult.VersionHit::getVersionId).containsExactly(42L, 41L);
+        assertThat(result.getFirstMatchAt()).isEqualTo(LocalDateTime.of(2024, 2, 1, 9, 0));
+        assertThat(result.getLastMatchAt()).isEqualTo(LocalDateTime.of(2024, 2, 1, 18, 0));
+    }
+
+    private void insertUser(long id, String username) {
+        jdbcTemplate.update("INSERT INTO users (id, username, password) VALUES (?, ?, 'x')", id, username);
+    }
+
+    private void insertEntry(long id, long userId, String title, String content) {
+        jdbcTemplate.update("INSERT INTO entry_contents (id, content, plain_text) VALUES (?, ?, ?)",
+                id, content, ContentNormalizer.toPlainText(content));
+        jdbcTemplate.update("INSERT INTO entries (id, title, content_id, user_id) VALUES (?, ?, ?, ?)", id, title, id, userId);
+    }
+
+    private void insertVersion(long id, long entryId, String content, LocalDateTime timestamp) {
+        String title = jdbcTemplate.queryForObject("SELECT title FROM entries WHERE id = ?", String.class, entryId);
+        jdbcTemplate.update("INSERT INTO entry_versions (id, entry_id, title, content, version_timestamp) VALUES (?, ?, ?, ?, ?)",
+                id, entryId, title, content, Timestamp.valueOf(timestamp));
+    }
+}
@@ -0,0 +1,72 @@
+-- Flyway 도입 전 운영 DB 스키마 (기준 커밋의 엔티티로 Hibernate ddl-auto가 만들던 테이블)
+-- FlywayUpgradeTests가 이 스키마에서 마이그레이션을 실행해 새로 만든 DB와 같아지는지 확인합니다.
+
+CREATE TABLE users (
+    id bigint NOT NULL AUTO_INCREMENT,
+    username varchar(255) NOT NULL,
+    email varchar(255),
+    password varchar(255) NOT NULL,
+    provider varchar(255),
+    picture varchar(255),
+    PRIMARY KEY (id),
+    CONSTRAINT UKr43af9ap4edm43mmtq01oddj6 UNIQUE (username)
+) ENGINE=InnoDB;
+
+CREATE TABLE projects (
+    id bigint NOT NULL AUTO_INCREMENT,
+    name varchar(255) NOT NULL,
+    description TEXT,
+    user_id bigint NOT NULL,
+    created_at datetime(6),
+    updated_at datetime(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FKhswfwa3ga88vxv1pmboss6jhm FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE templates (
+    id bigint NOT NULL AUTO_INCREMENT,
+    name varchar(255) NOT NULL,
+    content TEXT NOT NULL,
+    user_id bigint NOT NULL,
+    created_at datetime(6),
+    PRIMARY KEY (id),
+    CONSTRAINT FK1ap5cnda0wnqhkqnyiel99tp FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE entries (
+    id bigint NOT NULL AUTO_INCREMENT,
+    title varchar(255) NOT NULL,
+    content TEXT NOT NULL,
+    researcher varchar(255),
+    created_at datetime(6),
+    updated_at datetime(6),
+    attached_file_path varchar(255),
+    project_id bigint,
+    user_id bigint NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FKk8n71u42svosu0oye4602q8nq FOREIGN KEY (project_id) REFERENCES projects (id),
+    CONSTRAINT FKoia5s1p9sk4x5fld87yjqpjg9 FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE entry_tags (
+    entry_id bigint NOT NULL,
+    tag varchar(255),
+    CONSTRAINT FKlqjdn1mdpsp0wyhpwxglrw3nv FOREIGN KEY (entry_id) REFERENCES entries (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE entry_versions (
+    id bigint NOT NULL AUTO_INCREMENT,
+    entry_id bigint NOT NULL,
+    title varchar(255) NOT NULL,
+    content TEXT NOT NULL,
+    researcher varchar(255),
+    version_timestamp datetime(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT FK1q6hf6dt97y1h6teh7x0kbbag FOREIGN KEY (entry_id) REFERENCES entries (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE entry_version_tags (
+    version_id bigint NOT NULL,
+    tag varchar(255),
+    CONSTRAINT FKisc9mrms6nd10p1j287re7ape FOREIGN KEY (version_id) REFERENCES entry_versions (id)
+) ENGINE=InnoDB;
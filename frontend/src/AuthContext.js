@@ -28,6 +28,11 @@ export const AuthProvider = ({ children }) => {
             logoutTimeoutIdRef.current = null;
         }
         Swal.close();
+        // [추가] 서버에서도 토큰을 취소 (응답은 기다리지 않음)
+        const storedToken = localStorage.getItem('token');
+        if (storedToken) {
+            api.post('/auth/logout', null, { headers: { Authorization: `Bearer ${storedToken}` } }).catch(() => {});
+        }
         localStorage.removeItem('token');
         setUser(null);
         setToken(null);